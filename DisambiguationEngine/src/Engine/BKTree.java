@@ -0,0 +1,215 @@
+package Engine;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Burkhard-Keller tree over a list of strings, keyed on the Levenshtien
+ * distance. Children are filed by their distance from the parent, so a range
+ * query only descends into the children whose distance lies within k of the
+ * query's own distance from the parent (triangle inequality).
+ *
+ * The tree is held as flat int arrays over the nodes, numbered depth first
+ * from the root, so it can be read in place from a model image.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class BKTree {
+
+    private final List<String> entries; //Indexed strings
+    private final IntBuffer layout; //every array below, back to back
+    private final IntBuffer position_offsets; //Positions of node i at [position_offsets[i], position_offsets[i + 1])
+    private final IntBuffer positions; //Positions of each node's word in the indexed list, duplicates included
+    private final IntBuffer child_offsets; //Children of node i at [child_offsets[i], child_offsets[i + 1])
+    private final IntBuffer child_distances; //Distance of each child from its parent, increasing
+    private final IntBuffer child_nodes; //Node of each child
+
+    /**
+     * Node under construction
+     */
+    private static final class Node {
+
+        final String word;
+        int[] positions = new int[1]; //positions of the word in the indexed list, duplicates included
+        int count;
+        Node[] children = new Node[0]; //child at index d lies at distance d
+        int id; //Depth first number
+
+        Node(String word, int position) {
+            this.word = word;
+            add(position);
+        }
+
+        void add(int position) {
+            if (count == positions.length) {
+                int[] grown = new int[count * 2];
+                System.arraycopy(positions, 0, grown, 0, count);
+                positions = grown;
+            }
+            positions[count++] = position;
+        }
+
+        Node child(int distance) {
+            return distance < children.length ? children[distance] : null;
+        }
+
+        void setChild(int distance, Node child) {
+            if (distance >= children.length) {
+                Node[] grown = new Node[distance + 1];
+                System.arraycopy(children, 0, grown, 0, children.length);
+                children = grown;
+            }
+            children[distance] = child;
+        }
+    }
+
+    BKTree(List<String> words) {
+        this(words, build(words));
+    }
+
+    /**
+     * Index a list by a tree built from it, e.g. mapped from a model image
+     *
+     * @param words
+     * @param layout tree arrays, laid out by
+     * {@link ModelImage#putArrays(int[]...)}
+     */
+    BKTree(List<String> words, IntBuffer layout) {
+        this.entries = words;
+        this.layout = layout;
+        IntBuffer arrays = layout.duplicate();
+        position_offsets = ModelImage.nextArray(arrays);
+        positions = ModelImage.nextArray(arrays);
+        child_offsets = ModelImage.nextArray(arrays);
+        child_distances = ModelImage.nextArray(arrays);
+        child_nodes = ModelImage.nextArray(arrays);
+    }
+
+    /**
+     * Build the tree of the words and flatten it
+     *
+     * @param words
+     * @return Tree arrays
+     */
+    private static IntBuffer build(List<String> words) {
+        Node root = null;
+        for (int counter = 0; counter < words.size(); counter++) {
+            if (root == null) {
+                root = new Node(words.get(counter), counter);
+            } else {
+                insert(root, words.get(counter), counter);
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>();
+        if (root != null) {
+            number(root, nodes);
+        }
+        int[] position_offsets = new int[nodes.size() + 1];
+        int[] positions = new int[words.size()];
+        int[] child_offsets = new int[nodes.size() + 1];
+        int[] child_distances = new int[Math.max(nodes.size() - 1, 0)];
+        int[] child_nodes = new int[child_distances.length];
+        int position = 0;
+        int child = 0;
+        for (int node = 0; node < nodes.size(); node++) {
+            Node current = nodes.get(node);
+            position_offsets[node] = position;
+            System.arraycopy(current.positions, 0, positions, position, current.count);
+            position += current.count;
+            child_offsets[node] = child;
+            for (int distance = 1; distance < current.children.length; distance++) {
+                if (current.children[distance] != null) {
+                    child_distances[child] = distance;
+                    child_nodes[child++] = current.children[distance].id;
+                }
+            }
+        }
+        position_offsets[nodes.size()] = position;
+        child_offsets[nodes.size()] = child;
+        return ModelImage.putArrays(position_offsets, positions, child_offsets, child_distances, child_nodes);
+    }
+
+    private static void insert(Node root, String word, int position) {
+        Node node = root;
+        while (true) {
+            int distance = StringCompare.getLevenshtienDistance(word, node.word);
+            if (distance == 0) {
+                node.add(position);
+                return;
+            }
+            Node child = node.child(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(word, position));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Number a node and the nodes below it, depth first
+     */
+    private static void number(Node node, List<Node> nodes) {
+        node.id = nodes.size();
+        nodes.add(node);
+        for (Node child : node.children) {
+            if (child != null) {
+                number(child, nodes);
+            }
+        }
+    }
+
+    /**
+     * @return Read-only tree arrays, written as an int section of a model
+     * image
+     */
+    IntBuffer getLayout() {
+        return layout.asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the strings within a Levenshtien distance of k of a word
+     *
+     * @param word
+     * @param k Maximum edit distance
+     * @return Positions of the matching strings in the indexed list
+     */
+    BitSet getNeighbours(String word, int k) {
+        BitSet neighbours = new BitSet(entries.size());
+        if (position_offsets.limit() < 2) {
+            return neighbours; //no nodes
+        }
+        int[] pending = new int[16];
+        int size = 0;
+        pending[size++] = 0; //the root
+        while (size > 0) {
+            int node = pending[--size];
+            int first = child_offsets.get(node);
+            int end = child_offsets.get(node + 1);
+            //Beyond k + the farthest child, neither the node nor its children can match
+            int farthest = end > first ? child_distances.get(end - 1) : 0;
+            int from = position_offsets.get(node);
+            int to = position_offsets.get(node + 1);
+            int distance = StringCompare.getLevenshtienDistance(word, entries.get(positions.get(from)), k + farthest);
+            if (distance <= k) {
+                for (int counter = from; counter < to; counter++) {
+                    neighbours.set(positions.get(counter));
+                }
+            }
+            for (int child = first; child < end; child++) {
+                int child_distance = child_distances.get(child);
+                if (child_distance >= distance - k && child_distance <= distance + k) {
+                    if (size == pending.length) {
+                        pending = Arrays.copyOf(pending, size * 2);
+                    }
+                    pending[size++] = child_nodes.get(child);
+                }
+            }
+        }
+        return neighbours;
+    }
+}
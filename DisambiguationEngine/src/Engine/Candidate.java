@@ -0,0 +1,261 @@
+package Engine;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Candidate correction of an invalid word, scored by the language, channel and
+ * noisy channel models. Probabilities are kept as doubles from model to model
+ * and only formatted for display; a probability a model has not computed yet
+ * is NaN.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class Candidate {
+
+    //Candidates in alphabetic order
+    static final Comparator<Candidate> BY_WORD = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate candidate1, Candidate candidate2) {
+            return candidate1.word.compareTo(candidate2.word);
+        }
+    };
+    //Candidates by decreasing priori probability, ties in alphabetic order
+    static final Comparator<Candidate> BY_PRIORI = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate candidate1, Candidate candidate2) {
+            int order = Double.compare(candidate2.priori, candidate1.priori);
+            return order != 0 ? order : BY_WORD.compare(candidate1, candidate2);
+        }
+    };
+    //Candidates by decreasing posteriori probability, ties in alphabetic order
+    static final Comparator<Candidate> BY_POSTERIORI = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate candidate1, Candidate candidate2) {
+            int order = Double.compare(candidate2.posteriori, candidate1.posteriori);
+            return order != 0 ? order : BY_WORD.compare(candidate1, candidate2);
+        }
+    };
+    //Candidates by decreasing noisy channel probability, ties in alphabetic order
+    static final Comparator<Candidate> BY_NOISY_CHANNEL = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate candidate1, Candidate candidate2) {
+            int order = Double.compare(candidate2.noisy_channel, candidate1.noisy_channel);
+            return order != 0 ? order : BY_WORD.compare(candidate1, candidate2);
+        }
+    };
+
+    private final String word;
+    private final String preceding; //words preceding the word in its n-gram, null for unigrams
+    private final String context; //bigram preceding the word in a trigram, null otherwise
+    private final int frequency; //n-gram frequency
+    private final boolean swahili; //scored as a Swahili word
+    private final double priori;
+    private final double grapheme;
+    private final double phoneme;
+    private final double posteriori;
+    private final double noisy_channel;
+
+    private Candidate(String word, String preceding, String context, int frequency, boolean swahili,
+            double priori, double grapheme, double phoneme, double posteriori, double noisy_channel) {
+        this.word = word;
+        this.preceding = preceding;
+        this.context = context;
+        this.frequency = frequency;
+        this.swahili = swahili;
+        this.priori = priori;
+        this.grapheme = grapheme;
+        this.phoneme = phoneme;
+        this.posteriori = posteriori;
+        this.noisy_channel = noisy_channel;
+    }
+
+    /**
+     * Candidate scored by a language model
+     *
+     * @param word
+     * @param preceding
+     * @param context
+     * @param frequency
+     * @param swahili
+     * @param priori
+     */
+    Candidate(String word, String preceding, String context, int frequency, boolean swahili, double priori) {
+        this(word, preceding, context, frequency, swahili, priori, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Same candidate, scored by the channel model
+     *
+     * @param grapheme
+     * @param phoneme
+     * @param posteriori
+     * @return Candidate with its channel model probabilities
+     */
+    Candidate withChannel(double grapheme, double phoneme, double posteriori) {
+        return new Candidate(word, preceding, context, frequency, swahili, priori, grapheme, phoneme, posteriori, Double.NaN);
+    }
+
+    /**
+     * Same candidate, scored by the noisy channel model
+     *
+     * @param noisy_channel
+     * @return Candidate with its noisy channel probability
+     */
+    Candidate withNoisyChannel(double noisy_channel) {
+        return new Candidate(word, preceding, context, frequency, swahili, priori, grapheme, phoneme, posteriori, noisy_channel);
+    }
+
+    /**
+     * @return Candidate word
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * @return Bigram or trigram ending in the candidate word, null for the
+     * unigram models
+     */
+    public String getNGram() {
+        return preceding == null ? null : preceding.concat(" ").concat(word); //formed when asked for, not while scoring
+    }
+
+    /**
+     * @return Bigram of the two words preceding the candidate word in the
+     * trigram models, null otherwise
+     */
+    public String getContext() {
+        return context;
+    }
+
+    /**
+     * @return Frequency of the candidate's n-gram in the corpus
+     */
+    public int getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * @return If the candidate is scored as a Swahili word, then return true
+     */
+    public boolean isSwahili() {
+        return swahili;
+    }
+
+    /**
+     * @return Priori probability from the language model
+     */
+    public double getPrioriProbability() {
+        return priori;
+    }
+
+    /**
+     * @return Graphemic probability, NaN before the channel model
+     */
+    public double getGraphemicProbability() {
+        return grapheme;
+    }
+
+    /**
+     * @return Phonemic probability, NaN before the channel model
+     */
+    public double getPhonemicProbability() {
+        return phoneme;
+    }
+
+    /**
+     * @return Posteriori probability from the channel model, NaN before the
+     * channel model
+     */
+    public double getPosterioriProbability() {
+        return posteriori;
+    }
+
+    /**
+     * @return Noisy channel probability, NaN before the noisy channel model
+     */
+    public double getNoisyChannelProbability() {
+        return noisy_channel;
+    }
+
+    /**
+     * Select the top-N candidates without sorting them all: the best candidate
+     * is found in one pass, and larger groups are kept in a bounded heap whose
+     * root is the worst candidate kept so far
+     *
+     * @param candidates in any order, left unchanged
+     * @param candidateGroupSize N, 0 < N; every candidate is returned if N
+     * exceeds their number
+     * @param order ranking of the candidates, best first
+     * @return The N highest ranked candidates, best first
+     */
+    static Candidate[] getTop(Candidate[] candidates, int candidateGroupSize, Comparator<Candidate> order) {
+        candidateGroupSize = Math.min(candidateGroupSize, candidates.length);
+        if (candidateGroupSize == 1) {
+            Candidate best = candidates[0];
+            for (int counter = 1; counter < candidates.length; counter++) {
+                if (order.compare(candidates[counter], best) < 0) {
+                    best = candidates[counter];
+                }
+            }
+            return new Candidate[]{best};
+        }
+
+        Candidate[] top = Arrays.copyOf(candidates, candidateGroupSize);
+        for (int counter = candidateGroupSize / 2 - 1; counter >= 0; counter--) {
+            siftDown(top, counter, candidateGroupSize, order);
+        }
+        for (int counter = candidateGroupSize; counter < candidates.length; counter++) {
+            if (order.compare(candidates[counter], top[0]) < 0) {
+                top[0] = candidates[counter]; //replace the worst candidate kept
+                siftDown(top, 0, candidateGroupSize, order);
+            }
+        }
+        Arrays.sort(top, order);
+        return top;
+    }
+
+    //Restore the heap below a node, the worst ranked candidate at the root
+    private static void siftDown(Candidate[] heap, int node, int size, Comparator<Candidate> order) {
+        Candidate candidate = heap[node];
+        int child;
+        while ((child = 2 * node + 1) < size) {
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++; //worse of the two children
+            }
+            if (order.compare(heap[child], candidate) <= 0) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = candidate;
+    }
+
+    /**
+     * Format a probability to 5 decimal places, for display
+     *
+     * @param probability
+     * @return Formatted probability
+     */
+    static String format(double probability) {
+        return String.format("%.5f", probability);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(word);
+        if (preceding != null) {
+            sb.append(" [").append(preceding).append(' ').append(word).append(']');
+        }
+        sb.append(swahili ? " (sw)" : " (en)").append(" freq=").append(frequency).append(" priori=").append(format(priori));
+        if (!Double.isNaN(posteriori)) {
+            sb.append(" graphemic=").append(format(grapheme)).append(" phonemic=").append(format(phoneme)).append(" posteriori=").append(format(posteriori));
+        }
+        if (!Double.isNaN(noisy_channel)) {
+            sb.append(" ncm=").append(format(noisy_channel));
+        }
+        return sb.toString();
+    }
+}
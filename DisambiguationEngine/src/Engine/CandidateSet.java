@@ -0,0 +1,61 @@
+package Engine;
+
+import java.util.Arrays;
+
+/**
+ * Candidate corrections of one invalid word, generated once and tagged with
+ * their language, so the language, channel and noisy channel models can all
+ * score the same candidates without generating them again.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class CandidateSet {
+
+    private final String invalid_word; //lowercase
+    private final String[] words; //Swahili candidates, then English candidates, then any context candidates
+    private final boolean[] swahili; //candidate is a Swahili candidate
+
+    CandidateSet(String invalid_word, String[] words, boolean[] swahili) {
+        this.invalid_word = invalid_word;
+        this.words = words;
+        this.swahili = swahili;
+    }
+
+    /**
+     * @return Lowercase invalid word the candidates correct
+     */
+    public String getInvalidWord() {
+        return invalid_word;
+    }
+
+    /**
+     * @return Number of candidates, counting a word found in both lexicons
+     * twice
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * @param index
+     * @return Candidate word
+     */
+    public String get(int index) {
+        return words[index];
+    }
+
+    /**
+     * @param index
+     * @return If the candidate is also a Swahili candidate, then return true
+     */
+    public boolean isSwahili(int index) {
+        return swahili[index];
+    }
+
+    /**
+     * @return Candidate words, Swahili candidates first
+     */
+    public String[] toArray() {
+        return Arrays.copyOf(words, words.length);
+    }
+}
@@ -1,6 +1,8 @@
 package Engine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -14,15 +16,32 @@ public class Candidates {
     //Phonetic coding scheme
     private final Phonetic fonetic = new Phonetic();
 
-    //Read words from Lexicons
-    private final Reader r = new Reader();
+    //Largest edit distance of a context candidate from the invalid word
+    private static final int CONTEXT_DISTANCE = 2;
+
     //English
-    private final List<String> eng_dict_words = r.getEnglishLexicon(); //English words
-    private final List<String> eng_morphemes = r.getEnglishMorphemes(); //English morphemes
-    //Swahili
-    private final List<String> swa_dict_words = r.getSwahiliLexicon(); //Swahili words
-    private final List<String> swa_verbs = r.getSwahiliVerbs(); //Swahili verbs
-    private final List<String> swa_adj = r.getSwahiliAdjectives(); //Swahili adjectives
+    private final List<String> eng_dict_words; //English words
+    private final List<String> eng_morphemes; //English morphemes
+    //Precomputed phonemes & phonetic codes
+    private final ModelRegistry models;
+
+    /**
+     * Candidate generation over the shared default lexicons
+     */
+    public Candidates() {
+        this(ModelRegistry.getInstance());
+    }
+
+    /**
+     * Candidate generation over the lexicons of the given registry
+     *
+     * @param models
+     */
+    public Candidates(ModelRegistry models) {
+        eng_dict_words = models.getEnglishLexicon();
+        eng_morphemes = models.getEnglishMorphemes();
+        this.models = models;
+    }
 
     /**
      * Gets an invalid word's candidate corrections, from the Swahili lexicon
@@ -33,21 +52,16 @@ public class Candidates {
     public String[] getSwahiliCandidates(String invalidWord) {
         invalidWord = invalidWord.toLowerCase();
 
-        //All of Swahili
-        swa_dict_words.addAll(swa_verbs);
-        swa_dict_words.addAll(swa_adj);
-
         //Phonemic rep. of lexicon  words
-        List<String> phonemes = new ArrayList<>(); //stores phonemic representation of words
-        for (String ss : swa_dict_words) {
-            phonemes.add(fonetic.getSwahiliPhoneme(ss));
-        }
+        LexiconIndex index = models.getLexiconIndex();
+        String[] phonemes = index.swa_phonemes; //stores phonemic representation of words
 
         //Process graphemic & phonemic Edit-Distance similarities
         //Insertions, Deletions, Substitutions, Transposition, Phonetic errors
         Set<String> candidates = new HashSet<>();
-        for (String ss : phonemes) {
-            if ((StringCompare.getLevenshtienDistance(invalidWord, ss) <= 1) && (Graphemic.getConsonantWriting(invalidWord).equalsIgnoreCase(Graphemic.getConsonantWriting(ss)))) {
+        for (int counter : index.swa_phoneme_skeletons.getEntries(invalidWord)) { //phonemes with the same consonant writing, in lexicon order
+            String ss = phonemes[counter];
+            if (StringCompare.getLevenshtienDistance(invalidWord, ss, 1) <= 1) {
                 candidates.add(ss);
             }
         }
@@ -72,73 +86,67 @@ public class Candidates {
         //3. Perform phonetic hashing
         String input_phone_code = fonetic.getPhoneticCode(preprocess);
 
-        // Process Phonemes & Phonetic codes
-        // Grapheme-to-Phoneme conversion
-        List<String> phonemes = new ArrayList<>(); //stores phonemic representation of words
-        for (String ss : eng_dict_words) {
-            phonemes.add(fonetic.getEnglishPhoneme(ss));
-        }
+        // Phonemes & Phonetic codes of the lexicon, computed once per registry
+        LexiconIndex index = models.getLexiconIndex();
+        String[] phonemes = index.eng_phonemes; //stores phonemic representation of words
+        String[] codes = index.eng_codes; //stores the phonetic codes of all the words from the lexicon
 
-        // Phoneme Phonetic hashing
-        List<String> codes = new ArrayList<>(); //stores the phonetic codes of all the words from the lexicon
-        for (String ss : phonemes) {
-            codes.add(fonetic.getPhoneticCode(ss));
-        }
+        BitSet word_edits = index.eng_word_edits.getNeighbours(preprocess); //words within an edit distance of 1
+        BitSet phoneme_edits = index.eng_phoneme_edits.getNeighbours(preprocess); //phonemes within an edit distance of 1
+        BitSet word_abbreviations = index.eng_word_abbreviations.getSupersequences(preprocess); //words holding the input as a subsequence
+        BitSet phoneme_abbreviations = index.eng_phoneme_abbreviations.getSupersequences(preprocess); //phonemes holding the input as a subsequence
 
         Set<String> candidates = new HashSet<>();
         //Process Edit-Distance similarities
-        for (String ss : eng_dict_words) {
-            int lcs_length = StringCompare.getLengthLCS(preprocess, ss); //Length of the Longest Common Subsequence between the input invalid word & dictionary word
+        BitSet word_matches = new BitSet(eng_dict_words.size()); //matching words, added in lexicon order
 
-            //Consonant Writing , some Abbreviations & Deletions e.g. thrsdy(thursday), tmrw(tomorrow), ntwk(network), melo(mellow)
-            if ((lcs_length == preprocess.length())) {
-                candidates.add(ss);
-            }
+        //Consonant Writing , some Abbreviations & Deletions e.g. thrsdy(thursday), tmrw(tomorrow), ntwk(network), melo(mellow)
+        word_matches.or(word_abbreviations);
 
-            //Single character substitution, insertion & deletions typos e.g. jurt(just), hello-(helro), hello(hellow), hello(helo)
-            if ((StringCompare.getLevenshtienDistance(preprocess, ss) <= 1) && (preprocess.charAt(0) == ss.charAt(0))) {
-                candidates.add(ss);
+        //Single character substitution, insertion & deletions typos e.g. jurt(just), hello-(helro), hello(hellow), hello(helo)
+        for (int counter = word_edits.nextSetBit(0); counter >= 0; counter = word_edits.nextSetBit(counter + 1)) {
+            if (preprocess.charAt(0) == eng_dict_words.get(counter).charAt(0)) {
+                word_matches.set(counter);
             }
+        }
 
-            //Special Abbreviations e.g. net(internet)
-            if ((preprocess.length() > 2) && (ss.contains(preprocess))) {
-                candidates.add(ss);
-            }
+        //Special Abbreviations e.g. net(internet)
+        if (preprocess.length() > 2) {
+            word_matches.or(index.eng_word_substrings.getSuperstrings(preprocess));
+        }
+
+        for (int counter = word_matches.nextSetBit(0); counter >= 0; counter = word_matches.nextSetBit(counter + 1)) {
+            candidates.add(eng_dict_words.get(counter));
         }
 
         //Morphemes
-        for (String ss : eng_morphemes) {
-            int lcs_morpheme_length = StringCompare.getLengthLCS(preprocess, ss); //Length of the Longest Common Subsequence between the input invalid word & morpheme
+        BitSet morpheme_abbreviations = index.eng_morpheme_abbreviations.getSupersequences(preprocess); //morphemes holding the input as a subsequence
+        for (int counter = morpheme_abbreviations.nextSetBit(0); counter >= 0; counter = morpheme_abbreviations.nextSetBit(counter + 1)) {
             //Process English Morphemes
-            if ((lcs_morpheme_length == preprocess.length())) {
-                candidates.add(ss);
-            }
+            candidates.add(eng_morphemes.get(counter));
         }
 
         //Process phonemes & Phonetic codes
-        for (int counter = 0; counter < codes.size(); counter++) {
-            int lcs_phoneme_length = StringCompare.getLengthLCS(preprocess, phonemes.get(counter));
-            int lcs_phone_code_length = StringCompare.getLengthLCS(input_phone_code, codes.get(counter));
-
+        for (int counter = 0; counter < codes.length; counter++) {
             //option 1: if(((LCS.length()==input_phone_code.length())||(LCSphoneme.length()==preprocess.length()))&&(codes.get(counter).charAt(0)==input_phone_code.charAt(0)))
             //option 2: if((LCS.length()==input_phone_code.length())||(LCSphoneme.length()==preprocess.length()))
             //option 3: if(((LCS.length()==input_phone_code.length())||(LCSphoneme.length()==preprocess.length()))&&(phonemes.get(counter).charAt(0)==invalid_word.charAt(0)))
             //option 4: if(((LCS.length()==input_phone_code.length())||(LCSphoneme.length()==preprocess.length()))&&(codes.get(counter).charAt(0)==input_phone_code.charAt(0)))
-            if (lcs_phoneme_length == preprocess.length()) {
+            if (phoneme_abbreviations.get(counter)) {
                 candidates.add(eng_dict_words.get(counter));
             }
 
-            if ((StringCompare.getLevenshtienDistance(preprocess, phonemes.get(counter)) <= 1) && (phonemes.get(counter).charAt(0) == input_phoneme.charAt(0))) {
+            if (phoneme_edits.get(counter) && (phonemes[counter].charAt(0) == input_phoneme.charAt(0))) {
                 candidates.add(eng_dict_words.get(counter));
             }
 
             //Jaro-Winkler distance metric best suited for short strings over Levenshtien
             if (eng_dict_words.get(counter).length() > 3) {
-                if ((StringCompare.getJaroWinklerDistance(input_phone_code, codes.get(counter)) >= 0.8) && (phonemes.get(counter).charAt(0) == input_phoneme.charAt(0))) {
+                if (StringCompare.isJaroWinklerSimilar(input_phone_code, codes[counter], 0.8) && (phonemes[counter].charAt(0) == input_phoneme.charAt(0))) {
                     candidates.add(eng_dict_words.get(counter));
                 }
             } else {
-                if ((StringCompare.getJaroWinklerDistance(input_phone_code, codes.get(counter)) >= 0.9) && (phonemes.get(counter).charAt(0) == input_phoneme.charAt(0))) {
+                if (StringCompare.isJaroWinklerSimilar(input_phone_code, codes[counter], 0.9) && (phonemes[counter].charAt(0) == input_phoneme.charAt(0))) {
                     candidates.add(eng_dict_words.get(counter));
                 }
             }
@@ -149,12 +157,13 @@ public class Candidates {
     }
 
     /**
-     * Gets an invalid word's candidate corrections, from all the lexicons
+     * Gets an invalid word's candidate corrections, from all the lexicons,
+     * each tagged with whether it is a Swahili candidate
      *
      * @param invalidWord
      * @return Candidate corrections for a given invalid word
      */
-    public String[] getCandidateCorrections(String invalidWord) {
+    public CandidateSet getCandidateSet(String invalidWord) {
 
         invalidWord = invalidWord.toLowerCase();
 
@@ -163,7 +172,98 @@ public class Candidates {
         String[] candidates = new String[swa_candidates.length + eng_candidates.length];
         System.arraycopy(swa_candidates, 0, candidates, 0, swa_candidates.length);
         System.arraycopy(eng_candidates, 0, candidates, swa_candidates.length, eng_candidates.length);
-        return candidates;
+
+        //English candidates also found in the Swahili lexicon are scored as Swahili
+        Set<String> swahili_words = new HashSet<>(Arrays.asList(swa_candidates));
+        boolean[] swahili = new boolean[candidates.length];
+        for (int counter = 0; counter < candidates.length; counter++) {
+            swahili[counter] = counter < swa_candidates.length || swahili_words.contains(candidates[counter]);
+        }
+        return new CandidateSet(invalidWord, candidates, swahili);
+    }
+
+    /**
+     * Gets an invalid word's candidate corrections, from all the lexicons,
+     * together with the dictionary words that follow the preceding word in the
+     * corpus bigrams and are within 2 edits of the invalid word (starting with
+     * the same letter), if the lexicons did not already give them
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @return Candidate corrections for a given invalid word, the context
+     * candidates last
+     */
+    public CandidateSet getCandidateSet(String invalidWord, String precedingWord) {
+        NGramIndex ngrams = models.getNGramIndex();
+        String[] successors = ngrams.getBigramSuccessors(ngrams.getId(precedingWord.toLowerCase()));
+        return addContextCandidates(getCandidateSet(invalidWord), successors);
+    }
+
+    /**
+     * Gets an invalid word's candidate corrections, from all the lexicons,
+     * together with the dictionary words that follow the two preceding words
+     * in the corpus trigrams, or the preceding word in the bigrams, and are
+     * within 2 edits of the invalid word (starting with the same letter), if
+     * the lexicons did not already give them
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @return Candidate corrections for a given invalid word, the context
+     * candidates last
+     */
+    public CandidateSet getCandidateSet(String invalidWord, String precedingWord, String precedingPrecedingWord) {
+        NGramIndex ngrams = models.getNGramIndex();
+        int preceding_id = ngrams.getId(precedingWord.toLowerCase());
+        String[] trigram_successors = ngrams.getTrigramSuccessors(ngrams.getContext(ngrams.getId(precedingPrecedingWord.toLowerCase()), preceding_id));
+        String[] bigram_successors = ngrams.getBigramSuccessors(preceding_id);
+        String[] successors = Arrays.copyOf(trigram_successors, trigram_successors.length + bigram_successors.length);
+        System.arraycopy(bigram_successors, 0, successors, trigram_successors.length, bigram_successors.length);
+        return addContextCandidates(getCandidateSet(invalidWord), successors);
+    }
+
+    //Append the words seen after the context that are close to the invalid word and not yet candidates
+    private CandidateSet addContextCandidates(CandidateSet candidates, String[] successors) {
+        String invalid_word = candidates.getInvalidWord();
+        if (invalid_word.isEmpty() || successors.length == 0) {
+            return candidates;
+        }
+        Set<String> words = new HashSet<>(Arrays.asList(candidates.toArray()));
+        List<String> context_words = new ArrayList<>();
+        for (String successor : successors) {
+            if (!successor.isEmpty() && successor.charAt(0) == invalid_word.charAt(0)
+                    && !words.contains(successor)
+                    && StringCompare.getLevenshtienDistance(invalid_word, successor, CONTEXT_DISTANCE) <= CONTEXT_DISTANCE
+                    && models.getDictionary().contains(successor)) {
+                words.add(successor);
+                context_words.add(successor);
+            }
+        }
+        if (context_words.isEmpty()) {
+            return candidates;
+        }
+
+        String[] all_words = Arrays.copyOf(candidates.toArray(), candidates.size() + context_words.size());
+        boolean[] swahili = new boolean[all_words.length];
+        for (int counter = 0; counter < all_words.length; counter++) {
+            if (counter < candidates.size()) {
+                swahili[counter] = candidates.isSwahili(counter);
+            } else {
+                all_words[counter] = context_words.get(counter - candidates.size());
+                swahili[counter] = models.getSwahiliDictionary().contains(all_words[counter]);
+            }
+        }
+        return new CandidateSet(invalid_word, all_words, swahili);
+    }
+
+    /**
+     * Gets an invalid word's candidate corrections, from all the lexicons
+     *
+     * @param invalidWord
+     * @return Candidate corrections for a given invalid word
+     */
+    public String[] getCandidateCorrections(String invalidWord) {
+        return getCandidateSet(invalidWord).toArray();
     }
 
 }
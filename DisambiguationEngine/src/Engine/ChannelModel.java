@@ -1,9 +1,6 @@
 package Engine;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
 
 /**
  *
@@ -17,10 +14,25 @@ public class ChannelModel {
      */
     //Phonetic coding scheme
     private final Phonetic fonetic = new Phonetic();
-    private final LanguageModel lmd = new LanguageModel();
-    private final Candidates cnds = new Candidates();
+    private final LanguageModel lmd;
+    private final Candidates cnds;
 
-    List<String> swahili_candidates;
+    /**
+     * Channel model over the shared default lexicons and n-gram tables
+     */
+    public ChannelModel() {
+        this(ModelRegistry.getInstance());
+    }
+
+    /**
+     * Channel model over the lexicons and n-gram tables of the given registry
+     *
+     * @param models
+     */
+    public ChannelModel(ModelRegistry models) {
+        lmd = new LanguageModel(models);
+        cnds = new Candidates(models);
+    }
 
     /**
      * Calculate the Channel Model probability
@@ -34,57 +46,106 @@ public class ChannelModel {
     }
 
     /**
-     * Determine the likelihood of candidate words, calculated on the basis of
-     * the Unigram Language model, the Graphemic & Phonemic probability of the
-     * input word and the Channel probability. [0] - Candidate word. [1] -
-     * Frequency of the candidate word. [2] - Priori probability of the
-     * candidate word, to 5 decimal places. [3] - Graphemic probability, to 5
-     * decimal places. [4] - Phonemic probability, to 5 decimal places. [5] -
-     * Posteriori probability, to 5 decimal places
+     * Score language model candidates with the Graphemic & Phonemic
+     * probability of the input word and the Channel probability, English and
+     * Swahili candidates separately
      *
-     * @param invalidWord
-     * @return Posteriori probability from the unigram channel model
+     * @param invalidWord lowercase
+     * @param priori candidates from the language model, tagged with their
+     * language
+     * @return Candidates with their posteriori probability, in the same order
      */
-    public String[][] unigramChannelModel(String invalidWord) {
-        invalidWord = invalidWord.toLowerCase();
-
-        String[] swa_cand = cnds.getSwahiliCandidates(invalidWord);
-        swahili_candidates = new ArrayList<>(Arrays.asList(swa_cand));
-
-        String priori[][] = lmd.unigramLanguageModel(invalidWord); //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-        String posteriori[][] = new String[priori.length][6]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob., Channel prob.
+    private Candidate[] getPosteriori(String invalidWord, Candidate[] priori) {
+        Candidate[] posteriori = new Candidate[priori.length];
 
         double grapheme_prob, phoneme_prob;
+        String eng_invalid_word = fonetic.processEnglishPhonetics(invalidWord); //Numeric homophones expanded
 
+        //Process English & Swahili words separately
         for (int counter = 0; counter < priori.length; counter++) {
-            if (!swahili_candidates.contains(priori[counter][0])) {
+            String candidate = priori[counter].getWord();
+            if (!priori[counter].isSwahili()) {
+                grapheme_prob = Graphemic.getProbabilityEnglishMatches(eng_invalid_word, candidate);
+                phoneme_prob = Phonetic.getProbabilityMatches(eng_invalid_word, fonetic.getEnglishPhoneme(candidate));
+            } else {
+                grapheme_prob = Graphemic.getProbabilitySwahiliMatches(invalidWord, candidate);
+                phoneme_prob = Phonetic.getProbabilityMatches(invalidWord, fonetic.getSwahiliPhoneme(candidate));
+            }
+            posteriori[counter] = priori[counter].withChannel(grapheme_prob, phoneme_prob, getChannelProbability(grapheme_prob, phoneme_prob)); //posteriori prob.
+        }
+        return posteriori;
+    }
 
-                grapheme_prob = Graphemic.getProbabilityEnglishMatches(fonetic.processEnglishPhonetics(invalidWord), priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(fonetic.processEnglishPhonetics(invalidWord), fonetic.getEnglishPhoneme(priori[counter][0]));
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the Unigram Language model, the Graphemic & Phonemic probability of the
+     * input word and the Channel probability, in alphabetic order
+     *
+     * @param invalidWord
+     * @return Candidates with their posteriori probability from the unigram
+     * channel model
+     */
+    public Candidate[] getUnigramCandidates(String invalidWord) {
+        return getUnigramCandidates(cnds.getCandidateSet(invalidWord));
+    }
 
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //n-gram frequency of the candidate word
-                posteriori[counter][2] = priori[counter][2]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][3] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][4] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of the Unigram Language model, the
+     * Graphemic & Phonemic probability of the input word and the Channel
+     * probability, in alphabetic order
+     *
+     * @param candidates
+     * @return Candidates with their posteriori probability from the unigram
+     * channel model
+     */
+    public Candidate[] getUnigramCandidates(CandidateSet candidates) {
+        return getPosteriori(candidates.getInvalidWord(), lmd.getUnigramCandidates(candidates));
+    }
 
-            } else {
+    //Posteriori probabilities of the candidates, in the order they were generated
+    Candidate[] scoreUnigram(CandidateSet candidates) {
+        return getPosteriori(candidates.getInvalidWord(), lmd.scoreUnigram(candidates));
+    }
 
-                grapheme_prob = Graphemic.getProbabilitySwahiliMatches(invalidWord, priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(invalidWord, fonetic.getSwahiliPhoneme(priori[counter][0]));
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the Unigram Language model, the Graphemic & Phonemic probability of the
+     * input word and the Channel probability, limited to a maximum number of
+     * candidate corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param candidateGroupSize
+     * @return Candidates with their posteriori probability from the unigram
+     * channel model, the most likely first if limited
+     */
+    public Candidate[] getUnigramCandidates(String invalidWord, int candidateGroupSize) {
+        Candidate[] posteriori = scoreUnigram(cnds.getCandidateSet(invalidWord));
 
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //n-gram frequency of the candidate word
-                posteriori[counter][2] = priori[counter][2]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][3] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][4] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-            }
+        //Retrieve the top-N elements with the highest probabilities
+        if ((candidateGroupSize > 0) && (candidateGroupSize < posteriori.length)) {
+            return Candidate.getTop(posteriori, candidateGroupSize, Candidate.BY_POSTERIORI);
         }
+        Arrays.sort(posteriori, Candidate.BY_WORD);
         return posteriori;
     }
 
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the Unigram Language model, the Graphemic & Phonemic probability of the
+     * input word and the Channel probability. [0] - Candidate word. [1] -
+     * Frequency of the candidate word. [2] - Priori probability of the
+     * candidate word, to 5 decimal places. [3] - Graphemic probability, to 5
+     * decimal places. [4] - Phonemic probability, to 5 decimal places. [5] -
+     * Posteriori probability, to 5 decimal places
+     *
+     * @param invalidWord
+     * @return Posteriori probability from the unigram channel model
+     */
+    public String[][] unigramChannelModel(String invalidWord) {
+        return toUnigramRows(getUnigramCandidates(invalidWord));
+    }
+
     /**
      * Determine the likelihood of candidate words, calculated on the basis of
      * the Unigram Language model, the Graphemic & Phonemic probability of the
@@ -100,76 +161,77 @@ public class ChannelModel {
      * @return Posteriori probability from the unigram channel model
      */
     public String[][] unigramChannelModel(String invalidWord, int candidateGroupSize) {
+        return toUnigramRows(getUnigramCandidates(invalidWord, candidateGroupSize));
+    }
 
-        invalidWord = invalidWord.toLowerCase();
-
-        String[] swa_cand = cnds.getSwahiliCandidates(invalidWord);
-        swahili_candidates = new ArrayList<>(Arrays.asList(swa_cand));
-
-        String priori[][] = lmd.unigramLanguageModel(invalidWord); //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-        String posteriori[][] = new String[priori.length][6]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob., Channel prob.
-
-        double grapheme_prob, phoneme_prob;
-
-        //Process English & Swahili words separately
-        for (int counter = 0; counter < priori.length; counter++) {
-            if (!swahili_candidates.contains(priori[counter][0])) {
-
-                grapheme_prob = Graphemic.getProbabilityEnglishMatches(fonetic.processEnglishPhonetics(invalidWord), priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(fonetic.processEnglishPhonetics(invalidWord), fonetic.getEnglishPhoneme(priori[counter][0]));
+    private static String[][] toUnigramRows(Candidate[] candidates) {
+        String posteriori[][] = new String[candidates.length][6]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob., Channel prob.
+        for (int counter = 0; counter < candidates.length; counter++) {
+            posteriori[counter][0] = candidates[counter].getWord(); //candidate word
+            posteriori[counter][1] = String.valueOf(candidates[counter].getFrequency()); //n-gram frequency of the candidate word
+            posteriori[counter][2] = Candidate.format(candidates[counter].getPrioriProbability()); //priori prob. of the candidate word, to 5 decimal places
+            posteriori[counter][3] = Candidate.format(candidates[counter].getGraphemicProbability()); //graphemic prob
+            posteriori[counter][4] = Candidate.format(candidates[counter].getPhonemicProbability()); //phonemic prob.
+            posteriori[counter][5] = Candidate.format(candidates[counter].getPosterioriProbability()); //posteriori prob.
+        }
+        return posteriori;
+    }
 
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //n-gram frequency of the candidate word
-                posteriori[counter][2] = priori[counter][2]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][3] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][4] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the Bigram Language model, the Graphemic & Phonemic probability of the
+     * input word and the Channel probability, in alphabetic order
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @return Candidates with their bigram and posteriori probability from the
+     * bigram channel model
+     */
+    public Candidate[] getBigramCandidates(String invalidWord, String precedingWord) {
+        return getBigramCandidates(cnds.getCandidateSet(invalidWord), precedingWord);
+    }
 
-            } else {
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of the Bigram Language model, the
+     * Graphemic & Phonemic probability of the input word and the Channel
+     * probability, in alphabetic order
+     *
+     * @param candidates
+     * @param precedingWord
+     * @return Candidates with their bigram and posteriori probability from the
+     * bigram channel model
+     */
+    public Candidate[] getBigramCandidates(CandidateSet candidates, String precedingWord) {
+        return getPosteriori(candidates.getInvalidWord(), lmd.getBigramCandidates(candidates, precedingWord));
+    }
 
-                grapheme_prob = Graphemic.getProbabilitySwahiliMatches(invalidWord, priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(invalidWord, fonetic.getSwahiliPhoneme(priori[counter][0]));
+    //Posteriori probabilities of the candidates, in the order they were generated
+    Candidate[] scoreBigram(CandidateSet candidates, String precedingWord) {
+        return getPosteriori(candidates.getInvalidWord(), lmd.scoreBigram(candidates, precedingWord));
+    }
 
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //n-gram frequency of the candidate word
-                posteriori[counter][2] = priori[counter][2]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][3] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][4] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-            }
-        }
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the Bigram Language model, the Graphemic & Phonemic probability of the
+     * input word and the Channel probability, limited to a maximum number of
+     * candidate corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param candidateGroupSize
+     * @return Candidates with their bigram and posteriori probability from the
+     * bigram channel model, the most likely first if limited
+     */
+    public Candidate[] getBigramCandidates(String invalidWord, String precedingWord, int candidateGroupSize) {
+        Candidate[] posteriori = scoreBigram(cnds.getCandidateSet(invalidWord), precedingWord);
 
-        //Retrieve the top-N elements
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
+        //Retrieve the top-N elements with the highest probabilities
         if ((candidateGroupSize > 0) && (candidateGroupSize < posteriori.length)) {
-
-            String[][] top_posteriori = new String[candidateGroupSize][6]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-
-            //Sort Posteriori array based on probabilities of candidates
-            Arrays.sort(posteriori, new Comparator<String[]>() {
-                @Override
-                public int compare(final String[] probabilities, final String[] probabilitiez) {
-                    String probability1 = probabilities[5];
-                    String probability2 = probabilitiez[5];
-                    return probability2.compareTo(probability1);
-                }
-
-            });
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-                top_posteriori[counter][0] = posteriori[counter][0]; //candidate word
-                top_posteriori[counter][1] = posteriori[counter][1]; //n-gram frequency of the candidate word
-                top_posteriori[counter][2] = posteriori[counter][2]; //priori prob. of the candidate word, to 5 decimal places
-                top_posteriori[counter][3] = posteriori[counter][3]; //graphemic prob
-                top_posteriori[counter][4] = posteriori[counter][4]; //phonemic prob.
-                top_posteriori[counter][5] = posteriori[counter][5]; //posteriori prob.
-            }
-
-            return top_posteriori;
-        } else {
-            return posteriori;
+            return Candidate.getTop(posteriori, candidateGroupSize, Candidate.BY_POSTERIORI);
         }
+        Arrays.sort(posteriori, Candidate.BY_WORD);
+        return posteriori;
     }
 
     /**
@@ -187,47 +249,7 @@ public class ChannelModel {
      * @return Posteriori probability from the bigram channel model
      */
     public String[][] bigramChannelModel(String invalidWord, String precedingWord) {
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-
-        String[] swa_cand = cnds.getSwahiliCandidates(invalidWord);
-        swahili_candidates = new ArrayList<>(Arrays.asList(swa_cand));
-
-        String priori[][] = lmd.bigramLanguageModel(invalidWord, precedingWord); //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-        String posteriori[][] = new String[priori.length][7]; //Candidate word, Bigram ,Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob., Channel prob.
-
-        double grapheme_prob, phoneme_prob;
-
-        for (int counter = 0; counter < priori.length; counter++) {
-            if (!swahili_candidates.contains(priori[counter][0])) {
-
-                grapheme_prob = Graphemic.getProbabilityEnglishMatches(fonetic.processEnglishPhonetics(invalidWord), priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(fonetic.processEnglishPhonetics(invalidWord), fonetic.getEnglishPhoneme(priori[counter][0]));
-
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //bigram
-                posteriori[counter][2] = priori[counter][2]; //n-gram frequency of the candidate word
-                posteriori[counter][3] = priori[counter][3]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][4] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][6] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-
-            } else {
-
-                grapheme_prob = Graphemic.getProbabilitySwahiliMatches(invalidWord, priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(invalidWord, fonetic.getSwahiliPhoneme(priori[counter][0]));
-
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //bigram
-                posteriori[counter][2] = priori[counter][2]; //n-gram frequency of the candidate word
-                posteriori[counter][3] = priori[counter][3]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][4] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][6] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-            }
-        }
-
-        return posteriori;
+        return toBigramRows(getBigramCandidates(invalidWord, precedingWord));
     }
 
     /**
@@ -247,79 +269,82 @@ public class ChannelModel {
      * @return Posteriori probability from the bigram channel model
      */
     public String[][] bigramChannelModel(String invalidWord, String precedingWord, int candidateGroupSize) {
+        return toBigramRows(getBigramCandidates(invalidWord, precedingWord, candidateGroupSize));
+    }
 
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-
-        String[] swa_cand = cnds.getSwahiliCandidates(invalidWord);
-        swahili_candidates = new ArrayList<>(Arrays.asList(swa_cand));
-
-        String priori[][] = lmd.bigramLanguageModel(invalidWord, precedingWord); //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-        String posteriori[][] = new String[priori.length][7]; //Candidate word, Bigram,Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob.
-
-        double grapheme_prob, phoneme_prob;
-
-        for (int counter = 0; counter < priori.length; counter++) {
-            if (!swahili_candidates.contains(priori[counter][0])) {
-
-                grapheme_prob = Graphemic.getProbabilityEnglishMatches(fonetic.processEnglishPhonetics(invalidWord), priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(fonetic.processEnglishPhonetics(invalidWord), fonetic.getEnglishPhoneme(priori[counter][0]));
+    private static String[][] toBigramRows(Candidate[] candidates) {
+        String posteriori[][] = new String[candidates.length][7]; //Candidate word, Bigram ,Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob., Channel prob.
+        for (int counter = 0; counter < candidates.length; counter++) {
+            posteriori[counter][0] = candidates[counter].getWord(); //candidate word
+            posteriori[counter][1] = candidates[counter].getNGram(); //bigram
+            posteriori[counter][2] = String.valueOf(candidates[counter].getFrequency()); //n-gram frequency of the candidate word
+            posteriori[counter][3] = Candidate.format(candidates[counter].getPrioriProbability()); //priori prob. of the candidate word, to 5 decimal places
+            posteriori[counter][4] = Candidate.format(candidates[counter].getGraphemicProbability()); //graphemic prob
+            posteriori[counter][5] = Candidate.format(candidates[counter].getPhonemicProbability()); //phonemic prob.
+            posteriori[counter][6] = Candidate.format(candidates[counter].getPosterioriProbability()); //posteriori prob.
+        }
+        return posteriori;
+    }
 
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //bigram
-                posteriori[counter][2] = priori[counter][2]; //n-gram frequency of the candidate word
-                posteriori[counter][3] = priori[counter][3]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][4] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][6] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the Trigram Language model, the Graphemic & Phonemic probability of the
+     * input word and the Channel probability, in alphabetic order
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @return Candidates with their trigram, preceding bigram and posteriori
+     * probability from the trigram channel model
+     */
+    public Candidate[] getTrigramCandidates(String invalidWord, String precedingWord, String precedingPrecedingWord) {
+        return getTrigramCandidates(cnds.getCandidateSet(invalidWord), precedingWord, precedingPrecedingWord);
+    }
 
-            } else {
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of the Trigram Language model, the
+     * Graphemic & Phonemic probability of the input word and the Channel
+     * probability, in alphabetic order
+     *
+     * @param candidates
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @return Candidates with their trigram, preceding bigram and posteriori
+     * probability from the trigram channel model
+     */
+    public Candidate[] getTrigramCandidates(CandidateSet candidates, String precedingWord, String precedingPrecedingWord) {
+        return getPosteriori(candidates.getInvalidWord(), lmd.getTrigramCandidates(candidates, precedingWord, precedingPrecedingWord));
+    }
 
-                grapheme_prob = Graphemic.getProbabilitySwahiliMatches(invalidWord, priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(invalidWord, fonetic.getSwahiliPhoneme(priori[counter][0]));
+    //Posteriori probabilities of the candidates, in the order they were generated
+    Candidate[] scoreTrigram(CandidateSet candidates, String precedingWord, String precedingPrecedingWord) {
+        return getPosteriori(candidates.getInvalidWord(), lmd.scoreTrigram(candidates, precedingWord, precedingPrecedingWord));
+    }
 
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //bigram
-                posteriori[counter][2] = priori[counter][2]; //n-gram frequency of the candidate word
-                posteriori[counter][3] = priori[counter][3]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][4] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][6] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-            }
-        }
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the Trigram Language model, the Graphemic & Phonemic probability of the
+     * input word and the Channel probability, limited to a maximum number of
+     * candidate corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @param candidateGroupSize
+     * @return Candidates with their trigram, preceding bigram and posteriori
+     * probability from the trigram channel model, the most likely first if
+     * limited
+     */
+    public Candidate[] getTrigramCandidates(String invalidWord, String precedingWord, String precedingPrecedingWord, int candidateGroupSize) {
+        Candidate[] posteriori = scoreTrigram(cnds.getCandidateSet(invalidWord), precedingWord, precedingPrecedingWord);
 
-        //Retrieve the top-N elements
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
+        //Retrieve the top-N elements with the highest probabilities
         if ((candidateGroupSize > 0) && (candidateGroupSize < posteriori.length)) {
-
-            String[][] top_posteriori = new String[candidateGroupSize][7]; //Candidate word, Bigram,Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob.
-
-            ///Sort Posterori array based on probabilities of candidates
-            Arrays.sort(posteriori, new Comparator<String[]>() {
-                @Override
-                public int compare(final String[] probabilities, final String[] probabilitiez) {
-                    String probability1 = probabilities[6];
-                    String probability2 = probabilitiez[6];
-                    return probability2.compareTo(probability1);
-                }
-
-            });
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-                top_posteriori[counter][0] = posteriori[counter][0]; //candidate word
-                top_posteriori[counter][1] = posteriori[counter][1]; //bigram
-                top_posteriori[counter][2] = posteriori[counter][2]; //n-gram frequency of the candidate word
-                top_posteriori[counter][3] = posteriori[counter][3]; //priori prob. of the candidate word, to 5 decimal places
-                top_posteriori[counter][4] = posteriori[counter][4]; //graphemic prob
-                top_posteriori[counter][5] = posteriori[counter][5]; //phonemic prob.
-                top_posteriori[counter][6] = posteriori[counter][6]; //posteriori prob.
-            }
-
-            return top_posteriori;
-        } else {
-            return posteriori;
+            return Candidate.getTop(posteriori, candidateGroupSize, Candidate.BY_POSTERIORI);
         }
+        Arrays.sort(posteriori, Candidate.BY_WORD);
+        return posteriori;
     }
 
     /**
@@ -339,51 +364,7 @@ public class ChannelModel {
      * @return Posteriori probability from the trigram channel model
      */
     public String[][] trigramChannelModel(String invalidWord, String precedingWord, String precedingPrecedingWord) {
-
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-        precedingPrecedingWord = precedingPrecedingWord.toLowerCase();
-
-        String[] swa_cand = cnds.getSwahiliCandidates(invalidWord);
-        swahili_candidates = new ArrayList<>(Arrays.asList(swa_cand));
-
-        String priori[][] = lmd.trigramLanguageModel(invalidWord, precedingWord, precedingPrecedingWord); //Candidate word, Trigram , Bigram, Frequency of Occurrence, Likelihood probability of Occurence
-        String posteriori[][] = new String[priori.length][8]; //Candidate word, Trigram , Bigram, Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob., Channel prob.
-
-        double grapheme_prob, phoneme_prob;
-
-        for (int counter = 0; counter < priori.length; counter++) {
-            if (!swahili_candidates.contains(priori[counter][0])) {
-
-                grapheme_prob = Graphemic.getProbabilityEnglishMatches(fonetic.processEnglishPhonetics(invalidWord), priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(fonetic.processEnglishPhonetics(invalidWord), fonetic.getEnglishPhoneme(priori[counter][0]));
-
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //trigram
-                posteriori[counter][2] = priori[counter][2]; //bigram
-                posteriori[counter][3] = priori[counter][3]; //n-gram frequency of the candidate word
-                posteriori[counter][4] = priori[counter][4]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][6] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][7] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-
-            } else {
-
-                grapheme_prob = Graphemic.getProbabilitySwahiliMatches(invalidWord, priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(invalidWord, fonetic.getSwahiliPhoneme(priori[counter][0]));
-
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //trigram
-                posteriori[counter][2] = priori[counter][2]; //bigram
-                posteriori[counter][3] = priori[counter][3]; //n-gram frequency of the candidate word
-                posteriori[counter][4] = priori[counter][4]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][6] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][7] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-            }
-        }
-
-        return posteriori;
+        return toTrigramRows(getTrigramCandidates(invalidWord, precedingWord, precedingPrecedingWord));
     }
 
     /**
@@ -405,83 +386,22 @@ public class ChannelModel {
      * @return Posteriori probability from the trigram channel model
      */
     public String[][] trigramChannelModel(String invalidWord, String precedingWord, String precedingPrecedingWord, int candidateGroupSize) {
+        return toTrigramRows(getTrigramCandidates(invalidWord, precedingWord, precedingPrecedingWord, candidateGroupSize));
+    }
 
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-        precedingPrecedingWord = precedingPrecedingWord.toLowerCase();
-
-        String[] swa_cand = cnds.getSwahiliCandidates(invalidWord);
-        swahili_candidates = new ArrayList<>(Arrays.asList(swa_cand));
-
-        String priori[][] = lmd.trigramLanguageModel(invalidWord, precedingWord, precedingPrecedingWord); //Candidate word, Trigram , Bigram, Frequency of Occurrence, Likelihood probability of Occurence
-        String posteriori[][] = new String[priori.length][8]; //Candidate word, Trigram , Bigram, Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob., Channel prob.
-
-        double grapheme_prob, phoneme_prob;
-
-        for (int counter = 0; counter < priori.length; counter++) {
-            if (!swahili_candidates.contains(priori[counter][0])) {
-
-                grapheme_prob = Graphemic.getProbabilityEnglishMatches(fonetic.processEnglishPhonetics(invalidWord), priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(fonetic.processEnglishPhonetics(invalidWord), fonetic.getEnglishPhoneme(priori[counter][0]));
-
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //trigram
-                posteriori[counter][2] = priori[counter][2]; //bigram
-                posteriori[counter][3] = priori[counter][3]; //n-gram frequency of the candidate word
-                posteriori[counter][4] = priori[counter][4]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][6] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][7] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-
-            } else {
-
-                grapheme_prob = Graphemic.getProbabilitySwahiliMatches(invalidWord, priori[counter][0]);
-                phoneme_prob = Phonetic.getProbabilityMatches(invalidWord, fonetic.getSwahiliPhoneme(priori[counter][0]));
-
-                posteriori[counter][0] = priori[counter][0]; //candidate word
-                posteriori[counter][1] = priori[counter][1]; //trigram
-                posteriori[counter][2] = priori[counter][2]; //bigram
-                posteriori[counter][3] = priori[counter][3]; //n-gram frequency of the candidate word
-                posteriori[counter][4] = priori[counter][4]; //priori prob. of the candidate word, to 5 decimal places
-                posteriori[counter][5] = String.valueOf(String.format("%.5f", grapheme_prob)); //graphemic prob
-                posteriori[counter][6] = String.valueOf(String.format("%.5f", phoneme_prob)); //phonemic prob.
-                posteriori[counter][7] = String.valueOf(String.format("%.5f", getChannelProbability(grapheme_prob, phoneme_prob))); //posteriori prob.
-            }
-        }
-
-        //Retrieve the top-N elements
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
-        if ((candidateGroupSize > 0) && (candidateGroupSize < posteriori.length)) {
-
-            String[][] top_posteriori = new String[candidateGroupSize][8]; //Candidate word,Trigram, Bigram,Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob.
-
-            ///Sort Posterori array based on probabilities of candidates
-            Arrays.sort(posteriori, new Comparator<String[]>() {
-                @Override
-                public int compare(final String[] probabilities, final String[] probabilitiez) {
-                    String probability1 = probabilities[7];
-                    String probability2 = probabilitiez[7];
-                    return probability2.compareTo(probability1);
-                }
-
-            });
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-                top_posteriori[counter][0] = posteriori[counter][0]; //candidate word
-                top_posteriori[counter][1] = posteriori[counter][1]; //trigram
-                top_posteriori[counter][2] = posteriori[counter][2]; //bigram
-                top_posteriori[counter][3] = posteriori[counter][3]; //n-gram frequency of the candidate word
-                top_posteriori[counter][4] = posteriori[counter][4]; //priori prob. of the candidate word, to 5 decimal places
-                top_posteriori[counter][5] = posteriori[counter][5]; //graphemic prob
-                top_posteriori[counter][6] = posteriori[counter][6]; //phonemic prob.
-                top_posteriori[counter][7] = posteriori[counter][7]; //posteriori prob.
-            }
-
-            return top_posteriori;
-        } else {
-            return posteriori;
+    private static String[][] toTrigramRows(Candidate[] candidates) {
+        String posteriori[][] = new String[candidates.length][8]; //Candidate word, Trigram , Bigram, Frequency of Occurrence, Likelihood probability of Occurence, Graphemic prob., Phonemic prob., Channel prob.
+        for (int counter = 0; counter < candidates.length; counter++) {
+            posteriori[counter][0] = candidates[counter].getWord(); //candidate word
+            posteriori[counter][1] = candidates[counter].getNGram(); //trigram
+            posteriori[counter][2] = candidates[counter].getContext(); //bigram
+            posteriori[counter][3] = String.valueOf(candidates[counter].getFrequency()); //n-gram frequency of the candidate word
+            posteriori[counter][4] = Candidate.format(candidates[counter].getPrioriProbability()); //priori prob. of the candidate word, to 5 decimal places
+            posteriori[counter][5] = Candidate.format(candidates[counter].getGraphemicProbability()); //graphemic prob
+            posteriori[counter][6] = Candidate.format(candidates[counter].getPhonemicProbability()); //phonemic prob.
+            posteriori[counter][7] = Candidate.format(candidates[counter].getPosterioriProbability()); //posteriori prob.
         }
+        return posteriori;
     }
 
 }
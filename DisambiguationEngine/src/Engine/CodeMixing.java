@@ -0,0 +1,150 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * English-Swahili code-mixing table, read from a table file such as
+ * Swahili/CodeMixing.txt (the file describes the columns). The English verbs
+ * are compiled into a {@link KeywordAutomaton}, so one scan of a word finds the
+ * first row whose English verb occurs in it, and the Swahili roots are hashed.
+ * Neither lookup grows with the size of the table.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class CodeMixing {
+
+    //Columns of a row
+    static final int ENGLISH = 0;
+    static final int ROOT = 1;
+    static final int IA = 2; //-ia
+    static final int IE = 3; //-ie
+    static final int IWA = 4; //-iwa
+    static final int ANA = 5; //-ana
+    static final int II = 6; //-ii
+    static final int PAST = 7;
+    private static final int COLUMNS = 8;
+
+    private final String[][] rows;
+    private final KeywordAutomaton english_verbs; //keyword i is the English verb of row i
+    private final int[] first_rows; //first row whose English verb ends in each state, -1 if none
+    private final Map<String, Integer> rows_by_root = new HashMap<>(); //first row of each Swahili root
+
+    /**
+     * Lazily compiled table bundled with the engine
+     */
+    private static final class DefaultHolder {
+
+        static final CodeMixing INSTANCE = new CodeMixing(new Reader().getCodeMixingTable());
+    }
+
+    /**
+     * Gets the table bundled with the engine, compiled once per JVM
+     *
+     * @return Shared code-mixing table
+     */
+    public static CodeMixing getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Compile a table, one row per line, earlier rows taking precedence
+     *
+     * @param lines
+     * @throws IllegalArgumentException if a row is malformed or there are no
+     * rows
+     */
+    public CodeMixing(List<String> lines) {
+        List<String[]> row_list = new ArrayList<>();
+        int line_number = 0;
+        for (String line : lines) {
+            line_number++;
+            if (line.indexOf('#') >= 0) {
+                line = line.substring(0, line.indexOf('#')); //comment
+            }
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] row = line.split("\\s*,\\s*");
+            if (row.length != COLUMNS) {
+                throw new IllegalArgumentException("Bad code-mixing row at line " + line_number + ": expected " + COLUMNS + " columns, found " + row.length);
+            }
+            for (int column = 0; column < COLUMNS; column++) {
+                row[column] = row[column].toLowerCase();
+                if (row[column].isEmpty()) {
+                    throw new IllegalArgumentException("Bad code-mixing row at line " + line_number + ": empty column " + (column + 1));
+                }
+            }
+            for (int counter = 0; counter < row[ENGLISH].length(); counter++) {
+                if (row[ENGLISH].charAt(counter) >= KeywordAutomaton.ALPHABET) {
+                    throw new IllegalArgumentException("Bad code-mixing row at line " + line_number + ": unsupported character in " + row[ENGLISH]);
+                }
+            }
+            row_list.add(row);
+        }
+        if (row_list.isEmpty()) {
+            throw new IllegalArgumentException("No code-mixing rows");
+        }
+        rows = row_list.toArray(new String[row_list.size()][]);
+
+        List<String> verbs = new ArrayList<>();
+        for (int counter = 0; counter < rows.length; counter++) {
+            verbs.add(rows[counter][ENGLISH]);
+            if (!rows_by_root.containsKey(rows[counter][ROOT])) {
+                rows_by_root.put(rows[counter][ROOT], counter);
+            }
+        }
+        english_verbs = new KeywordAutomaton(verbs);
+        first_rows = new int[english_verbs.size()];
+        for (int state = 0; state < first_rows.length; state++) {
+            first_rows[state] = -1;
+            for (int row : english_verbs.getKeywords(state)) {
+                if (first_rows[state] < 0 || row < first_rows[state]) {
+                    first_rows[state] = row; //earliest row of the verbs ending here
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the first row whose English verb occurs anywhere in a word
+     *
+     * @param word lowercase word
+     * @return Row, null if no English verb occurs in the word
+     */
+    String[] findEnglish(String word) {
+        int state = KeywordAutomaton.START;
+        int first = -1;
+        for (int counter = 0; counter < word.length(); counter++) {
+            state = english_verbs.next(state, word.charAt(counter));
+            if (first_rows[state] >= 0 && (first < 0 || first_rows[state] < first)) {
+                first = first_rows[state];
+                if (first == 0) {
+                    break; //no earlier row
+                }
+            }
+        }
+        return first < 0 ? null : rows[first];
+    }
+
+    /**
+     * Gets the first row of a Swahili root
+     *
+     * @param root lowercase Swahili verb
+     * @return Row, null if the root is not in the table
+     */
+    String[] findSwahili(String root) {
+        Integer row = rows_by_root.get(root);
+        return row == null ? null : rows[row];
+    }
+
+    /**
+     * @return Number of rows
+     */
+    public int size() {
+        return rows.length;
+    }
+}
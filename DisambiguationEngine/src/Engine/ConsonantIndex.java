@@ -0,0 +1,75 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of a list of strings by their consonant writing (vowels stripped out)
+ * e.g. kitabu, ktb & kitab all share the skeleton ktb. Entries whose
+ * consonant writings are equal ignoring case share one bucket, so they are
+ * found with a single lookup.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class ConsonantIndex {
+
+    private final Postings buckets; //Consonant writing & the positions of the entries sharing it
+
+    ConsonantIndex(List<String> words) {
+        Map<String, List<Integer>> keys = new HashMap<>();
+        for (int counter = 0; counter < words.size(); counter++) {
+            String key = getKey(words.get(counter));
+            List<Integer> positions = keys.get(key);
+            if (positions == null) {
+                positions = new ArrayList<>(2);
+                keys.put(key, positions);
+            }
+            positions.add(counter);
+        }
+        buckets = new Postings(keys);
+    }
+
+    /**
+     * Index by buckets built from a list, e.g. mapped from a model image
+     *
+     * @param buckets
+     */
+    ConsonantIndex(Postings buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Consonant writing folded the way {@link String#equalsIgnoreCase} compares
+     * characters, so equal keys mean equal skeletons ignoring case
+     *
+     * @param word
+     * @return Bucket key of the word
+     */
+    private static String getKey(String word) {
+        String skeleton = Graphemic.getConsonantWriting(word);
+        char[] key = new char[skeleton.length()];
+        for (int counter = 0; counter < key.length; counter++) {
+            key[counter] = Character.toLowerCase(Character.toUpperCase(skeleton.charAt(counter)));
+        }
+        return new String(key);
+    }
+
+    /**
+     * Gets the entries with the same consonant writing as a word
+     *
+     * @param word
+     * @return Positions of the matching entries, in list order
+     */
+    int[] getEntries(String word) {
+        return buckets.get(getKey(word));
+    }
+
+    /**
+     * @return Consonant writings & positions, written to a model image
+     */
+    Postings getBuckets() {
+        return buckets;
+    }
+}
@@ -0,0 +1,209 @@
+package Engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, thread-safe cache of string conversions e.g. word to phoneme. The
+ * keys are spread over lock stripes, each one a small map evicting its least
+ * recently used entry once full, so threads converting different words seldom
+ * wait on each other. Conversions are computed outside the locks; two threads
+ * missing on the same word may both compute it.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class ConversionCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_STRIPES = 16;
+
+    private final Stripe[] stripes;
+    private final int capacity;
+
+    /**
+     * Cache holding up to the given number of conversions
+     *
+     * @param capacity 0 to cache nothing
+     */
+    public ConversionCache(int capacity) {
+        this(capacity, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Cache holding up to the given number of conversions, spread over a
+     * number of lock stripes
+     *
+     * @param capacity 0 to cache nothing
+     * @param stripes rounded up to a power of two
+     */
+    public ConversionCache(int capacity, int stripes) {
+        if (capacity < 0 || stripes < 1) {
+            throw new IllegalArgumentException("Bad cache capacity " + capacity + " or stripes " + stripes);
+        }
+        int count = 1;
+        while (count < stripes && count < capacity) {
+            count <<= 1;
+        }
+        this.capacity = capacity;
+        this.stripes = new Stripe[count];
+        for (int counter = 0; counter < count; counter++) {
+            //Stripes share the capacity, the first ones taking any remainder
+            int share = capacity / count + (counter < capacity % count ? 1 : 0);
+            this.stripes[counter] = new Stripe(share);
+        }
+    }
+
+    private Stripe getStripe(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    /**
+     * Gets a cached conversion, counting a hit or a miss
+     *
+     * @param key
+     * @return Cached conversion of the key, null if not cached
+     */
+    public String get(String key) {
+        Stripe stripe = getStripe(key);
+        synchronized (stripe) {
+            String value = stripe.get(key);
+            if (value == null) {
+                stripe.misses++;
+            } else {
+                stripe.hits++;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Cache a conversion, evicting the least recently used one of its stripe
+     * if the stripe is full
+     *
+     * @param key
+     * @param value
+     */
+    public void put(String key, String value) {
+        Stripe stripe = getStripe(key);
+        if (stripe.limit == 0) {
+            return;
+        }
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+
+    /**
+     * Drop every cached conversion, keeping the statistics
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * @return Maximum number of cached conversions
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Number of cached conversions
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return Lookups answered from the cache
+     */
+    public long getHitCount() {
+        long hits = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                hits += stripe.hits;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * @return Lookups not answered from the cache
+     */
+    public long getMissCount() {
+        long misses = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                misses += stripe.misses;
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * @return Conversions dropped to make room for newer ones
+     */
+    public long getEvictionCount() {
+        long evictions = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                evictions += stripe.evictions;
+            }
+        }
+        return evictions;
+    }
+
+    /**
+     * @return Fraction of lookups answered from the cache, 0 before any lookup
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long lookups = hits + getMissCount();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d/%d hits=%d misses=%d evictions=%d hit-rate=%.3f",
+                size(), capacity, getHitCount(), getMissCount(), getEvictionCount(), getHitRate());
+    }
+
+    /**
+     * Least recently used map guarded by its own lock
+     */
+    private static final class Stripe extends LinkedHashMap<String, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        final int limit;
+        long hits;
+        long misses;
+        long evictions;
+
+        Stripe(int limit) {
+            super(16, 0.75f, true);
+            this.limit = limit;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            if (size() > limit) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Symmetric deletion index over a list of strings. Every entry is filed under
+ * itself and under each string obtained by deleting one of its characters, so
+ * the entries within a Levenshtien distance of 1 of a word are found by
+ * probing the word and its own single-character deletions, whatever the size
+ * of the list.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class DeletionIndex {
+
+    private final List<String> entries; //Indexed strings
+    private final Postings postings; //Deletion key & the positions of the entries filed under it
+
+    DeletionIndex(List<String> words) {
+        entries = words;
+
+        Map<String, List<Integer>> keys = new HashMap<>();
+        for (int counter = 0; counter < entries.size(); counter++) {
+            String entry = entries.get(counter);
+            file(keys, entry, counter);
+            for (int position = 0; position < entry.length(); position++) {
+                file(keys, delete(entry, position), counter);
+            }
+        }
+        postings = new Postings(keys);
+    }
+
+    /**
+     * Index a list by postings built from it, e.g. mapped from a model image
+     *
+     * @param words
+     * @param postings
+     */
+    DeletionIndex(List<String> words, Postings postings) {
+        this.entries = words;
+        this.postings = postings;
+    }
+
+    /**
+     * File an entry under a key, once
+     */
+    private static void file(Map<String, List<Integer>> keys, String key, int position) {
+        List<Integer> positions = keys.get(key);
+        if (positions == null) {
+            positions = new ArrayList<>(2);
+            keys.put(key, positions);
+        }
+        if (positions.isEmpty() || positions.get(positions.size() - 1) != position) {
+            positions.add(position); //an entry's keys are filed together, e.g. hello -> helo twice
+        }
+    }
+
+    /**
+     * @param word
+     * @param position
+     * @return The word without the character at the given position
+     */
+    private static String delete(String word, int position) {
+        return word.substring(0, position) + word.substring(position + 1);
+    }
+
+    /**
+     * Gets the entries within a Levenshtien distance of 1 of a word
+     *
+     * @param word
+     * @return Positions of the matching entries in the indexed list
+     */
+    BitSet getNeighbours(String word) {
+        BitSet neighbours = new BitSet(entries.size());
+        BitSet checked = new BitSet(entries.size());
+        verify(word, postings.get(word), neighbours, checked);
+        for (int position = 0; position < word.length(); position++) {
+            verify(word, postings.get(delete(word, position)), neighbours, checked);
+        }
+        return neighbours;
+    }
+
+    /**
+     * @return Deletion keys & positions, written to a model image
+     */
+    Postings getPostings() {
+        return postings;
+    }
+
+    /**
+     * Shared deletion keys also pair up transpositions e.g. ab & ba, hence
+     * every hit is confirmed against the edit distance
+     */
+    private void verify(String word, int[] positions, BitSet neighbours, BitSet checked) {
+        for (int position : positions) {
+            if (!checked.get(position)) {
+                checked.set(position);
+                if (StringCompare.getLevenshtienDistance(word, entries.get(position), 1) <= 1) {
+                    neighbours.set(position);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package Engine;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -11,63 +11,50 @@ import java.util.regex.Pattern;
  */
 public class Graphemic {
 
-    private final Reader r = new Reader();
-
     //Swahili
-    final List<String> swa_words = r.getSwahiliLexicon();
-    final List<String> swa_verbs = r.getSwahiliVerbs();
-    final List<String> swa_adjectives = r.getSwahiliAdjectives();
+    final List<String> swa_verbs;
+
+    //Search structures over the lexicons
+    private final ModelRegistry models;
+
+    //English-Swahili code-mixing table
+    private final CodeMixing mixing;
 
-    //English
-    final List<String> eng_words = r.getEnglishLexicon();
-    final List<String> eng_morphemes = r.getEnglishMorphemes();
-    final List<String> all_words = new ArrayList<>();
+    //English-Swahili mixing
+    private static final Pattern SWA_ENG_MIX = Pattern.compile("(ni|wa|ki|vi|i|zi|pa|mwa|mwe|a|u)(ki|li|l|me|na|ta)?(ni|ji|tu|m|wa|ki|vi|i|zi|po|ku|pa)?(\\w+)");
+    private static final Pattern NT_SWA_ENG_MIX = Pattern.compile("(ha|si)(m|wa|tu|ki|vi|i|zi|ku|pa)?(ku|ja|ta|i)?(m|wa|ki|vi|i|zi|u|ku|tu)?(\\w+)"); //handles vikanushi
+    //Swahili verbs with English inflections
+    private static final Pattern SWA_ENG_IFC_PRESENT = Pattern.compile("(\\w+[^ing|in'|in])(ing|in'|in)"); //handles present progressive tense
+    private static final Pattern SWA_ENG_IFC_PAST = Pattern.compile("(\\w+[^d])(d)"); //handles simple past tense
 
-    final String swa_morph = "(ni|wa|ki|vi|i|zi|pa|mwa|mwe|a|u)(ki|li|l|me|na|ta)(ni|ji|tu|m|wa|ki|vi|i|zi|po|ku|pa)?(\\w+)";
-    final String nt_swa_morph = "(ha|si)(m|wa|li|ya|ki|vi|i|zi|u|pa)?(ku|ja|ta|i)(m|wa|ki|vi|i|zi|u|ku|tu)?(\\w+)"; //vikanushi
+    /**
+     * Graphemic analysis over the shared default lexicons
+     */
+    public Graphemic() {
+        this(ModelRegistry.getInstance());
+    }
+
+    /**
+     * Graphemic analysis over the lexicons of the given registry
+     *
+     * @param models
+     */
+    public Graphemic(ModelRegistry models) {
+        this(models, CodeMixing.getDefault());
+    }
 
-    //ROOM FOR EXPANSION!!
-    final private String[][] dict = {{"show", "onyesha", "onyeshea", "onyeshee", "onyeshwa", "onyesheana", "onyeshei", "showed"},
-    {"try", "jaribu", "jaribia", "jaribie", "jaribishwa", "jaribiana", "jaribii", "tried"},
-    {"cook", "pika", "pikia", "pikie", "pikiwa", "pikiana", "pikii", "cooked"},
-    {"come", "kuja", "kujia", "kujie", "kujiwa", "kujiana", "kujii", "came"},
-    {"read", "soma", "somea", "somee", "somewa", "someana", "somei", "read"},
-    {"do", "fanya", "fanyia", "fanyie", "fanyiwa", "fanyiana", "fanyii", "did"},
-    {"feel", "hisi", "hisia", "hisie", "hisiwa", "hisiana", "hisii", "felt"},
-    {"spoil", "haribu", "haribia", "haribie", "haribiwa", "haribiana", "haribii", "spoilt"},
-    {"wait", "ngoja", "ngojea", "ngojee", "ngojiwa", "ngojiana", "ngojii", "waited"},
-    {"write", "andika", "andikia", "andikie", "andikiwa", "andikiana", "andikii", "wrote"},
-    {"present", "onyesha", "onyeshea", "onyeshee", "onyeshewa", "onyesheana", "onyeshei", "presented"},
-    {"sleep", "lala", "lalia", "lalie", "laliwa", "laliana", "lalii", "slept"},
-    {"drink", "kunywa", "kunyia", "kunyie", "kunyiwa", "kunyiana", "kunyii", "drank"},
-    {"move", "songa", "songea", "songee", "songiwa", "songiana", "songii", "moved"},
-    {"smell", "nuka", "nukia", "nukie", "nukiwa", "nukiana", "nukii", "smelt"},
-    {"call", "piga", "pigia", "pigie", "pigiwa", "pigiana", "pigii", "called"},
-    {"open", "fungua", "fungua", "fungulie", "funguliwa", "funguliana", "fungulii", "opened"},
-    {"close", "funga", "fungia", "fungie", "fungiwa", "fungiana", "fungii", "closed"},
-    {"finish", "maliza", "malizia", "malizie", "maliziwa", "maliziana", "malizii", "finished"},
-    {"loose", "poteza", "potezea", "potezee", "potezewa", "potezeana", "potezei", "lost"},
-    {"go", "enda", "endea", "endee", "endewa", "endeana", "endei", "went"},
-    {"look", "ona", "onea", "onee", "onewa", "oneana", "onei", "looked"},
-    {"come", "kuja", "kujia", "kujie", "kujiwa", "kujiana", "kujii", "came"},
-    {"ask", "uliza", "ulizia", "ulizie", "uliziwa", "uliziana", "ulizii", "asked"},
-    {"tell", "ambia", "ambia", "ambie", "ambiwa", "ambiana", "ambii", "told"},
-    {"help", "saidia", "saidia", "saidie", "saidiwa", "saidiana", "saidii", "helped"},
-    {"miss", "kosa", "kosea", "kosee", "kosewa", "koseana", "kosei", "missed"},
-    {"wait", "ngoja", "ngojea", "ngojee", "ngojiwa", "ngojiana", "ngojii", "waited"},
-    {"text", "andika", "andikia", "andikie", "andikiwa", "andikiana", "andikii", "texted"},
-    {"get", "pata", "patia", "patie", "patiwa", "patiana", "patii", "got"},
-    {"send", "tuma", "tumia", "tumie", "tumiwa", "tumiana", "tumii", "sent"},
-    {"remove", "ondoa", "ondolea", "ondolee", "ondolewa", "ondoleana", "ondolei", "removed"},
-    {"delete", "ondoa", "ondolea", "ondolee", "ondolewa", "ondoleana", "ondolei", "deleted"},
-    {"drive", "endesha", "endeshea", "endeshee", "endeshewa", "endesheana", "endeshii", "drove"},
-    {"bring", "leta", "letea", "letee", "letewa", "leteana", "letii", "brought"},
-    {"forget", "sahau", "sahaulia", "sahaulie", "sahauliwa", "sahauliana", "sahaulii", "forgot"},
-    {"type", "andika", "andikia", "andikie", "andikiwa", "andikiana", "andikii", "typed"},
-    {"look", "angalia", "angalilia", "angalilie", "angaliliwa", "angaliana", "angalii", "looked"},
-    {"look", "angalia", "angalilia", "angalilie", "angaliliwa", "angaliana", "angalii", "looked"},
-    {"run", "kimbia", "kimbilia", "kimbilie", "kimbiliwa", "kimbiliana", "kimbilii", "ran"},
-    {"work", "fanya", "fanyia", "fanyie", "fanyiwa", "fanyiana", "fanyii", "worked"}};
+    /**
+     * Graphemic analysis over the lexicons of the given registry, resolving
+     * English-Swahili mixing through the given table
+     *
+     * @param models
+     * @param mixing
+     */
+    public Graphemic(ModelRegistry models, CodeMixing mixing) {
+        swa_verbs = models.getSwahiliVerbs();
+        this.models = models;
+        this.mixing = mixing;
+    }
 
     /**
      * Check if word is contained in lexicon (English & Swahili)
@@ -77,16 +64,7 @@ public class Graphemic {
      */
     public boolean isDictionaryWord(String word) {
         word = word.toLowerCase();
-        //Swahili
-        all_words.addAll(swa_words);
-        all_words.addAll(swa_adjectives);
-        all_words.addAll(swa_verbs);
-
-        //English
-        all_words.addAll(eng_words);
-        all_words.addAll(eng_morphemes);
-
-        return all_words.contains(word);
+        return models.getDictionary().contains(word);
     }
 
     /**
@@ -97,242 +75,11 @@ public class Graphemic {
      * @return If the word is a valid Swahili word, then return true
      */
     public boolean isValidSwahili(String candidate) {
-        candidate = candidate.toLowerCase();
-        StringBuilder sb;
-
-        //Swahili Vitenzi (First perform morphological analyses then perform whole word matching)
-        for (String ss : swa_verbs) {
-            Matcher swa_morph_m = Pattern.compile(swa_morph).matcher(candidate);
-            Matcher nt_swa_morph_m = Pattern.compile(nt_swa_morph).matcher(candidate);
-
-            //1.    Morphological analysis
-            if (swa_morph_m.matches()) {
-                if (swa_morph_m.group(4).equals(ss)) {
-                    return true;
-                } else if ((swa_morph_m.group(4).endsWith("ia")) && (ss.endsWith("a"))) {
-                    sb = new StringBuilder(ss);
-                    sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "ia"); //e.g. fanyia,angukia
-                    if (swa_morph_m.group(4).equalsIgnoreCase(sb.toString())) {
-                        return true;
-                    }
-                } else if ((swa_morph_m.group(4).endsWith("iwa")) && (ss.endsWith("a"))) {
-                    sb = new StringBuilder(ss);
-                    sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "iwa"); //e.g. fanyiwa,angukiwa
-                    if (swa_morph_m.group(4).equalsIgnoreCase(sb.toString())) {
-                        return true;
-                    }
-                } else if ((swa_morph_m.group(4).endsWith("isha")) && (ss.endsWith("a"))) {
-                    sb = new StringBuilder(ss);
-                    sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "isha"); //e.g. fanyisha
-                    if (swa_morph_m.group(4).equalsIgnoreCase(sb.toString())) {
-                        return true;
-                    }
-                } else if ((swa_morph_m.group(4).endsWith("iza")) && (ss.endsWith("a"))) {
-                    sb = new StringBuilder(ss);
-                    sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "iza"); //e.g. fanyiza
-                    if (swa_morph_m.group(4).equalsIgnoreCase(sb.toString())) {
-                        return true;
-                    }
-                }
-            } else if (nt_swa_morph_m.matches()) { //Vikanushi
-                if (nt_swa_morph_m.group(5).equals(ss)) {
-                    return true;
-                } else if ((nt_swa_morph_m.group(5).endsWith("ia")) && (ss.endsWith("a"))) {
-                    sb = new StringBuilder(ss);
-                    sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "ia"); //e.g. fanyia,angukia
-                    if (nt_swa_morph_m.group(5).equalsIgnoreCase(sb.toString())) {
-                        return true;
-                    }
-                } else if ((nt_swa_morph_m.group(5).endsWith("iwa")) && (ss.endsWith("a"))) {
-                    sb = new StringBuilder(ss);
-                    sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "iwa"); //e.g. fanyiwa,angukiwa
-                    if (nt_swa_morph_m.group(5).equalsIgnoreCase(sb.toString())) {
-                        return true;
-                    }
-                }
-            } //2.  Whole word matching
-            //Ending with -a e.g. fanya,soma,laza
-            else if ((candidate.endsWith("ia")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "ia"); //e.g. fanyia,angukia
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("e")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "e"); //e.g. fanye
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("iwa")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "iwa"); //e.g. fanyiwa
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("ana")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "ana"); //e.g. fanyana
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("anga")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "anga"); //e.g. fanyanga
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("ua")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "ua"); //e.g. fanyua
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("ika")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "ika"); //e.g. fanyika
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("esha")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "esha"); //e.g. somesha
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("isha")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "isha"); //e.g. fanyisha
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("iza")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "iza"); //e.g. fanyiza
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("zwa")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "zwa"); //e.g. lazwa
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("ea")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "ea"); //e.g. somea
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("eshwa")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "eshwa"); //e.g. someshwa
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("ishwa")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "ishwa"); //e.g. fanyishwa
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("eni")) && (ss.endsWith("a"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("a"), sb.lastIndexOf("a") + 1, "eni"); //e.g. fanyeni
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            }
-            //Ending with -i e.g. rudi,zirai
-            if ((candidate.endsWith("ia")) && (ss.endsWith("i"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("i"), sb.lastIndexOf("i") + 1, "ia"); //e.g. rudia
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("iwa")) && (ss.endsWith("i"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("i"), sb.lastIndexOf("i") + 1, "iwa"); //e.g. rudiwa
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("ana")) && (ss.endsWith("i"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("i"), sb.lastIndexOf("i") + 1, "iana"); //e.g. rudiana
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("anga")) && (ss.endsWith("i"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("i"), sb.lastIndexOf("i") + 1, "ianga"); //e.g. rudianga
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("ishwa")) && (ss.endsWith("i"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("i"), sb.lastIndexOf("i") + 1, "ishwa"); //e.g. rudishwa
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("eni")) && (ss.endsWith("i"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("i"), sb.lastIndexOf("i") + 1, "ieni"); //e.g. rudieni
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("ika")) && (ss.endsWith("i"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("i"), sb.lastIndexOf("i") + 1, "ika"); //e.g. rudika
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            } else if ((candidate.endsWith("isha")) && (ss.endsWith("i"))) {
-                sb = new StringBuilder(ss);
-                sb.replace(sb.lastIndexOf("i"), sb.lastIndexOf("i") + 1, "isha"); //e.g. rudisha
-                if (candidate.equalsIgnoreCase(sb.toString())) {
-                    return true;
-                }
-            }
+        WordAutomaton inflections = models.getSwahiliInflections();
+        if (inflections != null) {
+            return inflections.accepts(candidate.toLowerCase()); //One walk over the precompiled words
         }
-        //Swahili Vielezi
-        for (String ss : swa_adjectives) {
-            if (candidate.contains(ss)) {
-                if ((candidate.equalsIgnoreCase("m".concat(ss))) && (!ss.startsWith("e"))) {          //ngeli M-WA
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("wa".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli M-WA
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("ki".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli KI-VI
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("vi".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli KI-VI
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("mi".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli M-MI
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("ma".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli JI-MA
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("pa".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli PA-PA
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("ku".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli KU-KU
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("ku".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli KU-KU
-                    return true;
-                } else if ((candidate.equalsIgnoreCase("z".concat(ss))) && (!ss.startsWith("e"))) {  //ngeli I-ZI
-                    return true;
-                } else if ((ss.startsWith("e")) && (candidate.equalsIgnoreCase("mw".concat(ss)))) {  //ngeli M-WA
-                    return true;
-                } else if ((ss.startsWith("e")) && (candidate.equalsIgnoreCase("w".concat(ss)))) {   //ngeli M-WA
-                    return true;
-                } else if ((ss.startsWith("e")) && (candidate.equalsIgnoreCase("ch".concat(ss)))) {   //ngeli KI-VI
-                    return true;
-                } else if ((ss.startsWith("e")) && (candidate.equalsIgnoreCase("p".concat(ss)))) {    //ngeli PA-PA
-                    return true;
-                } else if ((ss.startsWith("e")) && (candidate.equalsIgnoreCase("kw".concat(ss)))) {   //ngeli KU-KU
-                    return true;
-                } else if ((ss.startsWith("e")) && (candidate.equalsIgnoreCase("ny".concat(ss)))) {   //ngeli I-ZI
-                    return true;
-                }
-            }
-        }
-        return false;
+        return models.getSwahiliMorphology().isValid(candidate.toLowerCase());
     }
 
     /**
@@ -345,78 +92,56 @@ public class Graphemic {
     public String processWordMixing(String word) {
         word = word.toLowerCase();
 
-        final String swa_eng_mix = "(ni|wa|ki|vi|i|zi|pa|mwa|mwe|a|u)(ki|li|l|me|na|ta)?(ni|ji|tu|m|wa|ki|vi|i|zi|po|ku|pa)?(\\w+)";
-        final String nt_swa_eng_mix = "(ha|si)(m|wa|tu|ki|vi|i|zi|ku|pa)?(ku|ja|ta|i)?(m|wa|ki|vi|i|zi|u|ku|tu)?(\\w+)"; //handles vikanushi
-
-        final String swa_eng_ifc_present = "(\\w+[^ing|in'|in])(ing|in'|in)"; //handles present progressive tense
-        final String swa_eng_ifc_past = "(\\w+[^d])(d)"; //handles simple past tense
-
-        Matcher swa_eng_mix_m = Pattern.compile(swa_eng_mix).matcher(word);
-        Matcher nt_swa_eng_mix_m = Pattern.compile(nt_swa_eng_mix).matcher(word);
-        Matcher swa_eng_ifc_m1 = Pattern.compile(swa_eng_ifc_present).matcher(word);
-        Matcher swa_eng_ifc_m2 = Pattern.compile(swa_eng_ifc_past).matcher(word);
+        Matcher swa_eng_mix_m = SWA_ENG_MIX.matcher(word);
+        Matcher nt_swa_eng_mix_m = NT_SWA_ENG_MIX.matcher(word);
+        Matcher swa_eng_ifc_m1 = SWA_ENG_IFC_PRESENT.matcher(word);
+        Matcher swa_eng_ifc_m2 = SWA_ENG_IFC_PAST.matcher(word);
 
         //Negation of English-Swahili mixing e.g. hazikuspoil, hawatatucookia
         if (nt_swa_eng_mix_m.matches()) {
-            for (String[] dictionary : dict) {
-                if (word.contains(dictionary[0])) {
-                    if (word.endsWith("ia")) {
-                        word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[2])); //-ia
-                        break;
-                    } else if (word.endsWith("ii")) {
-                        word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[6])); //-ii
-                        break;
-                    } else if (word.endsWith("iwa")) {
-                        word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[4])); //-iwa
-                        break;
-                    } else if (word.endsWith("ana")) {
-                        word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[5])); //-ana
-                        break;
-                    } else {
-                        word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[1])); //root
-                        break;
-                    }
+            String[] dictionary = mixing.findEnglish(word);
+            if (dictionary != null) {
+                if (word.endsWith("ia")) {
+                    word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[CodeMixing.IA])); //-ia
+                } else if (word.endsWith("ii")) {
+                    word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[CodeMixing.II])); //-ii
+                } else if (word.endsWith("iwa")) {
+                    word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[CodeMixing.IWA])); //-iwa
+                } else if (word.endsWith("ana")) {
+                    word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[CodeMixing.ANA])); //-ana
+                } else {
+                    word = (word.replace(nt_swa_eng_mix_m.group(5), dictionary[CodeMixing.ROOT])); //root
                 }
             }
         } //English-Swahili mixing e.g. zilispoil, wanatucookia
         else if (swa_eng_mix_m.matches()) {
-            for (String[] dictionary : dict) {
-                if (word.contains(dictionary[0])) {
-                    if (word.endsWith("ia")) {
-                        word = (word.replace(swa_eng_mix_m.group(4), dictionary[2])); //-ia
-                        break;
-                    } else if (word.endsWith("ie")) {
-                        word = (word.replace(swa_eng_mix_m.group(4), dictionary[3])); //-ie
-                        break;
-                    } else if (word.endsWith("iwa")) {
-                        word = (word.replace(swa_eng_mix_m.group(4), dictionary[4])); //-iwa
-                        break;
-                    } else if (word.endsWith("ana")) {
-                        word = (word.replace(swa_eng_mix_m.group(4), dictionary[5])); //-ana
-                        break;
-                    } else {
-                        word = (word.replace(swa_eng_mix_m.group(4), dictionary[1])); //root
-                        break;
-                    }
+            String[] dictionary = mixing.findEnglish(word);
+            if (dictionary != null) {
+                if (word.endsWith("ia")) {
+                    word = (word.replace(swa_eng_mix_m.group(4), dictionary[CodeMixing.IA])); //-ia
+                } else if (word.endsWith("ie")) {
+                    word = (word.replace(swa_eng_mix_m.group(4), dictionary[CodeMixing.IE])); //-ie
+                } else if (word.endsWith("iwa")) {
+                    word = (word.replace(swa_eng_mix_m.group(4), dictionary[CodeMixing.IWA])); //-iwa
+                } else if (word.endsWith("ana")) {
+                    word = (word.replace(swa_eng_mix_m.group(4), dictionary[CodeMixing.ANA])); //-ana
+                } else {
+                    word = (word.replace(swa_eng_mix_m.group(4), dictionary[CodeMixing.ROOT])); //root
                 }
             }
         }
 
         //Inflections & Derivations from both Languages e.g. somaing
         if (swa_eng_ifc_m1.matches()) {
-            for (String[] dictionary : dict) {
-                if (swa_eng_ifc_m1.group(1).equals(dictionary[1])) {
-                    word = dictionary[0].concat("ing"); //present continuous tense
-                    break;
-                }
+            String[] dictionary = mixing.findSwahili(swa_eng_ifc_m1.group(1));
+            if (dictionary != null) {
+                word = dictionary[CodeMixing.ENGLISH].concat("ing"); //present continuous tense
             }
         }
         if (swa_eng_ifc_m2.matches()) {
-            for (String[] dictionary : dict) {
-                if (swa_eng_ifc_m2.group(1).equals(dictionary[1])) {
-                    word = dictionary[7]; //simple past tense
-                    break;
-                }
+            String[] dictionary = mixing.findSwahili(swa_eng_ifc_m2.group(1));
+            if (dictionary != null) {
+                word = dictionary[CodeMixing.PAST]; //simple past tense
             }
         }
 
@@ -432,34 +157,38 @@ public class Graphemic {
     public String processSwahiliTypos(String word) {
         word = word.toLowerCase();
 
-        Matcher swa_morph_m = Pattern.compile(swa_morph).matcher(word);
-        Matcher nt_swa_morph_m = Pattern.compile(nt_swa_morph).matcher(word);
-
-        String return_word = word;
+        Matcher swa_morph_m = SwahiliMorphology.SWA_MORPH.matcher(word);
+        Matcher nt_swa_morph_m = SwahiliMorphology.NT_SWA_MORPH.matcher(word);
 
         //Spell-correct the invalid swahili word
         if (swa_morph_m.matches()) {
-            for (String ss : swa_verbs) {
-                if (swa_morph_m.group(4).equals(ss)) {
-                    return return_word;
-                } else {
-                    int lcs_length = StringCompare.getLengthLCS(swa_morph_m.group(4), ss);
-                    if (lcs_length == swa_morph_m.group(4).length() && ss.charAt(0) == swa_morph_m.group(4).charAt(0) && StringCompare.getLevenshtienDistance(swa_morph_m.group(4), ss) <= 2) {
-                        word = word.replace(swa_morph_m.group(4), ss);
-                        break;
-                    }
-                }
-            }
+            word = correctSwahiliVerb(word, swa_morph_m.group(4));
         } else if (nt_swa_morph_m.matches()) {
-            for (String ss : swa_verbs) {
-                if (nt_swa_morph_m.group(5).equals(ss)) {
-                    return return_word;
-                } else {
-                    int lcs_length = StringCompare.getLengthLCS(nt_swa_morph_m.group(5), ss);
-                    if (lcs_length == nt_swa_morph_m.group(5).length() && ss.charAt(0) == nt_swa_morph_m.group(5).charAt(0) && StringCompare.getLevenshtienDistance(nt_swa_morph_m.group(5), ss) <= 2) {
-                        word = word.replace(nt_swa_morph_m.group(5), ss);
-                        break;
-                    }
+            word = correctSwahiliVerb(word, nt_swa_morph_m.group(5));
+        }
+        return word;
+    }
+
+    /**
+     * Replaces a misspelt verb stem with the first verb in the lexicon that
+     * starts with the same letter and holds the stem as a subsequence, at an
+     * edit distance of at most 2
+     *
+     * @param word
+     * @param stem
+     * @return Word with its stem corrected, or the word itself if the stem is
+     * a verb or no verb matches
+     */
+    private String correctSwahiliVerb(String word, String stem) {
+        BitSet verbs = models.getLexiconIndex().swa_verb_tree.getNeighbours(stem, 2); //verbs within an edit distance of 2, in lexicon order
+        for (int counter = verbs.nextSetBit(0); counter >= 0; counter = verbs.nextSetBit(counter + 1)) {
+            String ss = swa_verbs.get(counter);
+            if (stem.equals(ss)) {
+                return word;
+            } else {
+                int lcs_length = StringCompare.getLengthLCS(stem, ss);
+                if (lcs_length == stem.length() && ss.charAt(0) == stem.charAt(0)) {
+                    return word.replace(stem, ss);
                 }
             }
         }
@@ -475,15 +204,11 @@ public class Graphemic {
      * @return Probability that two English strings are a match
      */
     public static double getProbabilityEnglishMatches(String originalString, String anotherString) {
+        //LCS between two words & edit distance between their consonant writings, in one pass
+        MatchProfile profile = StringCompare.getConsonantMatchProfile(originalString, anotherString);
 
-        double numerator = (double) StringCompare.getLengthLCS(originalString, anotherString); //LCS between two words
-
-        int new_word_length = anotherString.length(); //Characters in a candidate correction
-        int org_word_length = originalString.length(); //Characters in original word
-
-        double denominator = (double) Math.max(new_word_length, org_word_length); //Find the longer of the strings
-        double lcsratio = numerator / denominator;
-        double levenshtien_metric = StringCompare.getLevenshtienDistance(getConsonantWriting(originalString), getConsonantWriting(anotherString));
+        double lcsratio = profile.getLCSRatio(); //LCS over the longer of the strings
+        double levenshtien_metric = profile.getLevenshtienDistance();
         if (levenshtien_metric == 0.0) {
             levenshtien_metric = lcsratio;
         }
@@ -500,14 +225,11 @@ public class Graphemic {
      * @return Probability that two English strings are a match
      */
     public static double getProbabilitySwahiliMatches(String originalString, String anotherString) {
-        double numerator = (double) StringCompare.getLengthLCS(originalString, anotherString); //LCS between invalid & valid words
-
-        int new_word_length = anotherString.length(); //Characters in a candidate correction
-        int org_word_length = originalString.length(); //Characters in original word
+        //LCS & edit distance between invalid & valid words, in one pass
+        MatchProfile profile = StringCompare.getMatchProfile(originalString, anotherString);
 
-        double denominator = (double) Math.max(new_word_length, org_word_length); //Find the longest of the strings
-        double lcsratio = numerator / denominator;
-        double levenshtien_metric = StringCompare.getLevenshtienDistance(originalString, anotherString);
+        double lcsratio = profile.getLCSRatio(); //LCS over the longest of the strings
+        double levenshtien_metric = profile.getLevenshtienDistance();
         if (levenshtien_metric == 0.0) {
             levenshtien_metric = lcsratio;
         }
@@ -524,23 +246,11 @@ public class Graphemic {
     public static String getConsonantWriting(String word) {
 
         word = word.toLowerCase();
-        StringBuilder sb = new StringBuilder(word);
-        for (int a = 0; a < sb.length(); a++) {
-            if (sb.charAt(a) == 'a') {
-                sb.deleteCharAt(a);
-                a--;
-            } else if (sb.charAt(a) == 'e') {
-                sb.deleteCharAt(a);
-                a--;
-            } else if (sb.charAt(a) == 'i') {
-                sb.deleteCharAt(a);
-                a--;
-            } else if (sb.charAt(a) == 'o') {
-                sb.deleteCharAt(a);
-                a--;
-            } else if (sb.charAt(a) == 'u') {
-                sb.deleteCharAt(a);
-                a--;
+        StringBuilder sb = new StringBuilder(word.length());
+        for (int a = 0; a < word.length(); a++) {
+            char ch = word.charAt(a);
+            if (ch != 'a' && ch != 'e' && ch != 'i' && ch != 'o' && ch != 'u') {
+                sb.append(ch); //keep consonants, drop vowels
             }
         }
         return sb.toString(); //Return consonant-word
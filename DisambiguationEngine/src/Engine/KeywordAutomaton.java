@@ -0,0 +1,123 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over a list of ASCII keywords. The failure links are
+ * folded into the transitions, so scanning a word is one table lookup per
+ * character, and each state lists every keyword ending there, those of its
+ * failure states included. Keywords are numbered by their position in the
+ * list; a keyword listed twice ends in the same state under both numbers.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class KeywordAutomaton {
+
+    static final int ALPHABET = 128; //Characters with transitions
+    static final int START = 0; //state before the first character
+
+    private final int[][] transitions; //state x character -> state
+    private final int[][] outputs; //keywords ending in each state, the state's own first
+
+    /**
+     * @param keywords
+     * @throws IllegalArgumentException if a keyword has a character outside
+     * the alphabet
+     */
+    KeywordAutomaton(List<String> keywords) {
+        //Trie of the keywords
+        List<int[]> states = new ArrayList<>();
+        List<List<Integer>> state_outputs = new ArrayList<>();
+        states.add(newState());
+        state_outputs.add(new ArrayList<Integer>());
+        for (int id = 0; id < keywords.size(); id++) {
+            int state = START;
+            for (char ch : keywords.get(id).toCharArray()) {
+                if (ch >= ALPHABET) {
+                    throw new IllegalArgumentException("Unsupported character in " + keywords.get(id));
+                }
+                if (states.get(state)[ch] < 0) {
+                    states.get(state)[ch] = states.size();
+                    states.add(newState());
+                    state_outputs.add(new ArrayList<Integer>());
+                }
+                state = states.get(state)[ch];
+            }
+            state_outputs.get(state).add(id);
+        }
+
+        //Failure links, breadth first, folded into the transitions
+        int[] failure = new int[states.size()];
+        int[] queue = new int[states.size()];
+        int head = 0;
+        int tail = 0;
+        for (int ch = 0; ch < ALPHABET; ch++) {
+            int child = states.get(START)[ch];
+            if (child < 0) {
+                states.get(START)[ch] = START;
+            } else {
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            state_outputs.get(state).addAll(state_outputs.get(failure[state]));
+            for (int ch = 0; ch < ALPHABET; ch++) {
+                int child = states.get(state)[ch];
+                if (child < 0) {
+                    states.get(state)[ch] = states.get(failure[state])[ch];
+                } else {
+                    failure[child] = states.get(failure[state])[ch];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        transitions = states.toArray(new int[states.size()][]);
+        outputs = new int[states.size()][];
+        for (int counter = 0; counter < outputs.length; counter++) {
+            outputs[counter] = toArray(state_outputs.get(counter));
+        }
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int counter = 0; counter < array.length; counter++) {
+            array[counter] = list.get(counter);
+        }
+        return array;
+    }
+
+    /**
+     * @param state
+     * @param ch next character of the word
+     * @return State after the character, the start state for characters
+     * outside the alphabet
+     */
+    int next(int state, char ch) {
+        return ch < ALPHABET ? transitions[state][ch] : START;
+    }
+
+    /**
+     * @param state
+     * @return Keywords ending in the state, not to be modified
+     */
+    int[] getKeywords(int state) {
+        return outputs[state];
+    }
+
+    /**
+     * @return Number of states
+     */
+    int size() {
+        return transitions.length;
+    }
+}
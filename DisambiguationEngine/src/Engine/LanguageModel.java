@@ -1,8 +1,6 @@
 package Engine;
 
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.Map;
 
 /**
  *
@@ -18,15 +16,38 @@ public class LanguageModel {
     double numerator;
     double denominator;
 
-    private final Reader r = new Reader();
+    final private NGramIndex ngram_freq; //Word unigrams, bigrams & trigrams with their respective frequencies
 
-    final private Map<String, Integer> unigram_freq = r.getUnigram(); //Word unigrams with their respective frequencies
-    final private Map<String, Integer> bigram_freq = r.getBigram(); //Word bigrams with their respective frequencies
-    final private Map<String, Integer> trigram_freq = r.getTrigram(); //Word trigrams with their respective frequencies
+    final int unigram_freq_size; //size of unigram counts
 
-    final int unigram_freq_size = unigram_freq.size(); //size of unigram counts
+    private final Candidates cnds;
 
-    private final Candidates cnds = new Candidates();
+    /**
+     * Language model over the shared default n-gram tables
+     */
+    public LanguageModel() {
+        this(ModelRegistry.getInstance());
+    }
+
+    /**
+     * Language model over the n-gram tables of the given registry
+     *
+     * @param models
+     */
+    public LanguageModel(ModelRegistry models) {
+        ngram_freq = models.getNGramIndex();
+        unigram_freq_size = ngram_freq.getUnigramSize();
+        cnds = new Candidates(models);
+    }
+
+    //Word ids of the candidates, -1 for words in none of the n-grams
+    private int[] getIds(CandidateSet candidates) {
+        int[] ids = new int[candidates.size()];
+        for (int counter = 0; counter < ids.length; counter++) {
+            ids[counter] = ngram_freq.getId(candidates.get(counter));
+        }
+        return ids;
+    }
 
     /*
      * UNIGRAM LANGUAGE MODEL
@@ -46,32 +67,51 @@ public class LanguageModel {
      */
     /**
      * Determine the likelihood of candidate words, calculated on the basis of
-     * the input word's frequency in the corpus. [0] - Candidate word. [1] -
-     * Frequency of the candidate word. [2] - Priori probability of the
-     * candidate word, to 5 decimal places
+     * the input word's frequency in the corpus, in alphabetic order
      *
      * @param invalidWord
-     * @return Priori probability from the unigram language model
+     * @return Candidates with their priori probability from the unigram
+     * language model
      */
-    public String[][] unigramLanguageModel(String invalidWord) {
-        invalidWord = invalidWord.toLowerCase();
+    public Candidate[] getUnigramCandidates(String invalidWord) {
+        return getUnigramCandidates(cnds.getCandidateSet(invalidWord)); //Candidate corrections for invalid word input
+    }
 
-        String[] candidates = cnds.getCandidateCorrections(invalidWord); //Candidate corrections for invalid word input
-        int[] priori_freq = new int[candidates.length]; //n-gram frequencies of respective candidate corrections
-        double[] priori_prob = new double[candidates.length]; //priori probabilities of respective candidate corrections
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of their frequency in the corpus,
+     * in alphabetic order
+     *
+     * @param candidates
+     * @return Candidates with their priori probability from the unigram
+     * language model
+     */
+    public Candidate[] getUnigramCandidates(CandidateSet candidates) {
+        Candidate[] priori = scoreUnigram(candidates);
 
-        String priori[][] = new String[candidates.length][3]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
+        //Sort candidates array in alphabetic order
+        Arrays.sort(priori, Candidate.BY_WORD);
+        return priori;
+    }
 
-        for (int counter = 0; counter < candidates.length; counter++) {
-            int gram_count; //Unigram frequency of the candidate
-            int zero_freq_words = candidates.length;
-            if (unigram_freq.get(candidates[counter]) == null) {
-                gram_count = 0; //Zero occurences of the candidate word(s) from the lexicon
-            } else {
-                gram_count = unigram_freq.get(candidates[counter]); //Unigram frequency of the candidate word
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of their frequency in the corpus,
+     * in the order they were generated
+     *
+     * @param candidates
+     * @return Candidates with their priori probability from the unigram
+     * language model
+     */
+    Candidate[] scoreUnigram(CandidateSet candidates) {
+        Candidate[] priori = new Candidate[candidates.size()];
+
+        for (int counter = 0; counter < candidates.size(); counter++) {
+            int zero_freq_words = candidates.size();
+            int gram_count = ngram_freq.getUnigramCount(ngram_freq.getId(candidates.get(counter))); //Unigram frequency of the candidate, zero occurences if not in the corpus
+            if (gram_count != 0) {
                 zero_freq_words -= 1; //For every non-zero frequency word, decrement the zero_frequecy_word variable.
             }
-            priori_freq[counter] = (gram_count); //n-gram frequency of the candidate word
 
             if (gram_count == 0) {
                 numerator = gram_count + 0.5;
@@ -81,27 +121,47 @@ public class LanguageModel {
                 denominator = unigram_freq_size + (zero_freq_words);
             }
 
-            priori_prob[counter] = numerator / denominator;  //priori prob. of the candidate word
-
-            priori[counter][0] = candidates[counter]; //candidate word
-            priori[counter][1] = String.valueOf(priori_freq[counter]); //n-gram frequency of the candidate word
-            priori[counter][2] = String.valueOf(String.format("%.5f", priori_prob[counter])); //priori prob. of the candidate word, to 5 decimal places
+            priori[counter] = new Candidate(candidates.get(counter), null, null, gram_count, candidates.isSwahili(counter), numerator / denominator); //priori prob. of the candidate word
         }
 
-        //Sort candidates array in alphabetic order
-        Arrays.sort(priori, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] candidates, final String[] candidatez) {
-                String candidate1 = candidates[0];
-                String candidate2 = candidatez[0];
-                return candidate1.compareTo(candidate2);
-            }
+        return priori;
+    }
 
-        });
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the input word's frequency in the corpus, limited to a maximum number of
+     * candidate corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param candidateGroupSize
+     * @return Candidates with their priori probability from the unigram
+     * language model, the most likely first if limited
+     */
+    public Candidate[] getUnigramCandidates(String invalidWord, int candidateGroupSize) {
+        Candidate[] priori = scoreUnigram(cnds.getCandidateSet(invalidWord));
 
+        //Retrieve the top-N elements with the highest probabilities
+        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
+        if ((candidateGroupSize > 0) && (candidateGroupSize < priori.length)) {
+            return Candidate.getTop(priori, candidateGroupSize, Candidate.BY_PRIORI);
+        }
+        Arrays.sort(priori, Candidate.BY_WORD);
         return priori;
     }
 
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of
+     * the input word's frequency in the corpus. [0] - Candidate word. [1] -
+     * Frequency of the candidate word. [2] - Priori probability of the
+     * candidate word, to 5 decimal places
+     *
+     * @param invalidWord
+     * @return Priori probability from the unigram language model
+     */
+    public String[][] unigramLanguageModel(String invalidWord) {
+        return toUnigramRows(getUnigramCandidates(invalidWord));
+    }
+
     /**
      * Determine the likelihood of candidate words, calculated on the basis of
      * the input word's frequency in the corpus, limited to a maximum number of
@@ -114,79 +174,17 @@ public class LanguageModel {
      * @return Priori probability from the unigram language model
      */
     public String[][] unigramLanguageModel(String invalidWord, int candidateGroupSize) {
-        invalidWord = invalidWord.toLowerCase();
-
-        String[] candidates = cnds.getCandidateCorrections(invalidWord); //Candidate corrections for invalid word input
-        int[] priori_freq = new int[candidates.length]; //n-gram frequencies of respective candidate corrections
-        double[] priori_prob = new double[candidates.length]; //priori probabilities of respective candidate corrections
+        return toUnigramRows(getUnigramCandidates(invalidWord, candidateGroupSize));
+    }
 
+    private static String[][] toUnigramRows(Candidate[] candidates) {
         String priori[][] = new String[candidates.length][3]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-
         for (int counter = 0; counter < candidates.length; counter++) {
-            int gram_count; //Unigram frequency of the candidate
-            int zero_freq_words = candidates.length;
-            if (unigram_freq.get(candidates[counter]) == null) {
-                gram_count = 0; //Zero occurences of the candidate word(s) from the lexicon
-            } else {
-                gram_count = unigram_freq.get(candidates[counter]); //Unigram frequency of the candidate word
-                zero_freq_words -= 1; //For every non-zero frequency word, decrement the zero_frequecy_word variable.
-            }
-            priori_freq[counter] = (gram_count); //n-gram frequency of the candidate word
-
-            if (gram_count == 0) {
-                numerator = gram_count + 0.5;
-                denominator = unigram_freq_size + (zero_freq_words * 0.5);
-            } else {
-                numerator = 1;
-                denominator = unigram_freq_size + (zero_freq_words);
-            }
-
-            priori_prob[counter] = numerator / denominator;  //priori prob. of the candidate word
-
-            priori[counter][0] = candidates[counter]; //candidate word
-            priori[counter][1] = String.valueOf(priori_freq[counter]); //n-gram frequency of the candidate word
-            priori[counter][2] = String.valueOf(String.format("%.5f", priori_prob[counter])); //priori prob. of the candidate word, to 5 decimal places
-        }//end for
-
-        //Sort candidates array in alphabetic order
-        Arrays.sort(priori, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] candidates, final String[] candidatez) {
-                String candidate1 = candidates[0];
-                String candidate2 = candidatez[0];
-                return candidate1.compareTo(candidate2);
-            }
-
-        });
-
-        //Retrieve the top-N elements with the highest probabilities
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
-        if ((candidateGroupSize > 0) && (candidateGroupSize < candidates.length)) {
-
-            String[][] top_priori = new String[candidateGroupSize][3]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-
-            //Sort Priori array based on probabilities of candidates
-            Arrays.sort(priori, new Comparator<String[]>() {
-                @Override
-                public int compare(final String[] probabilities, final String[] probabilitiez) {
-                    String probability1 = probabilities[2];
-                    String probability2 = probabilitiez[2];
-                    return probability2.compareTo(probability1);
-                }
-
-            });
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-                top_priori[counter][0] = priori[counter][0]; //candidate word
-                top_priori[counter][1] = priori[counter][1]; //n-gram frequency of the candidate word
-                top_priori[counter][2] = priori[counter][2]; //priori prob. of the candidate word, to 5 decimal places
-            }
-
-            return top_priori;
-        } else {
-            return priori;
+            priori[counter][0] = candidates[counter].getWord(); //candidate word
+            priori[counter][1] = String.valueOf(candidates[counter].getFrequency()); //n-gram frequency of the candidate word
+            priori[counter][2] = Candidate.format(candidates[counter].getPrioriProbability()); //priori prob. of the candidate word, to 5 decimal places
         }
+        return priori;
     }
 
     /*
@@ -206,47 +204,70 @@ public class LanguageModel {
     /**
      * Determine the likelihood of candidate words, calculated on the basis of a
      * bigram (the preceding word to the input together with the input word
-     * itself) frequency in the corpus. [0] - Candidate word. [1] - Bigram
-     * comprising the previous word and current one. [2] - Frequency of the
-     * bigram. [3] - Priori probability of the candidate word, to 5 decimal
-     * places
+     * itself) frequency in the corpus, in alphabetic order
      *
      * @param invalidWord
      * @param precedingWord
-     * @return Priori probability from the bigram language model
+     * @return Candidates with their bigram and priori probability from the
+     * bigram language model
      */
-    public String[][] bigramLanguageModel(String invalidWord, String precedingWord) {
+    public Candidate[] getBigramCandidates(String invalidWord, String precedingWord) {
+        return getBigramCandidates(cnds.getCandidateSet(invalidWord), precedingWord); //Candidate corrections for invalid word input
+    }
+
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of a bigram (the preceding word to
+     * the input together with the candidate) frequency in the corpus, in
+     * alphabetic order
+     *
+     * @param candidates
+     * @param precedingWord
+     * @return Candidates with their bigram and priori probability from the
+     * bigram language model
+     */
+    public Candidate[] getBigramCandidates(CandidateSet candidates, String precedingWord) {
+        Candidate[] priori = scoreBigram(candidates, precedingWord);
+
+        //Sort candidates array in alphabetic order
+        Arrays.sort(priori, Candidate.BY_WORD);
+        return priori;
+    }
+
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of a bigram (the preceding word to
+     * the input together with the candidate) frequency in the corpus, in the
+     * order they were generated
+     *
+     * @param candidates
+     * @param precedingWord
+     * @return Candidates with their bigram and priori probability from the
+     * bigram language model
+     */
+    Candidate[] scoreBigram(CandidateSet candidates, String precedingWord) {
 
-        invalidWord = invalidWord.toLowerCase();
         precedingWord = precedingWord.toLowerCase();
 
-        String[] candidates = cnds.getCandidateCorrections(invalidWord); //Candidate corrections for invalid word input
-        String priori[][] = new String[candidates.length][4]; //Candidate word, Bigram ,Frequency of Occurrence, Likelihood probability of Occurence
+        Candidate[] priori = new Candidate[candidates.size()];
 
-        int[] priori_freq = new int[candidates.length]; //n-gram frequencies of respective bigrams
-        double[] priori_prob = new double[candidates.length]; //priori probabilities of respective bigrams
+        //Unigram counts
+        int preceding_id = ngram_freq.getId(precedingWord);
+        int unigram_count = ngram_freq.getUnigramCount(preceding_id);
 
-        for (int counter = 0; counter < candidates.length; counter++) {
+        //Bigram counts, searching the words following the preceding word for the candidates
+        int[] bigram_counts = new int[candidates.size()];
+        if (ngram_freq.getBigramSuccessorCount(preceding_id) > 0) {
+            ngram_freq.getBigramCounts(preceding_id, getIds(candidates), bigram_counts);
+        }
 
-            String bigram = precedingWord.concat(" ").concat(candidates[counter]); //Form bigram by appending preceding word to current one
+        for (int counter = 0; counter < candidates.size(); counter++) {
 
-            int bigram_count, unigram_count;
-            //Bigram counts
-            int zero_freq_bigrams = candidates.length;
-            if (bigram_freq.get(bigram) == null) {
-                bigram_count = 0;
-            } else {
-                bigram_count = bigram_freq.get(bigram);
+            int zero_freq_bigrams = candidates.size();
+            int bigram_count = bigram_counts[counter];
+            if (bigram_count != 0) {
                 zero_freq_bigrams -= 1; //For every non-zero frequency word, decrement the zero_frequecy_word variable.
             }
-            priori_freq[counter] = bigram_count; //n-gram frequency of the bigram
-
-            //Unigram counts
-            if (unigram_freq.get(precedingWord) == null) {
-                unigram_count = 0;
-            } else {
-                unigram_count = unigram_freq.get(precedingWord);
-            }
 
             if (bigram_count == 0) {
                 numerator = bigram_count + 0.5;
@@ -256,28 +277,51 @@ public class LanguageModel {
                 denominator = unigram_count + (zero_freq_bigrams);
             }
 
-            priori_prob[counter] = numerator / denominator; //priori prob. of the candidate word
-
-            priori[counter][0] = candidates[counter]; //candidate word
-            priori[counter][1] = bigram; //bigram comprising previous word and current one
-            priori[counter][2] = String.valueOf(priori_freq[counter]); //n-gram frequency of the bigram
-            priori[counter][3] = String.valueOf(String.format("%.5f", priori_prob[counter])); //priori prob. of the candidate word, to 5 decimal places
+            priori[counter] = new Candidate(candidates.get(counter), precedingWord, null, bigram_count, candidates.isSwahili(counter), numerator / denominator); //priori prob. of the candidate word
         }
 
-        //Sort candidates array in alphabetic order
-        Arrays.sort(priori, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] candidates, final String[] candidatez) {
-                String candidate1 = candidates[0];
-                String candidate2 = candidatez[0];
-                return candidate1.compareTo(candidate2);
-            }
+        return priori;
+    }
 
-        });
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of a
+     * bigram (the preceding word to the input together with the input word
+     * itself) frequency in the corpus, limited to a maximum number of candidate
+     * corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param candidateGroupSize
+     * @return Candidates with their bigram and priori probability from the
+     * bigram language model, the most likely first if limited
+     */
+    public Candidate[] getBigramCandidates(String invalidWord, String precedingWord, int candidateGroupSize) {
+        Candidate[] priori = scoreBigram(cnds.getCandidateSet(invalidWord), precedingWord);
 
+        //Retrieve the top-N elements with the highest probabilities
+        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
+        if ((candidateGroupSize > 0) && (candidateGroupSize < priori.length)) {
+            return Candidate.getTop(priori, candidateGroupSize, Candidate.BY_PRIORI);
+        }
+        Arrays.sort(priori, Candidate.BY_WORD);
         return priori;
+    }
 
-    }//end method
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of a
+     * bigram (the preceding word to the input together with the input word
+     * itself) frequency in the corpus. [0] - Candidate word. [1] - Bigram
+     * comprising the previous word and current one. [2] - Frequency of the
+     * bigram. [3] - Priori probability of the candidate word, to 5 decimal
+     * places
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @return Priori probability from the bigram language model
+     */
+    public String[][] bigramLanguageModel(String invalidWord, String precedingWord) {
+        return toBigramRows(getBigramCandidates(invalidWord, precedingWord));
+    }
 
     /**
      * Determine the likelihood of candidate words, calculated on the basis of a
@@ -294,92 +338,18 @@ public class LanguageModel {
      * @return Priori probability from the bigram language model
      */
     public String[][] bigramLanguageModel(String invalidWord, String precedingWord, int candidateGroupSize) {
+        return toBigramRows(getBigramCandidates(invalidWord, precedingWord, candidateGroupSize));
+    }
 
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-
-        String[] candidates = cnds.getCandidateCorrections(invalidWord); //Candidate corrections for invalid word input
+    private static String[][] toBigramRows(Candidate[] candidates) {
         String priori[][] = new String[candidates.length][4]; //Candidate word, Bigram ,Frequency of Occurrence, Likelihood probability of Occurence
-
-        int[] priori_freq = new int[candidates.length]; //n-gram frequencies of respective bigrams
-        double[] priori_prob = new double[candidates.length]; //priori probabilities of respective bigrams
-
         for (int counter = 0; counter < candidates.length; counter++) {
-
-            String bigram = precedingWord.concat(" ").concat(candidates[counter]); //Form bigram by appending preceding word to current one
-
-            int bigram_count, unigram_count;
-            //Bigram counts
-            int zero_freq_bigrams = candidates.length;
-            if (bigram_freq.get(bigram) == null) {
-                bigram_count = 0;
-            } else {
-                bigram_count = bigram_freq.get(bigram);
-                zero_freq_bigrams -= 1; //For every non-zero frequency word, decrement the zero_frequecy_word variable.
-            }
-            priori_freq[counter] = bigram_count; //n-gram frequency of the bigram
-
-            //Unigram counts
-            if (unigram_freq.get(precedingWord) == null) {
-                unigram_count = 0;
-            } else {
-                unigram_count = unigram_freq.get(precedingWord);
-            }
-
-            if (bigram_count == 0) {
-                numerator = bigram_count + 0.5;
-                denominator = unigram_count + (zero_freq_bigrams * 0.5);
-            } else {
-                numerator = 1;
-                denominator = unigram_count + (zero_freq_bigrams);
-            }
-
-            priori_prob[counter] = numerator / denominator; //priori prob. of the candidate word
-
-            priori[counter][0] = candidates[counter]; //candidate word
-            priori[counter][1] = bigram; //bigram comprising previous word and current one
-            priori[counter][2] = String.valueOf(priori_freq[counter]); //n-gram frequency of the bigram
-            priori[counter][3] = String.valueOf(String.format("%.5f", priori_prob[counter])); //priori prob. of the candidate word, to 5 decimal places
-        }
-
-        //Sort candidates array in alphabetic order
-        Arrays.sort(priori, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] candidates, final String[] candidatez) {
-                String candidate1 = candidates[0];
-                String candidate2 = candidatez[0];
-                return candidate1.compareTo(candidate2);
-            }
-        });
-
-        //Retrieve the top-N elements with the highest probabilities
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
-        if ((candidateGroupSize > 0) && (candidateGroupSize < candidates.length)) {
-
-            String[][] top_priori = new String[candidateGroupSize][4]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-
-            //Sort Priori array based on probabilities of candidates
-            Arrays.sort(priori, new Comparator<String[]>() {
-                @Override
-                public int compare(final String[] probabilities, final String[] probabilitiez) {
-                    String probability1 = probabilities[3];
-                    String probability2 = probabilitiez[3];
-                    return probability2.compareTo(probability1);
-                }
-
-            });
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-                top_priori[counter][0] = priori[counter][0]; //candidate word
-                top_priori[counter][1] = priori[counter][1]; //n-gram frequency of the bigram
-                top_priori[counter][2] = priori[counter][2]; //frequency occurrence of the bigram
-                top_priori[counter][3] = priori[counter][3]; //priori prob. of the candidate word, to 5 decimal places
-            }
-            return top_priori;
-        } else {
-            return priori;
+            priori[counter][0] = candidates[counter].getWord(); //candidate word
+            priori[counter][1] = candidates[counter].getNGram(); //bigram comprising previous word and current one
+            priori[counter][2] = String.valueOf(candidates[counter].getFrequency()); //n-gram frequency of the bigram
+            priori[counter][3] = Candidate.format(candidates[counter].getPrioriProbability()); //priori prob. of the candidate word, to 5 decimal places
         }
+        return priori;
     }
 
     /*
@@ -401,51 +371,77 @@ public class LanguageModel {
     /**
      * Determine the likelihood of candidate words, calculated on the basis of a
      * trigram (a preceding word, the preceding word to the input and the input
-     * word itself) frequency in the corpus. [0] - Candidate word. [1] - Trigram
-     * comprising a preceding word, the previous word to the input and the input
-     * itself. [2] - Bigram (the preceding word to the input together with the
-     * input word itself. [3] - Frequency of the trigram. [3] - Priori
-     * probability of the candidate word, to 5 decimal places
+     * word itself) frequency in the corpus, in alphabetic order
      *
      * @param invalidWord
      * @param precedingWord
      * @param precedingPrecedingWord
-     * @return Priori probability from the trigram language model
+     * @return Candidates with their trigram, preceding bigram and priori
+     * probability from the trigram language model
      */
-    public String[][] trigramLanguageModel(String invalidWord, String precedingWord, String precedingPrecedingWord) {
+    public Candidate[] getTrigramCandidates(String invalidWord, String precedingWord, String precedingPrecedingWord) {
+        return getTrigramCandidates(cnds.getCandidateSet(invalidWord), precedingWord, precedingPrecedingWord); //Candidate corrections for invalid word input
+    }
+
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of a trigram (a preceding word,
+     * the preceding word to the input and the candidate) frequency in the
+     * corpus, in alphabetic order
+     *
+     * @param candidates
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @return Candidates with their trigram, preceding bigram and priori
+     * probability from the trigram language model
+     */
+    public Candidate[] getTrigramCandidates(CandidateSet candidates, String precedingWord, String precedingPrecedingWord) {
+        Candidate[] priori = scoreTrigram(candidates, precedingWord, precedingPrecedingWord);
+
+        //Sort candidates array in alphabetic order
+        Arrays.sort(priori, Candidate.BY_WORD);
+        return priori;
+    }
+
+    /**
+     * Determine the likelihood of candidate words already generated for an
+     * invalid word, calculated on the basis of a trigram (a preceding word,
+     * the preceding word to the input and the candidate) frequency in the
+     * corpus, in the order they were generated
+     *
+     * @param candidates
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @return Candidates with their trigram, preceding bigram and priori
+     * probability from the trigram language model
+     */
+    Candidate[] scoreTrigram(CandidateSet candidates, String precedingWord, String precedingPrecedingWord) {
 
-        invalidWord = invalidWord.toLowerCase();
         precedingWord = precedingWord.toLowerCase();
         precedingPrecedingWord = precedingPrecedingWord.toLowerCase();
 
-        String[] candidates = cnds.getCandidateCorrections(invalidWord); //Candidate corrections for invalid word input
-        String priori[][] = new String[candidates.length][5]; //Candidate word, Trigram ,Bigram, Frequency of Occurrence, Likelihood probability of Occurence
+        Candidate[] priori = new Candidate[candidates.size()];
 
-        int[] priori_freq = new int[candidates.length]; //n-gram frequencies of respective trigrams
-        double[] priori_prob = new double[candidates.length]; //priori probabilities of respective trigrams
+        String bigram = precedingPrecedingWord.concat(" ").concat(precedingWord); //Form bigram by appending preceding-preceding word to preceding word
+        //Bigram counts
+        int preceding_preceding_id = ngram_freq.getId(precedingPrecedingWord);
+        int preceding_id = ngram_freq.getId(precedingWord);
+        int bigram_count = ngram_freq.getBigramCount(preceding_preceding_id, preceding_id);
+        int context = ngram_freq.getContext(preceding_preceding_id, preceding_id); //Trigrams starting with the bigram
 
-        for (int counter = 0; counter < candidates.length; counter++) {
+        //Trigram counts, searching the words following the bigram for the candidates
+        int[] trigram_counts = new int[candidates.size()];
+        if (ngram_freq.getTrigramSuccessorCount(context) > 0) {
+            ngram_freq.getTrigramCounts(context, getIds(candidates), trigram_counts);
+        }
 
-            String trigram = precedingPrecedingWord.concat(" ").concat(precedingWord).concat(" ").concat(candidates[counter]); //Form trigram by appending preceding-preceding word to preceding word to current one
-            String bigram = precedingPrecedingWord.concat(" ").concat(precedingWord); //Form bigram by appending preceding-preceding word to preceding word
+        for (int counter = 0; counter < candidates.size(); counter++) {
 
-            int trigram_count, bigram_count;
-            //Bigram counts
-            int zero_freq_trigrams = candidates.length;
-            if (trigram_freq.get(trigram) == null) {
-                trigram_count = 0;
-            } else {
-                trigram_count = trigram_freq.get(trigram);
+            int zero_freq_trigrams = candidates.size();
+            int trigram_count = trigram_counts[counter];
+            if (trigram_count != 0) {
                 zero_freq_trigrams -= 1; //For every non-zero frequency word, decrement the zero_frequecy_word variable.
             }
-            priori_freq[counter] = trigram_count; //n-gram frequency of the trigram
-
-            //Unigram counts
-            if (bigram_freq.get(bigram) == null) {
-                bigram_count = 0;
-            } else {
-                bigram_count = bigram_freq.get(bigram);
-            }
 
             if (trigram_count == 0) {
                 numerator = trigram_count + 0.5;
@@ -455,28 +451,54 @@ public class LanguageModel {
                 denominator = bigram_count + (zero_freq_trigrams);
             }
 
-            priori_prob[counter] = numerator / denominator; //priori prob. of the candidate word
-
-            priori[counter][0] = candidates[counter]; //candidate word
-            priori[counter][1] = trigram; //trigram comprising previous-previous word, previous word and current one
-            priori[counter][2] = bigram; //bigram comprising preceding-preceding word and preceding word
-            priori[counter][3] = String.valueOf(priori_freq[counter]); //n-gram frequency of the trigram
-            priori[counter][4] = String.valueOf(String.format("%.5f", priori_prob[counter])); //priori prob. of the candidate word, to 5 decimal places
-        }//end for
+            priori[counter] = new Candidate(candidates.get(counter), bigram, bigram, trigram_count, candidates.isSwahili(counter), numerator / denominator); //priori prob. of the candidate word
+        }
 
-        //Sort candidates array in alphabetic order
-        Arrays.sort(priori, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] candidates, final String[] candidatez) {
-                String candidate1 = candidates[0];
-                String candidate2 = candidatez[0];
-                return candidate1.compareTo(candidate2);
-            }
+        return priori;
+    }
 
-        });
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of a
+     * trigram (a preceding word, the preceding word to the input and the input
+     * word itself) frequency in the corpus, limited to a maximum number of
+     * candidate corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @param candidateGroupSize
+     * @return Candidates with their trigram, preceding bigram and priori
+     * probability from the trigram language model, the most likely first if
+     * limited
+     */
+    public Candidate[] getTrigramCandidates(String invalidWord, String precedingWord, String precedingPrecedingWord, int candidateGroupSize) {
+        Candidate[] priori = scoreTrigram(cnds.getCandidateSet(invalidWord), precedingWord, precedingPrecedingWord);
 
+        //Retrieve the top-N elements with the highest probabilities
+        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
+        if ((candidateGroupSize > 0) && (candidateGroupSize < priori.length)) {
+            return Candidate.getTop(priori, candidateGroupSize, Candidate.BY_PRIORI);
+        }
+        Arrays.sort(priori, Candidate.BY_WORD);
         return priori;
+    }
 
+    /**
+     * Determine the likelihood of candidate words, calculated on the basis of a
+     * trigram (a preceding word, the preceding word to the input and the input
+     * word itself) frequency in the corpus. [0] - Candidate word. [1] - Trigram
+     * comprising a preceding word, the previous word to the input and the input
+     * itself. [2] - Bigram (the preceding word to the input together with the
+     * input word itself. [3] - Frequency of the trigram. [4] - Priori
+     * probability of the candidate word, to 5 decimal places
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @return Priori probability from the trigram language model
+     */
+    public String[][] trigramLanguageModel(String invalidWord, String precedingWord, String precedingPrecedingWord) {
+        return toTrigramRows(getTrigramCandidates(invalidWord, precedingWord, precedingPrecedingWord));
     }
 
     /**
@@ -486,7 +508,7 @@ public class LanguageModel {
      * candidate corrections with the highest probabilities. [0] - Candidate
      * word. [1] - Trigram comprising a preceding word, the previous word to the
      * input and the input itself. [2] - Bigram (the preceding word to the input
-     * together with the input word itself. [3] - Frequency of the trigram. [3]
+     * together with the input word itself. [3] - Frequency of the trigram. [4]
      * - Priori probability of the candidate word, to 5 decimal places
      *
      * @param invalidWord
@@ -496,98 +518,19 @@ public class LanguageModel {
      * @return Priori probability from the trigram language model
      */
     public String[][] trigramLanguageModel(String invalidWord, String precedingWord, String precedingPrecedingWord, int candidateGroupSize) {
+        return toTrigramRows(getTrigramCandidates(invalidWord, precedingWord, precedingPrecedingWord, candidateGroupSize));
+    }
 
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-        precedingPrecedingWord = precedingPrecedingWord.toLowerCase();
-
-        String[] candidates = cnds.getCandidateCorrections(invalidWord); //Candidate corrections for invalid word input
-        String priori[][] = new String[candidates.length][5]; //Candidate word, Trigram, Bigram,Frequency of Occurrence, Likelihood probability of Occurence
-
-        int[] priori_freq = new int[candidates.length]; //n-gram frequencies of respective trigrams
-        double[] priori_prob = new double[candidates.length]; //priori probabilities of respective trigrams
-
+    private static String[][] toTrigramRows(Candidate[] candidates) {
+        String priori[][] = new String[candidates.length][5]; //Candidate word, Trigram ,Bigram, Frequency of Occurrence, Likelihood probability of Occurence
         for (int counter = 0; counter < candidates.length; counter++) {
-
-            String trigram = precedingPrecedingWord.concat(" ").concat(precedingWord).concat(" ").concat(candidates[counter]); //Form trigram by appending preceding-preceding word to preceding word to current one
-            String bigram = precedingPrecedingWord.concat(" ").concat(precedingWord); //Form bigram by appending preceding-preceding word to preceding word
-
-            int trigram_count, bigram_count;
-            //Bigram counts
-            int zero_freq_trigrams = candidates.length;
-            if (trigram_freq.get(trigram) == null) {
-                trigram_count = 0;
-            } else {
-                trigram_count = trigram_freq.get(trigram);
-                zero_freq_trigrams -= 1; //For every non-zero frequency word, decrement the zero_frequecy_word variable.
-            }
-            priori_freq[counter] = trigram_count; //n-gram frequency of the trigram
-
-            //Unigram counts
-            if (bigram_freq.get(bigram) == null) {
-                bigram_count = 0;
-            } else {
-                bigram_count = bigram_freq.get(bigram);
-            }
-
-            if (trigram_count == 0) {
-                numerator = trigram_count + 0.5;
-                denominator = bigram_count + (zero_freq_trigrams * 0.5);
-            } else {
-                numerator = 1;
-                denominator = bigram_count + (zero_freq_trigrams);
-            }
-
-            priori_prob[counter] = numerator / denominator; //priori prob. of the candidate word
-
-            priori[counter][0] = candidates[counter]; //candidate word
-            priori[counter][1] = trigram; //trigram comprising previous-previous word, previous word and current one
-            priori[counter][2] = bigram; //bigram comprising preceding-preceding word and preceding word
-            priori[counter][3] = String.valueOf(priori_freq[counter]); //n-gram frequency of the trigram
-            priori[counter][4] = String.valueOf(String.format("%.5f", priori_prob[counter])); //priori prob. of the candidate word, to 5 decimal places
+            priori[counter][0] = candidates[counter].getWord(); //candidate word
+            priori[counter][1] = candidates[counter].getNGram(); //trigram comprising previous-previous word, previous word and current one
+            priori[counter][2] = candidates[counter].getContext(); //bigram comprising preceding-preceding word and preceding word
+            priori[counter][3] = String.valueOf(candidates[counter].getFrequency()); //n-gram frequency of the trigram
+            priori[counter][4] = Candidate.format(candidates[counter].getPrioriProbability()); //priori prob. of the candidate word, to 5 decimal places
         }
-
-        //Sort candidates array in alphabetic order
-        Arrays.sort(priori, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] candidates, final String[] candidatez) {
-                String candidate1 = candidates[0];
-                String candidate2 = candidatez[0];
-                return candidate1.compareTo(candidate2);
-            }
-
-        });
-
-        //Retrieve the top-N elements with the highest probabilities
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
-        if ((candidateGroupSize > 0) && (candidateGroupSize < candidates.length)) {
-
-            String[][] top_priori = new String[candidateGroupSize][5]; //Candidate word, Frequency of Occurrence, Likelihood probability of Occurence
-
-            //Sort Priori array based on probabilities of candidates
-            Arrays.sort(priori, new Comparator<String[]>() {
-                @Override
-                public int compare(final String[] probabilities, final String[] probabilitiez) {
-                    String probability1 = probabilities[4];
-                    String probability2 = probabilitiez[4];
-                    return probability2.compareTo(probability1);
-                }
-
-            });
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-                top_priori[counter][0] = priori[counter][0]; //candidate word
-                top_priori[counter][1] = priori[counter][1]; //trigram
-                top_priori[counter][2] = priori[counter][2]; //bigram
-                top_priori[counter][3] = priori[counter][3]; //n-gram frequency of the trigram
-                top_priori[counter][4] = priori[counter][4]; //priori prob. of the candidate word, to 5 decimal places
-            }
-            return top_priori;
-        } else {
-            return priori;
-        }
-
+        return priori;
     }
 
 }
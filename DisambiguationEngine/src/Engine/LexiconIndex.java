@@ -0,0 +1,86 @@
+package Engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Phonemic and phonetic representations of the lexicon words, and the search
+ * structures over them, computed once per model registry or compiled into its
+ * model image. Each array is parallel to the lexicon it was built from, so
+ * entry i belongs to word i.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class LexiconIndex {
+
+    //Model image sections holding a compiled index
+    static final int[] SECTIONS = {ModelImage.ENGLISH_PHONEMES, ModelImage.ENGLISH_CODES, ModelImage.SWAHILI_PHONEMES,
+        ModelImage.ENGLISH_WORD_EDIT_KEYS, ModelImage.ENGLISH_WORD_EDITS, ModelImage.ENGLISH_PHONEME_EDIT_KEYS, ModelImage.ENGLISH_PHONEME_EDITS,
+        ModelImage.ENGLISH_WORD_TRIE, ModelImage.ENGLISH_MORPHEME_TRIE, ModelImage.ENGLISH_PHONEME_TRIE, ModelImage.ENGLISH_WORD_SUFFIXES,
+        ModelImage.SWAHILI_SKELETON_KEYS, ModelImage.SWAHILI_SKELETONS, ModelImage.SWAHILI_VERB_TREE};
+
+    //English
+    final String[] eng_phonemes; //Phonemic representation of the English words
+    final String[] eng_codes; //Phonetic codes of the English phonemes
+    final DeletionIndex eng_word_edits; //Edit distance 1 lookups over the English words
+    final DeletionIndex eng_phoneme_edits; //Edit distance 1 lookups over the English phonemes
+    final SubsequenceIndex eng_word_abbreviations; //Abbreviation lookups over the English words
+    final SubstringIndex eng_word_substrings; //Substring lookups over the English words
+    final SubsequenceIndex eng_morpheme_abbreviations; //Abbreviation lookups over the English morphemes
+    final SubsequenceIndex eng_phoneme_abbreviations; //Abbreviation lookups over the English phonemes
+    //Swahili
+    final String[] swa_phonemes; //Phonemic representation of the Swahili words, verbs & adjectives
+    final ConsonantIndex swa_phoneme_skeletons; //Consonant writing lookups over the Swahili phonemes
+    final BKTree swa_verb_tree; //Edit distance range queries over the Swahili verbs
+
+    LexiconIndex(ModelRegistry models, Phonetic fonetic) {
+        List<String> eng_dict_words = models.getEnglishLexicon();
+        eng_phonemes = new String[eng_dict_words.size()];
+        eng_codes = new String[eng_dict_words.size()];
+        for (int counter = 0; counter < eng_phonemes.length; counter++) {
+            eng_phonemes[counter] = fonetic.getEnglishPhoneme(eng_dict_words.get(counter));
+            eng_codes[counter] = fonetic.getPhoneticCode(eng_phonemes[counter]);
+        }
+        eng_word_edits = new DeletionIndex(eng_dict_words);
+        eng_phoneme_edits = new DeletionIndex(Arrays.asList(eng_phonemes));
+        eng_word_abbreviations = new SubsequenceIndex(eng_dict_words);
+        eng_word_substrings = new SubstringIndex(eng_dict_words);
+        eng_morpheme_abbreviations = new SubsequenceIndex(models.getEnglishMorphemes());
+        eng_phoneme_abbreviations = new SubsequenceIndex(Arrays.asList(eng_phonemes));
+
+        List<String> swa_dict_words = models.getSwahiliWords();
+        swa_phonemes = new String[swa_dict_words.size()];
+        for (int counter = 0; counter < swa_phonemes.length; counter++) {
+            swa_phonemes[counter] = fonetic.getSwahiliPhoneme(swa_dict_words.get(counter));
+        }
+        swa_phoneme_skeletons = new ConsonantIndex(Arrays.asList(swa_phonemes));
+        swa_verb_tree = new BKTree(models.getSwahiliVerbs());
+    }
+
+    /**
+     * Read the index compiled into the image a registry was loaded from. The
+     * phonemes and codes are copied out, every token scanning them end to
+     * end; the search structures are read in place.
+     *
+     * @param models
+     * @param image
+     */
+    LexiconIndex(ModelRegistry models, ModelImage image) {
+        eng_phonemes = toArray(image.getStrings(ModelImage.ENGLISH_PHONEMES));
+        eng_codes = toArray(image.getStrings(ModelImage.ENGLISH_CODES));
+        eng_word_edits = new DeletionIndex(models.getEnglishLexicon(), new Postings(image, ModelImage.ENGLISH_WORD_EDIT_KEYS, ModelImage.ENGLISH_WORD_EDITS));
+        eng_phoneme_edits = new DeletionIndex(Arrays.asList(eng_phonemes), new Postings(image, ModelImage.ENGLISH_PHONEME_EDIT_KEYS, ModelImage.ENGLISH_PHONEME_EDITS));
+        eng_word_abbreviations = new SubsequenceIndex(image.getInts(ModelImage.ENGLISH_WORD_TRIE));
+        eng_word_substrings = new SubstringIndex(models.getEnglishLexicon(), image.getInts(ModelImage.ENGLISH_WORD_SUFFIXES));
+        eng_morpheme_abbreviations = new SubsequenceIndex(image.getInts(ModelImage.ENGLISH_MORPHEME_TRIE));
+        eng_phoneme_abbreviations = new SubsequenceIndex(image.getInts(ModelImage.ENGLISH_PHONEME_TRIE));
+
+        swa_phonemes = toArray(image.getStrings(ModelImage.SWAHILI_PHONEMES));
+        swa_phoneme_skeletons = new ConsonantIndex(new Postings(image, ModelImage.SWAHILI_SKELETON_KEYS, ModelImage.SWAHILI_SKELETONS));
+        swa_verb_tree = new BKTree(models.getSwahiliVerbs(), image.getInts(ModelImage.SWAHILI_VERB_TREE));
+    }
+
+    private static String[] toArray(List<String> strings) {
+        return strings.toArray(new String[strings.size()]);
+    }
+}
@@ -0,0 +1,111 @@
+package Engine;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from non-negative long keys to int values, probed
+ * linearly. Keys and values sit in two primitive arrays, so a lookup neither
+ * boxes nor allocates.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class LongIntMap {
+
+    private static final long EMPTY = -1L; //free slot, never a key
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expected number of keys to hold without growing
+     */
+    LongIntMap(int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2 && capacity < MAX_CAPACITY) {
+            capacity <<= 1; //at most half full
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int getSlot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L; //Fibonacci hashing
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Associate a value with a key, replacing any previous value
+     *
+     * @param key non-negative
+     * @param value
+     * @throws IllegalArgumentException if the key is negative
+     */
+    void put(long key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int slot = getSlot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private void grow() {
+        if (keys.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("Map is full");
+        }
+        long[] old_keys = keys;
+        int[] old_values = values;
+        allocate(keys.length << 1);
+        size = 0;
+        for (int counter = 0; counter < old_keys.length; counter++) {
+            if (old_keys[counter] != EMPTY) {
+                put(old_keys[counter], old_values[counter]);
+            }
+        }
+    }
+
+    /**
+     * Gets the value of a key
+     *
+     * @param key
+     * @param missing value returned for absent keys
+     * @return Value of the key, or missing if the key is absent
+     */
+    int get(long key, int missing) {
+        int slot = getSlot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missing;
+    }
+
+    /**
+     * @return Number of keys
+     */
+    int size() {
+        return size;
+    }
+}
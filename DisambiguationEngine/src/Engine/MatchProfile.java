@@ -0,0 +1,60 @@
+package Engine;
+
+/**
+ * Similarity measures of a pair of strings computed together by
+ * {@link StringCompare#getMatchProfile(CharSequence, CharSequence)}: the
+ * length of their Longest Common Subsequence and their Levenshtien edit
+ * distance.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class MatchProfile {
+
+    private final int original_length; //Characters in the original string
+    private final int another_length; //Characters in the other string
+    private final int lcs_length; //Length of the Longest Common Subsequence
+    private final int edit_distance; //Levenshtien edit distance
+
+    MatchProfile(int original_length, int another_length, int lcs_length, int edit_distance) {
+        this.original_length = original_length;
+        this.another_length = another_length;
+        this.lcs_length = lcs_length;
+        this.edit_distance = edit_distance;
+    }
+
+    /**
+     * @return Characters in the original string
+     */
+    public int getOriginalLength() {
+        return original_length;
+    }
+
+    /**
+     * @return Characters in the other string
+     */
+    public int getAnotherLength() {
+        return another_length;
+    }
+
+    /**
+     * @return Length of the Longest Common Subsequence between the strings
+     */
+    public int getLengthLCS() {
+        return lcs_length;
+    }
+
+    /**
+     * @return Levenshtien edit distance between the strings (between their
+     * consonant writings for a consonant profile)
+     */
+    public int getLevenshtienDistance() {
+        return edit_distance;
+    }
+
+    /**
+     * @return Length of the LCS over the length of the longer string
+     */
+    public double getLCSRatio() {
+        return (double) lcs_length / (double) Math.max(original_length, another_length);
+    }
+}
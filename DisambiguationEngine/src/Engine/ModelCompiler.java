@@ -0,0 +1,217 @@
+package Engine;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Offline compiler that turns the lexicons and n-gram counts into a single
+ * versioned binary image, to be opened with {@link ModelRegistry#load}, or by
+ * the default registry when run with -Dengine.model=&lt;image-file&gt;.
+ *
+ * Usage: ModelCompiler &lt;image-file&gt; [&lt;resource-directory&gt;]
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class ModelCompiler {
+
+    private ModelCompiler() {
+    }
+
+    /**
+     * @param args the command line arguments
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: ModelCompiler <image-file> [<resource-directory>]");
+            System.exit(2);
+        }
+        Reader r = (args.length == 2) ? new Reader(new File(args[1])) : new Reader();
+        compile(r, new File(args[0]));
+    }
+
+    /**
+     * Compile the lexicons and n-grams read by the reader into a model image
+     *
+     * @param r
+     * @param image
+     * @throws IOException if a lexicon or n-gram table is missing or empty
+     */
+    public static void compile(Reader r, File image) throws IOException {
+        ModelRegistry models = new ModelRegistry(r);
+        require(models.getEnglishLexicon(), "English/EnglishLexicon.txt");
+        require(models.getEnglishMorphemes(), "English/EnglishMorphemes.txt");
+        require(models.getSwahiliLexicon(), "Swahili/SwahiliLexicon.txt");
+        require(models.getSwahiliVerbs(), "Swahili/SwahiliVerbs.txt");
+        require(models.getSwahiliAdjectives(), "Swahili/SwahiliAdjectives.txt");
+        require(models.getUnigram(), "NGram/Unigram.txt");
+        require(models.getBigram(), "NGram/Bigram.txt");
+        require(models.getTrigram(), "NGram/Trigram.txt");
+
+        Map<Integer, byte[]> sections = new LinkedHashMap<>();
+        sections.put(ModelImage.ENGLISH_LEXICON, encodeStrings(models.getEnglishLexicon()));
+        sections.put(ModelImage.ENGLISH_MORPHEMES, encodeStrings(models.getEnglishMorphemes()));
+        sections.put(ModelImage.SWAHILI_LEXICON, encodeStrings(models.getSwahiliLexicon()));
+        sections.put(ModelImage.SWAHILI_VERBS, encodeStrings(models.getSwahiliVerbs()));
+        sections.put(ModelImage.SWAHILI_ADJECTIVES, encodeStrings(models.getSwahiliAdjectives()));
+        sections.put(ModelImage.UNIGRAM, encodeNGrams(models.getUnigram()));
+        sections.put(ModelImage.BIGRAM, encodeNGrams(models.getBigram()));
+        sections.put(ModelImage.TRIGRAM, encodeNGrams(models.getTrigram()));
+
+        //Derived indexes, so a registry loaded from the image need not build them
+        sections.put(ModelImage.SWAHILI_INFLECTIONS, models.getSwahiliMorphology().compile());
+        NGramIndex ngrams = models.getNGramIndex();
+        sections.put(ModelImage.NGRAM_WORDS, encodeNGrams(ngrams.getIds()));
+        sections.put(ModelImage.NGRAM_INDEX, encodeInts(ngrams.getLayout()));
+        LexiconIndex index = models.getLexiconIndex();
+        sections.put(ModelImage.ENGLISH_PHONEMES, encodeStrings(Arrays.asList(index.eng_phonemes)));
+        sections.put(ModelImage.ENGLISH_CODES, encodeStrings(Arrays.asList(index.eng_codes)));
+        sections.put(ModelImage.SWAHILI_PHONEMES, encodeStrings(Arrays.asList(index.swa_phonemes)));
+        putPostings(sections, ModelImage.ENGLISH_WORD_EDIT_KEYS, ModelImage.ENGLISH_WORD_EDITS, index.eng_word_edits.getPostings());
+        putPostings(sections, ModelImage.ENGLISH_PHONEME_EDIT_KEYS, ModelImage.ENGLISH_PHONEME_EDITS, index.eng_phoneme_edits.getPostings());
+        sections.put(ModelImage.ENGLISH_WORD_TRIE, encodeInts(index.eng_word_abbreviations.getLayout()));
+        sections.put(ModelImage.ENGLISH_MORPHEME_TRIE, encodeInts(index.eng_morpheme_abbreviations.getLayout()));
+        sections.put(ModelImage.ENGLISH_PHONEME_TRIE, encodeInts(index.eng_phoneme_abbreviations.getLayout()));
+        sections.put(ModelImage.ENGLISH_WORD_SUFFIXES, encodeInts(index.eng_word_substrings.getLayout()));
+        putPostings(sections, ModelImage.SWAHILI_SKELETON_KEYS, ModelImage.SWAHILI_SKELETONS, index.swa_phoneme_skeletons.getBuckets());
+        sections.put(ModelImage.SWAHILI_VERB_TREE, encodeInts(index.swa_verb_tree.getLayout()));
+        sections.put(ModelImage.DICTIONARY, models.getDictionary().compile());
+        sections.put(ModelImage.SWAHILI_DICTIONARY, models.getSwahiliDictionary().compile());
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(image)))) {
+            out.writeInt(ModelImage.MAGIC);
+            out.writeInt(ModelImage.FORMAT_VERSION);
+            out.writeInt(sections.size());
+
+            //Section table, sections follow it back to back
+            int offset = 12 + sections.size() * 12;
+            for (Map.Entry<Integer, byte[]> section : sections.entrySet()) {
+                out.writeInt(section.getKey());
+                out.writeInt(offset);
+                out.writeInt(section.getValue().length);
+                offset += section.getValue().length;
+            }
+            for (byte[] section : sections.values()) {
+                out.write(section);
+            }
+        }
+    }
+
+    /**
+     * Reject a lexicon the reader could not read, the reader returning an empty
+     * list for a missing or unreadable resource
+     *
+     * @param words
+     * @param resource
+     * @return The words
+     * @throws IOException if there are no words
+     */
+    private static List<String> require(List<String> words, String resource) throws IOException {
+        if (words.isEmpty()) {
+            throw new IOException("Missing or empty resource " + resource);
+        }
+        return words;
+    }
+
+    /**
+     * Reject an n-gram table the reader could not read
+     *
+     * @param grams
+     * @param resource
+     * @return The n-grams
+     * @throws IOException if there are no n-grams
+     */
+    private static Map<String, Integer> require(Map<String, Integer> grams, String resource) throws IOException {
+        if (grams.isEmpty()) {
+            throw new IOException("Missing or empty resource " + resource);
+        }
+        return grams;
+    }
+
+    /**
+     * Encode strings as a count, count+1 char offsets and the chars, padded to
+     * a multiple of 4 bytes
+     *
+     * @param strings
+     * @return Encoded section
+     * @throws IOException
+     */
+    private static byte[] encodeStrings(List<String> strings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(strings.size());
+        int offset = 0;
+        out.writeInt(offset);
+        for (String ss : strings) {
+            offset += ss.length();
+            out.writeInt(offset);
+        }
+        for (String ss : strings) {
+            out.writeChars(ss);
+        }
+        while (out.size() % 4 != 0) {
+            out.writeByte(0);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode n-grams as a string section sorted by key, followed by the counts
+     *
+     * @param grams
+     * @return Encoded section
+     * @throws IOException
+     */
+    private static byte[] encodeNGrams(Map<String, Integer> grams) throws IOException {
+        Map<String, Integer> sorted = new TreeMap<>(grams);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(encodeStrings(new ArrayList<>(sorted.keySet())));
+        for (int count : sorted.values()) {
+            out.writeInt(count);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Add the sections of postings, its keys as an n-gram section and its lists
+     * as an int section
+     *
+     * @param sections
+     * @param keys_id
+     * @param lists_id
+     * @param postings
+     * @throws IOException
+     */
+    private static void putPostings(Map<Integer, byte[]> sections, int keys_id, int lists_id, Postings postings) throws IOException {
+        sections.put(keys_id, encodeNGrams(postings.getStarts()));
+        sections.put(lists_id, encodeInts(postings.getLayout()));
+    }
+
+    /**
+     * Encode ints as they are, e.g. the arrays of an index
+     *
+     * @param ints
+     * @return Encoded section
+     * @throws IOException
+     */
+    private static byte[] encodeInts(IntBuffer ints) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int counter = 0; counter < ints.limit(); counter++) {
+            out.writeInt(ints.get(counter));
+        }
+        return bytes.toByteArray();
+    }
+}
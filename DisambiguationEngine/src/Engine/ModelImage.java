@@ -0,0 +1,392 @@
+package Engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Read-only view of a binary model image produced by {@link ModelCompiler}.
+ * The file is memory-mapped and the lexicons, n-gram tables and the indexes
+ * compiled from them are read in place from the mapped buffer, so opening an
+ * image costs the same whatever the size of the lexicons it holds. Only the
+ * phonemes and phonetic codes, which every token scans end to end, are copied
+ * to the heap, once, when the lexicon index is first used.
+ *
+ * Layout (big-endian): magic, format version, section count, then one (id,
+ * offset, length) entry per section. A string section holds a count, count+1
+ * char offsets and the UTF-16 chars of all entries. An n-gram section is a
+ * string section sorted by key, followed by one count per key. An int section
+ * holds the arrays of an index, laid out by {@link #putArrays(int[]...)}.
+ * The optional sections hold the derived indexes: {@link WordAutomaton} for
+ * {@link #SWAHILI_INFLECTIONS}, {@link WordSet} for the dictionaries, an
+ * n-gram section of keys and an int section of lists for each
+ * {@link Postings}, and int sections for the rest.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class ModelImage {
+
+    static final int MAGIC = 0x44454E47; //"DENG"
+    static final int FORMAT_VERSION = 1;
+
+    //Section identifiers
+    public static final int ENGLISH_LEXICON = 1;
+    public static final int ENGLISH_MORPHEMES = 2;
+    public static final int SWAHILI_LEXICON = 3;
+    public static final int SWAHILI_VERBS = 4;
+    public static final int SWAHILI_ADJECTIVES = 5;
+    public static final int UNIGRAM = 6;
+    public static final int BIGRAM = 7;
+    public static final int TRIGRAM = 8;
+    public static final int SWAHILI_INFLECTIONS = 9; //optional
+    public static final int NGRAM_WORDS = 10; //optional
+    public static final int NGRAM_INDEX = 11; //optional
+    public static final int ENGLISH_PHONEMES = 12; //optional
+    public static final int ENGLISH_CODES = 13; //optional
+    public static final int SWAHILI_PHONEMES = 14; //optional
+    public static final int ENGLISH_WORD_EDIT_KEYS = 15; //optional
+    public static final int ENGLISH_WORD_EDITS = 16; //optional
+    public static final int ENGLISH_PHONEME_EDIT_KEYS = 17; //optional
+    public static final int ENGLISH_PHONEME_EDITS = 18; //optional
+    public static final int ENGLISH_WORD_TRIE = 19; //optional
+    public static final int ENGLISH_MORPHEME_TRIE = 20; //optional
+    public static final int ENGLISH_PHONEME_TRIE = 21; //optional
+    public static final int ENGLISH_WORD_SUFFIXES = 22; //optional
+    public static final int SWAHILI_SKELETON_KEYS = 23; //optional
+    public static final int SWAHILI_SKELETONS = 24; //optional
+    public static final int SWAHILI_VERB_TREE = 25; //optional
+    public static final int DICTIONARY = 26; //optional
+    public static final int SWAHILI_DICTIONARY = 27; //optional
+
+    private final ByteBuffer buffer;
+    private final int section_count;
+
+    private ModelImage(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < 12 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a model image");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported model image version " + buffer.getInt(4) + ", expected " + FORMAT_VERSION);
+        }
+        section_count = buffer.getInt(8);
+        long table_end = 12 + section_count * 12L;
+        if (section_count < 0 || table_end > buffer.limit()) {
+            throw new IOException("Corrupt model image");
+        }
+        for (int counter = 0; counter < section_count; counter++) {
+            int entry = 12 + counter * 12;
+            long offset = buffer.getInt(entry + 4);
+            long length = buffer.getInt(entry + 8);
+            if (offset < table_end || length < 0 || offset + length > buffer.limit()) {
+                throw new IOException("Corrupt model image"); //a section outside the file
+            }
+        }
+    }
+
+    /**
+     * Memory-map a model image
+     *
+     * @param image
+     * @return Model image backed by the mapped file
+     * @throws IOException
+     */
+    public static ModelImage open(File image) throws IOException {
+        try (FileChannel channel = FileChannel.open(image.toPath(), StandardOpenOption.READ)) {
+            return new ModelImage(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Check if the image has a section, for sections older images may lack
+     *
+     * @param id
+     * @return If the image has the section, then return true
+     */
+    public boolean hasSection(int id) {
+        for (int counter = 0; counter < section_count; counter++) {
+            if (buffer.getInt(12 + counter * 12) == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Locate a section of the image
+     *
+     * @param id
+     * @return Buffer spanning the section
+     * @throws IllegalArgumentException if the image has no such section
+     */
+    private ByteBuffer section(int id) {
+        for (int counter = 0; counter < section_count; counter++) {
+            int entry = 12 + counter * 12;
+            if (buffer.getInt(entry) == id) {
+                ByteBuffer view = buffer.duplicate();
+                view.position(buffer.getInt(entry + 4));
+                view.limit(buffer.getInt(entry + 4) + buffer.getInt(entry + 8));
+                return view.slice();
+            }
+        }
+        throw new IllegalArgumentException("Model image has no section " + id);
+    }
+
+    /**
+     * Gets a list section e.g. {@link #ENGLISH_LEXICON}, in its original order
+     *
+     * @param id
+     * @return Unmodifiable list backed by the mapped image
+     */
+    public List<String> getStrings(int id) {
+        return new StringTable(section(id));
+    }
+
+    /**
+     * Gets an n-gram section e.g. {@link #UNIGRAM}
+     *
+     * @param id
+     * @return Unmodifiable dictionary with n-gram words and count, backed by
+     * the mapped image
+     */
+    public Map<String, Integer> getNGrams(int id) {
+        return new NGramTable(new StringTable(section(id)));
+    }
+
+    /**
+     * Gets an automaton section e.g. {@link #SWAHILI_INFLECTIONS}
+     *
+     * @param id
+     * @return Word acceptor backed by the mapped image
+     */
+    WordAutomaton getAutomaton(int id) {
+        return new WordAutomaton(section(id));
+    }
+
+    /**
+     * Gets a word set section e.g. {@link #DICTIONARY}
+     *
+     * @param id
+     * @return Word set backed by the mapped image
+     */
+    WordSet getWordSet(int id) {
+        return new WordSet(section(id));
+    }
+
+    /**
+     * Gets an int section e.g. {@link #NGRAM_INDEX}
+     *
+     * @param id
+     * @return Ints backed by the mapped image
+     */
+    IntBuffer getInts(int id) {
+        return section(id).asIntBuffer();
+    }
+
+    /**
+     * Lay out int arrays back to back, each as its length followed by its
+     * values, the way the int sections of the indexes hold them
+     *
+     * @param arrays
+     * @return Ints on the heap, read with {@link #nextArray(IntBuffer)}
+     */
+    static IntBuffer putArrays(int[]... arrays) {
+        int length = 0;
+        for (int[] array : arrays) {
+            length += 1 + array.length;
+        }
+        IntBuffer ints = IntBuffer.allocate(length);
+        for (int[] array : arrays) {
+            ints.put(array.length);
+            ints.put(array);
+        }
+        ints.flip();
+        return ints;
+    }
+
+    /**
+     * Gets the array at the position of ints laid out by
+     * {@link #putArrays(int[]...)}, moving the position past it
+     *
+     * @param arrays
+     * @return Array backed by the same ints
+     */
+    static IntBuffer nextArray(IntBuffer arrays) {
+        int length = arrays.get();
+        IntBuffer array = arrays.slice();
+        array.limit(length);
+        arrays.position(arrays.position() + length);
+        return array;
+    }
+
+    /**
+     * Strings stored as a count, count+1 char offsets and the chars
+     */
+    private static final class StringTable extends AbstractList<String> implements RandomAccess {
+
+        private final ByteBuffer section;
+        private final int size;
+        private final int chars; //byte offset of the first char
+
+        StringTable(ByteBuffer section) {
+            this.section = section;
+            this.size = section.getInt(0);
+            this.chars = 4 + (size + 1) * 4;
+        }
+
+        int start(int index) {
+            return section.getInt(4 + index * 4);
+        }
+
+        int end() {
+            return chars + start(size) * 2; //byte offset just past the chars
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(String.valueOf(index));
+            }
+            int start = start(index);
+            char[] value = new char[start(index + 1) - start];
+            for (int counter = 0; counter < value.length; counter++) {
+                value[counter] = section.getChar(chars + (start + counter) * 2);
+            }
+            return new String(value);
+        }
+
+        /**
+         * Compare an entry with a string, without decoding the entry
+         *
+         * @param index
+         * @param key
+         * @return Same sign as entry.compareTo(key)
+         */
+        int compareTo(int index, String key) {
+            int start = start(index);
+            int length = start(index + 1) - start;
+            int limit = Math.min(length, key.length());
+            for (int counter = 0; counter < limit; counter++) {
+                char ch = section.getChar(chars + (start + counter) * 2);
+                if (ch != key.charAt(counter)) {
+                    return ch - key.charAt(counter);
+                }
+            }
+            return length - key.length();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * N-grams sorted by key, with a count per key after the strings
+     */
+    private static final class NGramTable extends AbstractMap<String, Integer> {
+
+        private final StringTable keys;
+        private final int counts; //byte offset of the first count
+
+        NGramTable(StringTable keys) {
+            this.keys = keys;
+            this.counts = (keys.end() + 3) & ~3;
+        }
+
+        int count(int index) {
+            return keys.section.getInt(counts + index * 4);
+        }
+
+        /**
+         * Binary search for a key
+         *
+         * @param key
+         * @return Index of the key, or -1 if absent
+         */
+        int find(Object key) {
+            if (!(key instanceof String)) {
+                return -1;
+            }
+            int low = 0;
+            int high = keys.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = keys.compareTo(mid, (String) key);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            int index = find(key);
+            return index < 0 ? null : count(index);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+
+        @Override
+        public Set<Map.Entry<String, Integer>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Integer>>() {
+                @Override
+                public Iterator<Map.Entry<String, Integer>> iterator() {
+                    return new Iterator<Map.Entry<String, Integer>>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.size();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Integer> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Map.Entry<String, Integer> entry = new AbstractMap.SimpleImmutableEntry<>(keys.get(next), count(next));
+                            next++;
+                            return entry;
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package Engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, thread-safe registry of the lexicons and n-gram tables used by
+ * the engine. Every resource is read once when the registry is created and is
+ * then shared by all the components it is handed to. A registry is read either
+ * from the text resources or from a binary image built by
+ * {@link ModelCompiler}.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class ModelRegistry {
+
+    //English
+    private final List<String> eng_dict_words; //English words
+    private final List<String> eng_morphemes; //English morphemes
+    //Swahili
+    private final List<String> swa_dict_words; //Swahili words
+    private final List<String> swa_verbs; //Swahili verbs
+    private final List<String> swa_adjectives; //Swahili adjectives
+    private final List<String> swa_all_words; //Swahili words, verbs & adjectives
+    //N-Grams
+    private final Map<String, Integer> unigram_freq; //Word unigrams with their respective frequencies
+    private final Map<String, Integer> bigram_freq; //Word bigrams with their respective frequencies
+    private final Map<String, Integer> trigram_freq; //Word trigrams with their respective frequencies
+    //Derived indexes
+    private volatile LexiconIndex lexicon_index; //Phonemes & phonetic codes, built on first use
+    private volatile WordSet dictionary; //Every English & Swahili word, built on first use
+    private volatile WordSet swahili_dictionary; //Every Swahili word, built on first use
+    private volatile SwahiliMorphology swahili_morphology; //Inflected Swahili verbs & adjectives, built on first use
+    private volatile NGramIndex ngram_index; //N-gram frequencies by word id, built on first use
+    private final WordAutomaton swahili_inflections; //Precompiled valid Swahili words, null unless loaded from an image
+    private final ModelImage image; //Image the registry was loaded from, null if read from the text resources
+
+    /**
+     * System property naming a model image for the default registry, e.g.
+     * -Dengine.model=engine.model
+     */
+    public static final String IMAGE_PROPERTY = "engine.model";
+
+    /**
+     * Lazily created default registry, mapped from the image named by
+     * {@link #IMAGE_PROPERTY} if set, otherwise read from the bundled
+     * resources
+     */
+    private static final class DefaultHolder {
+
+        static final ModelRegistry INSTANCE = open();
+
+        private static ModelRegistry open() {
+            String image = System.getProperty(IMAGE_PROPERTY);
+            if (image == null || image.isEmpty()) {
+                return new ModelRegistry(new Reader());
+            }
+            try {
+                return load(new File(image));
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot open model image " + image, ex);
+            }
+        }
+    }
+
+    /**
+     * Gets the default registry, created once per JVM: mapped from the model
+     * image named by the {@link #IMAGE_PROPERTY} system property, or read
+     * from the bundled lexicons and n-gram files if the property is not set
+     *
+     * @return Shared model registry
+     * @throws IllegalStateException if the named image cannot be opened
+     */
+    public static ModelRegistry getInstance() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Read every lexicon and n-gram table through the given reader
+     *
+     * @param r
+     */
+    public ModelRegistry(Reader r) {
+        this(r.getEnglishLexicon(), r.getEnglishMorphemes(),
+                r.getSwahiliLexicon(), r.getSwahiliVerbs(), r.getSwahiliAdjectives(),
+                r.getUnigram(), r.getBigram(), r.getTrigram(), null);
+    }
+
+    /**
+     * Answer every lexicon and n-gram lookup from a memory-mapped model image
+     *
+     * @param image
+     */
+    public ModelRegistry(ModelImage image) {
+        this(image.getStrings(ModelImage.ENGLISH_LEXICON), image.getStrings(ModelImage.ENGLISH_MORPHEMES),
+                image.getStrings(ModelImage.SWAHILI_LEXICON), image.getStrings(ModelImage.SWAHILI_VERBS), image.getStrings(ModelImage.SWAHILI_ADJECTIVES),
+                image.getNGrams(ModelImage.UNIGRAM), image.getNGrams(ModelImage.BIGRAM), image.getNGrams(ModelImage.TRIGRAM),
+                image);
+    }
+
+    private ModelRegistry(List<String> eng_words, List<String> eng_morphs,
+            List<String> swa_words, List<String> swa_vitenzi, List<String> swa_vielezi,
+            Map<String, Integer> unigrams, Map<String, Integer> bigrams, Map<String, Integer> trigrams,
+            ModelImage image) {
+        eng_dict_words = Collections.unmodifiableList(eng_words);
+        eng_morphemes = Collections.unmodifiableList(eng_morphs);
+
+        swa_dict_words = Collections.unmodifiableList(swa_words);
+        swa_verbs = Collections.unmodifiableList(swa_vitenzi);
+        swa_adjectives = Collections.unmodifiableList(swa_vielezi);
+        swa_all_words = new Concatenation(swa_dict_words, swa_verbs, swa_adjectives);
+
+        unigram_freq = Collections.unmodifiableMap(unigrams);
+        bigram_freq = Collections.unmodifiableMap(bigrams);
+        trigram_freq = Collections.unmodifiableMap(trigrams);
+
+        this.image = image;
+        swahili_inflections = hasSections(ModelImage.SWAHILI_INFLECTIONS) ? image.getAutomaton(ModelImage.SWAHILI_INFLECTIONS) : null;
+    }
+
+    /**
+     * Open a binary model image built by {@link ModelCompiler}
+     *
+     * @param image
+     * @return Model registry backed by the mapped image
+     * @throws IOException
+     */
+    public static ModelRegistry load(File image) throws IOException {
+        return new ModelRegistry(ModelImage.open(image));
+    }
+
+    /**
+     * Check if the registry was loaded from an image holding the sections, for
+     * the optional sections older images may lack
+     *
+     * @param ids
+     * @return If every section is in the image, then return true
+     */
+    private boolean hasSections(int... ids) {
+        if (image == null) {
+            return false;
+        }
+        for (int id : ids) {
+            if (!image.hasSection(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Unmodifiable list of English words
+     */
+    public List<String> getEnglishLexicon() {
+        return eng_dict_words;
+    }
+
+    /**
+     * @return Unmodifiable list of English morphemes
+     */
+    public List<String> getEnglishMorphemes() {
+        return eng_morphemes;
+    }
+
+    /**
+     * @return Unmodifiable list of Swahili words
+     */
+    public List<String> getSwahiliLexicon() {
+        return swa_dict_words;
+    }
+
+    /**
+     * @return Unmodifiable list of Swahili verbs (Vitenzi)
+     */
+    public List<String> getSwahiliVerbs() {
+        return swa_verbs;
+    }
+
+    /**
+     * @return Unmodifiable list of Swahili adjectives (Vielezi)
+     */
+    public List<String> getSwahiliAdjectives() {
+        return swa_adjectives;
+    }
+
+    /**
+     * @return Unmodifiable list of Swahili words, followed by the verbs and
+     * the adjectives
+     */
+    public List<String> getSwahiliWords() {
+        return swa_all_words;
+    }
+
+    /**
+     * @return Unmodifiable dictionary with Unigram Word and Count
+     */
+    public Map<String, Integer> getUnigram() {
+        return unigram_freq;
+    }
+
+    /**
+     * @return Unmodifiable dictionary with Bigram Words and Count
+     */
+    public Map<String, Integer> getBigram() {
+        return bigram_freq;
+    }
+
+    /**
+     * @return Unmodifiable dictionary with Trigram Words and Count
+     */
+    public Map<String, Integer> getTrigram() {
+        return trigram_freq;
+    }
+
+    /**
+     * Gets the phonemic and phonetic representations of the lexicons, read
+     * from the image if it holds them, otherwise computing them the first time
+     * they are asked for
+     *
+     * @return Lexicon index shared by every component using this registry
+     */
+    LexiconIndex getLexiconIndex() {
+        LexiconIndex index = lexicon_index;
+        if (index == null) {
+            synchronized (this) {
+                index = lexicon_index;
+                if (index == null) {
+                    index = hasSections(LexiconIndex.SECTIONS)
+                            ? new LexiconIndex(this, image)
+                            : new LexiconIndex(this, new Phonetic(PhonemeRules.getEnglishRules(), 0)); //Each word is converted once, nothing to cache
+                    lexicon_index = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the set of English words, morphemes, Swahili words, adjectives and
+     * verbs, mapped from the image if it holds it, otherwise building it the
+     * first time it is asked for
+     *
+     * @return Dictionary shared by every component using this registry
+     */
+    WordSet getDictionary() {
+        WordSet words = dictionary;
+        if (words == null) {
+            synchronized (this) {
+                words = dictionary;
+                if (words == null) {
+                    words = hasSections(ModelImage.DICTIONARY)
+                            ? image.getWordSet(ModelImage.DICTIONARY)
+                            : new WordSet(Arrays.asList(swa_dict_words, swa_adjectives, swa_verbs, eng_dict_words, eng_morphemes));
+                    dictionary = words;
+                }
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Gets the set of Swahili words, adjectives and verbs, mapped from the
+     * image if it holds it, otherwise building it the first time it is asked
+     * for
+     *
+     * @return Swahili dictionary shared by every component using this registry
+     */
+    WordSet getSwahiliDictionary() {
+        WordSet words = swahili_dictionary;
+        if (words == null) {
+            synchronized (this) {
+                words = swahili_dictionary;
+                if (words == null) {
+                    words = hasSections(ModelImage.SWAHILI_DICTIONARY)
+                            ? image.getWordSet(ModelImage.SWAHILI_DICTIONARY)
+                            : new WordSet(Arrays.asList(swa_dict_words, swa_adjectives, swa_verbs));
+                    swahili_dictionary = words;
+                }
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Gets the inflected and derived forms of the Swahili verbs and
+     * adjectives, generating them the first time they are asked for
+     *
+     * @return Swahili validator shared by every component using this registry
+     */
+    SwahiliMorphology getSwahiliMorphology() {
+        SwahiliMorphology morphology = swahili_morphology;
+        if (morphology == null) {
+            synchronized (this) {
+                morphology = swahili_morphology;
+                if (morphology == null) {
+                    morphology = new SwahiliMorphology(swa_verbs, swa_adjectives);
+                    swahili_morphology = morphology;
+                }
+            }
+        }
+        return morphology;
+    }
+
+    /**
+     * Gets the n-gram frequencies keyed by word id, mapped from the image if
+     * it holds them, otherwise numbering the words the first time they are
+     * asked for
+     *
+     * @return N-gram index shared by every component using this registry
+     */
+    NGramIndex getNGramIndex() {
+        NGramIndex index = ngram_index;
+        if (index == null) {
+            synchronized (this) {
+                index = ngram_index;
+                if (index == null) {
+                    index = hasSections(ModelImage.NGRAM_WORDS, ModelImage.NGRAM_INDEX)
+                            ? new NGramIndex(image)
+                            : NGramIndex.build(unigram_freq, bigram_freq, trigram_freq);
+                    ngram_index = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the automaton of every valid Swahili word compiled into the model
+     * image, see {@link SwahiliMorphology#compile()}
+     *
+     * @return Swahili word acceptor, null if the registry was not loaded from
+     * an image holding one
+     */
+    WordAutomaton getSwahiliInflections() {
+        return swahili_inflections;
+    }
+
+    /**
+     * Read-only view of several lists, one after the other
+     */
+    private static final class Concatenation extends AbstractList<String> implements RandomAccess {
+
+        private final List<List<String>> parts = new ArrayList<>(3);
+
+        Concatenation(List<String> first, List<String> second, List<String> third) {
+            parts.add(first);
+            parts.add(second);
+            parts.add(third);
+        }
+
+        @Override
+        public String get(int index) {
+            for (List<String> part : parts) {
+                if (index < part.size()) {
+                    return part.get(index);
+                }
+                index -= part.size();
+            }
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (List<String> part : parts) {
+                size += part.size();
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package Engine;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * N-gram frequencies keyed by dense word ids. Every word of the unigram,
+ * bigram and trigram tables is numbered once, in sorted order. The bigrams are
+ * kept as a successor list per word, and the trigrams as a successor list per
+ * context (the two words a trigram starts with). Contexts are themselves kept
+ * as a list of second words per first word, a context's id being its position
+ * in those lists. Every list is sorted by word id and stored back to back in
+ * flat arrays, so a context without successors, the common case, scores a
+ * whole candidate set without a single lookup; otherwise each candidate is a
+ * binary search over the few words seen after the context.
+ *
+ * The arrays are read through int buffers, either wrapping the arrays built
+ * from the n-gram tables or mapping the {@link ModelImage#NGRAM_INDEX} section
+ * of a model image, the words coming from its {@link ModelImage#NGRAM_WORDS}
+ * section. The arrays are laid out by {@link ModelImage#putArrays(int[]...)}:
+ * the unigram count (a single value), unigram counts, bigram offsets,
+ * successors and counts, context offsets and second words, trigram offsets,
+ * successors and counts.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class NGramIndex {
+
+    private final Map<String, Integer> ids; //word -> id
+    private final List<String> words; //id -> word
+    private final IntBuffer layout; //every array below, back to back
+    private final int unigram_size; //number of unigrams
+    private final IntBuffer unigram_counts; //id -> unigram frequency
+    //Successor lists, those of word (or context) i at [offsets[i], offsets[i + 1])
+    private final IntBuffer bigram_offsets;
+    private final IntBuffer bigram_successors; //word ids
+    private final IntBuffer bigram_counts;
+    private final IntBuffer context_offsets; //contexts by first word
+    private final IntBuffer context_seconds; //context id -> id of the second word
+    private final IntBuffer trigram_offsets;
+    private final IntBuffer trigram_successors; //word ids
+    private final IntBuffer trigram_counts;
+
+    private NGramIndex(Map<String, Integer> ids, List<String> words, IntBuffer layout) {
+        this.ids = ids;
+        this.words = words;
+        this.layout = layout;
+        IntBuffer arrays = layout.duplicate();
+        unigram_size = ModelImage.nextArray(arrays).get(0);
+        unigram_counts = ModelImage.nextArray(arrays);
+        bigram_offsets = ModelImage.nextArray(arrays);
+        bigram_successors = ModelImage.nextArray(arrays);
+        bigram_counts = ModelImage.nextArray(arrays);
+        context_offsets = ModelImage.nextArray(arrays);
+        context_seconds = ModelImage.nextArray(arrays);
+        trigram_offsets = ModelImage.nextArray(arrays);
+        trigram_successors = ModelImage.nextArray(arrays);
+        trigram_counts = ModelImage.nextArray(arrays);
+    }
+
+    /**
+     * Map the n-gram index compiled into a model image
+     *
+     * @param image
+     * @throws IllegalArgumentException if the image has no n-gram index
+     */
+    NGramIndex(ModelImage image) {
+        this(image.getNGrams(ModelImage.NGRAM_WORDS), image.getStrings(ModelImage.NGRAM_WORDS), image.getInts(ModelImage.NGRAM_INDEX));
+    }
+
+    /**
+     * Index n-gram tables whose n-grams are words separated by single spaces.
+     * An n-gram with any other number of words cannot be looked up and is
+     * left out.
+     *
+     * @param unigrams
+     * @param bigrams
+     * @param trigrams
+     * @return N-gram index over arrays on the heap
+     */
+    static NGramIndex build(Map<String, Integer> unigrams, Map<String, Integer> bigrams, Map<String, Integer> trigrams) {
+        TreeSet<String> vocabulary = new TreeSet<>(unigrams.keySet());
+        for (String bigram : bigrams.keySet()) {
+            vocabulary.addAll(Arrays.asList(split(bigram, 2)));
+        }
+        for (String trigram : trigrams.keySet()) {
+            vocabulary.addAll(Arrays.asList(split(trigram, 3)));
+        }
+        String[] words = vocabulary.toArray(new String[vocabulary.size()]);
+        Map<String, Integer> ids = new HashMap<>(words.length * 4 / 3 + 1);
+        for (int id = 0; id < words.length; id++) {
+            ids.put(words[id], id);
+        }
+
+        int[] unigram_counts = new int[words.length];
+        for (Map.Entry<String, Integer> unigram : unigrams.entrySet()) {
+            unigram_counts[ids.get(unigram.getKey())] = unigram.getValue();
+        }
+
+        //Bigrams, by first word
+        int[] firsts = new int[bigrams.size()];
+        int[] seconds = new int[bigrams.size()];
+        int[] counts = new int[bigrams.size()];
+        int size = 0;
+        for (Map.Entry<String, Integer> bigram : bigrams.entrySet()) {
+            String[] grams = split(bigram.getKey(), 2);
+            if (grams.length == 2) {
+                firsts[size] = ids.get(grams[0]);
+                seconds[size] = ids.get(grams[1]);
+                counts[size++] = bigram.getValue();
+            }
+        }
+        int[] bigram_offsets = new int[words.length + 1];
+        int[] bigram_successors = new int[size];
+        int[] bigram_counts = new int[size];
+        fill(firsts, seconds, counts, size, bigram_offsets, bigram_successors, bigram_counts);
+
+        //Trigrams, numbering each context the first time it is seen
+        LongIntMap contexts = new LongIntMap(16);
+        long[] context_keys = new long[trigrams.size()];
+        firsts = new int[trigrams.size()];
+        seconds = new int[trigrams.size()];
+        counts = new int[trigrams.size()];
+        size = 0;
+        for (Map.Entry<String, Integer> trigram : trigrams.entrySet()) {
+            String[] grams = split(trigram.getKey(), 3);
+            if (grams.length == 3) {
+                long bigram = pack(ids.get(grams[0]), ids.get(grams[1]));
+                int context = contexts.get(bigram, -1);
+                if (context < 0) {
+                    context = contexts.size();
+                    contexts.put(bigram, context);
+                    context_keys[context] = bigram;
+                }
+                firsts[size] = context;
+                seconds[size] = ids.get(grams[2]);
+                counts[size++] = trigram.getValue();
+            }
+        }
+        //then renumber the contexts in word order, so they list by first word
+        long[] sorted = Arrays.copyOf(context_keys, contexts.size());
+        Arrays.sort(sorted);
+        int[] renumbered = new int[sorted.length];
+        int[] context_offsets = new int[words.length + 1];
+        int[] context_seconds = new int[sorted.length];
+        for (int context = 0; context < sorted.length; context++) {
+            renumbered[contexts.get(sorted[context], -1)] = context;
+            context_offsets[(int) (sorted[context] >>> 32) + 1]++;
+            context_seconds[context] = (int) sorted[context];
+        }
+        for (int counter = 1; counter < context_offsets.length; counter++) {
+            context_offsets[counter] += context_offsets[counter - 1];
+        }
+        for (int counter = 0; counter < size; counter++) {
+            firsts[counter] = renumbered[firsts[counter]];
+        }
+        int[] trigram_offsets = new int[sorted.length + 1];
+        int[] trigram_successors = new int[size];
+        int[] trigram_counts = new int[size];
+        fill(firsts, seconds, counts, size, trigram_offsets, trigram_successors, trigram_counts);
+
+        IntBuffer layout = ModelImage.putArrays(new int[]{unigrams.size()}, unigram_counts,
+                bigram_offsets, bigram_successors, bigram_counts, context_offsets, context_seconds,
+                trigram_offsets, trigram_successors, trigram_counts);
+        return new NGramIndex(ids, Arrays.asList(words), layout);
+    }
+
+    //Words of an n-gram, none if it does not have exactly n words
+    private static String[] split(String ngram, int n) {
+        String[] grams = ngram.split(" ", -1);
+        return grams.length == n ? grams : new String[0];
+    }
+
+    //Two ints in one long, the second masked so a negative one e.g. a count cannot spill into the first
+    private static long pack(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    //Lay out the successors of each key back to back, each list sorted by successor id
+    private static void fill(int[] keys, int[] successors, int[] counts, int size,
+            int[] offsets, int[] successor_list, int[] count_list) {
+        for (int counter = 0; counter < size; counter++) {
+            offsets[keys[counter] + 1]++;
+        }
+        for (int counter = 1; counter < offsets.length; counter++) {
+            offsets[counter] += offsets[counter - 1];
+        }
+        long[] entries = new long[size]; //successor x count, in their key's list
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int counter = 0; counter < size; counter++) {
+            entries[next[keys[counter]]++] = pack(successors[counter], counts[counter]);
+        }
+        for (int counter = 0; counter + 1 < offsets.length; counter++) {
+            Arrays.sort(entries, offsets[counter], offsets[counter + 1]);
+        }
+        for (int counter = 0; counter < size; counter++) {
+            successor_list[counter] = (int) (entries[counter] >>> 32);
+            count_list[counter] = (int) entries[counter];
+        }
+    }
+
+    /**
+     * @return Read-only arrays, written as the {@link ModelImage#NGRAM_INDEX}
+     * section of a model image, the words going in its
+     * {@link ModelImage#NGRAM_WORDS} section, see {@link #getIds()}
+     */
+    IntBuffer getLayout() {
+        return layout.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return Unmodifiable dictionary with every word and its id, in word order
+     * the ids run 0, 1, 2...
+     */
+    Map<String, Integer> getIds() {
+        return Collections.unmodifiableMap(ids);
+    }
+
+    //Binary search of a sorted range, as Arrays.binarySearch
+    private static int search(IntBuffer list, int from, int to, int key) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = list.get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    //Frequency of a successor, 0 if it is not in the list
+    private static int getCount(IntBuffer offsets, IntBuffer successors, IntBuffer counts, int key, int successor) {
+        if (key < 0 || successor < 0) {
+            return 0;
+        }
+        int index = search(successors, offsets.get(key), offsets.get(key + 1), successor);
+        return index < 0 ? 0 : counts.get(index);
+    }
+
+    //Frequencies of several successors, searching the sorted list for each
+    private static void getCounts(IntBuffer offsets, IntBuffer successors, IntBuffer counts, int key, int[] words, int[] word_counts) {
+        Arrays.fill(word_counts, 0);
+        if (key < 0 || offsets.get(key) == offsets.get(key + 1)) {
+            return; //nothing follows the key
+        }
+        int from = offsets.get(key);
+        int to = offsets.get(key + 1);
+        for (int counter = 0; counter < words.length; counter++) {
+            if (words[counter] >= 0) {
+                int index = search(successors, from, to, words[counter]);
+                if (index >= 0) {
+                    word_counts[counter] = counts.get(index);
+                }
+            }
+        }
+    }
+
+    //Words of a successor list
+    private String[] getWords(IntBuffer offsets, IntBuffer successors, int key) {
+        if (key < 0) {
+            return new String[0];
+        }
+        int from = offsets.get(key);
+        String[] list = new String[offsets.get(key + 1) - from];
+        for (int counter = 0; counter < list.length; counter++) {
+            list[counter] = words.get(successors.get(from + counter));
+        }
+        return list;
+    }
+
+    /**
+     * Gets the id of a word
+     *
+     * @param word
+     * @return Word id, -1 if the word is in none of the n-grams
+     */
+    int getId(String word) {
+        Integer id = ids.get(word);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return Number of unigrams
+     */
+    int getUnigramSize() {
+        return unigram_size;
+    }
+
+    /**
+     * @param word id
+     * @return Unigram frequency, 0 if the word is not a unigram
+     */
+    int getUnigramCount(int word) {
+        return word < 0 ? 0 : unigram_counts.get(word);
+    }
+
+    /**
+     * @param first word id
+     * @param second word id
+     * @return Bigram frequency, 0 if the words do not form a bigram
+     */
+    int getBigramCount(int first, int second) {
+        return getCount(bigram_offsets, bigram_successors, bigram_counts, first, second);
+    }
+
+    /**
+     * @param first word id
+     * @return Number of words following the word in the bigrams
+     */
+    int getBigramSuccessorCount(int first) {
+        return first < 0 ? 0 : bigram_offsets.get(first + 1) - bigram_offsets.get(first);
+    }
+
+    /**
+     * Gets the bigram frequencies of several words following one word
+     *
+     * @param first word id
+     * @param seconds word ids, -1 for words without one
+     * @param counts filled with the bigram frequency of each word
+     */
+    void getBigramCounts(int first, int[] seconds, int[] counts) {
+        getCounts(bigram_offsets, bigram_successors, bigram_counts, first, seconds, counts);
+    }
+
+    /**
+     * @param first word id
+     * @return Words following the word in the bigrams, by word id
+     */
+    String[] getBigramSuccessors(int first) {
+        return getWords(bigram_offsets, bigram_successors, first);
+    }
+
+    /**
+     * Gets the context id of the two words a trigram starts with
+     *
+     * @param first word id
+     * @param second word id
+     * @return Context id, -1 if no trigram starts with the words
+     */
+    int getContext(int first, int second) {
+        if (first < 0 || second < 0) {
+            return -1;
+        }
+        int context = search(context_seconds, context_offsets.get(first), context_offsets.get(first + 1), second);
+        return context < 0 ? -1 : context;
+    }
+
+    /**
+     * @param context id of the first two words
+     * @param third word id
+     * @return Trigram frequency, 0 if the words do not form a trigram
+     */
+    int getTrigramCount(int context, int third) {
+        return getCount(trigram_offsets, trigram_successors, trigram_counts, context, third);
+    }
+
+    /**
+     * @param context id of the first two words
+     * @return Number of words completing the trigrams starting with the
+     * context
+     */
+    int getTrigramSuccessorCount(int context) {
+        return context < 0 ? 0 : trigram_offsets.get(context + 1) - trigram_offsets.get(context);
+    }
+
+    /**
+     * Gets the trigram frequencies of several words following one context
+     *
+     * @param context id of the first two words
+     * @param thirds word ids, -1 for words without one
+     * @param counts filled with the trigram frequency of each word
+     */
+    void getTrigramCounts(int context, int[] thirds, int[] counts) {
+        getCounts(trigram_offsets, trigram_successors, trigram_counts, context, thirds, counts);
+    }
+
+    /**
+     * @param context id of the first two words
+     * @return Words completing the trigrams starting with the context, by
+     * word id
+     */
+    String[] getTrigramSuccessors(int context) {
+        return getWords(trigram_offsets, trigram_successors, context);
+    }
+}
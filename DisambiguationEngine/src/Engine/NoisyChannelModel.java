@@ -1,7 +1,6 @@
 package Engine;
 
 import java.util.Arrays;
-import java.util.Comparator;
 
 /**
  *
@@ -9,7 +8,26 @@ import java.util.Comparator;
  */
 public class NoisyChannelModel {
 
-    private final ChannelModel chmd = new ChannelModel();
+    private final ChannelModel chmd;
+    private final Candidates cnds;
+
+    /**
+     * Noisy channel model over the shared default lexicons and n-gram tables
+     */
+    public NoisyChannelModel() {
+        this(ModelRegistry.getInstance());
+    }
+
+    /**
+     * Noisy channel model over the lexicons and n-gram tables of the given
+     * registry
+     *
+     * @param models
+     */
+    public NoisyChannelModel(ModelRegistry models) {
+        chmd = new ChannelModel(models);
+        cnds = new Candidates(models);
+    }
 
     /**
      * Calculate the Noisy Channel Model probability
@@ -23,34 +41,78 @@ public class NoisyChannelModel {
         return getNoisyChannelProbability;
     }
 
+    //Same candidates, scored by the noisy channel model
+    private Candidate[] getNoisyChannel(Candidate[] posteriori) {
+        Candidate[] NCM = new Candidate[posteriori.length];
+        for (int counter = 0; counter < NCM.length; counter++) {
+            NCM[counter] = posteriori[counter].withNoisyChannel(getNoisyChannelProbability(posteriori[counter].getPrioriProbability(), posteriori[counter].getPosterioriProbability())); //NCM prob.
+        }
+        return NCM;
+    }
+
     /**
      * Calculate the Noisy Channel probabilities of candidate words, calculated
-     * using the Language model and the Channel model. [0] - Candidate word. [1]
-     * - Priori probability. [2] - Posteriori probability. [3] - Noisy Channel
-     * probability, to 5 decimal places
+     * using the Language model and the Channel model, in alphabetic order
      *
      * @param invalidWord
-     * @return Noisy channel probability from the unigram channel model
+     * @return Candidates with their noisy channel probability from the
+     * unigram channel model
      */
-    public String[][] unigramNoisyChannelModel(String invalidWord) {
-        invalidWord = invalidWord.toLowerCase();
-
-        String[][] unigramChannelModel = chmd.unigramChannelModel(invalidWord);
-        String NCM[][] = new String[unigramChannelModel.length][4]; //Word, Prior prob., Posterioir prob., NCM prob.
+    public Candidate[] getUnigramCandidates(String invalidWord) {
+        return getUnigramCandidates(cnds.getCandidateSet(invalidWord));
+    }
 
-        for (int counter = 0; counter < NCM.length; counter++) {
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words already
+     * generated for an invalid word, calculated using the Language model and
+     * the Channel model, in alphabetic order. Generate the candidates once with
+     * {@link Candidates#getCandidateSet(String)} to score them with several
+     * models.
+     *
+     * @param candidates
+     * @return Candidates with their noisy channel probability from the
+     * unigram channel model
+     */
+    public Candidate[] getUnigramCandidates(CandidateSet candidates) {
+        return getNoisyChannel(chmd.getUnigramCandidates(candidates));
+    }
 
-            double priori_prob = Double.parseDouble(unigramChannelModel[counter][2]);
-            double posteriori_prob = Double.parseDouble(unigramChannelModel[counter][5]);
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words, calculated
+     * using the Language model and the Channel model, limited to a maximum
+     * number of candidate corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param candidateGroupSize
+     * @return Candidates with their noisy channel probability from the
+     * unigram channel model, the most likely first
+     */
+    public Candidate[] getUnigramCandidates(String invalidWord, int candidateGroupSize) {
+        Candidate[] NCM = getNoisyChannel(chmd.scoreUnigram(cnds.getCandidateSet(invalidWord)));
 
-            NCM[counter][0] = unigramChannelModel[counter][0]; //candidates
-            NCM[counter][1] = unigramChannelModel[counter][2]; //priori prob.
-            NCM[counter][2] = unigramChannelModel[counter][5]; //posteriori prob.
-            NCM[counter][3] = String.valueOf(String.format("%.5f", getNoisyChannelProbability(priori_prob, posteriori_prob))); //NCM prob.
+        //Retrieve the top-N elements with the highest probabilities
+        if ((candidateGroupSize > 0) && (candidateGroupSize < NCM.length)) {
+            return Candidate.getTop(NCM, candidateGroupSize, Candidate.BY_NOISY_CHANNEL);
         }
+
+        //Sort NCM array based on probabilities of candidates
+        Arrays.sort(NCM, Candidate.BY_NOISY_CHANNEL);
         return NCM;
     }
 
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words, calculated
+     * using the Language model and the Channel model. [0] - Candidate word. [1]
+     * - Priori probability. [2] - Posteriori probability. [3] - Noisy Channel
+     * probability, to 5 decimal places
+     *
+     * @param invalidWord
+     * @return Noisy channel probability from the unigram channel model
+     */
+    public String[][] unigramNoisyChannelModel(String invalidWord) {
+        return toRows(getUnigramCandidates(invalidWord));
+    }
+
     /**
      * Calculate the Noisy Channel probabilities of candidate words, calculated
      * using the Language model and the Channel model, limited to a maximum
@@ -63,50 +125,60 @@ public class NoisyChannelModel {
      * @return Noisy channel probability from the unigram channel model
      */
     public String[][] unigramNoisyChannelModel(String invalidWord, int candidateGroupSize) {
+        return toRows(getUnigramCandidates(invalidWord, candidateGroupSize));
+    }
 
-        invalidWord = invalidWord.toLowerCase();
-
-        String[][] unigramChannelModel = chmd.unigramChannelModel(invalidWord);
-        String NCM[][] = new String[unigramChannelModel.length][4]; //Word, Priori prob., Posterioiri prob., NCM prob.
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words, calculated
+     * using the Language model and the Channel model, in alphabetic order
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @return Candidates with their noisy channel probability from the
+     * bigram channel model
+     */
+    public Candidate[] getBigramCandidates(String invalidWord, String precedingWord) {
+        return getBigramCandidates(cnds.getCandidateSet(invalidWord), precedingWord);
+    }
 
-        for (int counter = 0; counter < NCM.length; counter++) {
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words already
+     * generated for an invalid word, calculated using the Language model and
+     * the Channel model, in alphabetic order. Generate the candidates once with
+     * {@link Candidates#getCandidateSet(String)} to score them with several
+     * models.
+     *
+     * @param candidates
+     * @param precedingWord
+     * @return Candidates with their noisy channel probability from the
+     * bigram channel model
+     */
+    public Candidate[] getBigramCandidates(CandidateSet candidates, String precedingWord) {
+        return getNoisyChannel(chmd.getBigramCandidates(candidates, precedingWord));
+    }
 
-            double priori_prob = Double.parseDouble(unigramChannelModel[counter][2]);
-            double posteriori_prob = Double.parseDouble(unigramChannelModel[counter][5]);
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words, calculated
+     * using the Language model and the Channel model, limited to a maximum
+     * number of candidate corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param candidateGroupSize
+     * @return Candidates with their noisy channel probability from the
+     * bigram channel model, the most likely first
+     */
+    public Candidate[] getBigramCandidates(String invalidWord, String precedingWord, int candidateGroupSize) {
+        Candidate[] NCM = getNoisyChannel(chmd.scoreBigram(cnds.getCandidateSet(invalidWord), precedingWord));
 
-            NCM[counter][0] = unigramChannelModel[counter][0]; //candidates
-            NCM[counter][1] = unigramChannelModel[counter][2]; //prior prob.
-            NCM[counter][2] = unigramChannelModel[counter][5]; //posterior prob.
-            NCM[counter][3] = String.valueOf(String.format("%.5f", getNoisyChannelProbability(priori_prob, posteriori_prob))); //NCM prob.
+        //Retrieve the top-N elements with the highest probabilities
+        if ((candidateGroupSize > 0) && (candidateGroupSize < NCM.length)) {
+            return Candidate.getTop(NCM, candidateGroupSize, Candidate.BY_NOISY_CHANNEL);
         }
 
         //Sort NCM array based on probabilities of candidates
-        Arrays.sort(NCM, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] probabilities, final String[] probabilitiez) {
-                String probability1 = probabilities[3];
-                String probability2 = probabilitiez[3];
-                return probability2.compareTo(probability1);
-            }
-        });
-
-        //Retrieve the top-N elements
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
-        if ((candidateGroupSize > 0) && (candidateGroupSize < NCM.length)) {
-
-            String[][] top_NCM = new String[candidateGroupSize][4]; //Candidate word, Priori, Posteriori
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-                top_NCM[counter][0] = NCM[counter][0];
-                top_NCM[counter][1] = NCM[counter][1];
-                top_NCM[counter][2] = NCM[counter][2];
-                top_NCM[counter][3] = NCM[counter][3];
-            }
-            return top_NCM;
-        } else {
-            return NCM;
-        }
+        Arrays.sort(NCM, Candidate.BY_NOISY_CHANNEL);
+        return NCM;
     }
 
     /**
@@ -120,24 +192,7 @@ public class NoisyChannelModel {
      * @return Noisy channel probability from the bigram channel model
      */
     public String[][] bigramNoisyChannelModel(String invalidWord, String precedingWord) {
-
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-
-        String[][] bigramChannelModel = chmd.bigramChannelModel(invalidWord, precedingWord);
-        String NCM[][] = new String[bigramChannelModel.length][4]; //Word, Prior prob., Posterioir prob., NCM prob
-
-        for (int counter = 0; counter < NCM.length; counter++) {
-
-            double priori_prob = Double.parseDouble(bigramChannelModel[counter][2]);
-            double posteriori_prob = Double.parseDouble(bigramChannelModel[counter][5]);
-
-            NCM[counter][0] = bigramChannelModel[counter][0]; //candidates
-            NCM[counter][1] = bigramChannelModel[counter][2]; //priori prob.
-            NCM[counter][2] = bigramChannelModel[counter][5]; //posteriori prob.
-            NCM[counter][3] = String.valueOf(String.format("%.5f", getNoisyChannelProbability(priori_prob, posteriori_prob))); //NCM prob.
-        }
-        return NCM;
+        return toRows(getBigramCandidates(invalidWord, precedingWord));
     }
 
     /**
@@ -153,51 +208,63 @@ public class NoisyChannelModel {
      * @return Noisy channel probability from the bigram channel model
      */
     public String[][] bigramNoisyChannelModel(String invalidWord, String precedingWord, int candidateGroupSize) {
+        return toRows(getBigramCandidates(invalidWord, precedingWord, candidateGroupSize));
+    }
 
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words, calculated
+     * using the Language model and the Channel model, in alphabetic order
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @return Candidates with their noisy channel probability from the
+     * trigram channel model
+     */
+    public Candidate[] getTrigramCandidates(String invalidWord, String precedingWord, String precedingPrecedingWord) {
+        return getTrigramCandidates(cnds.getCandidateSet(invalidWord), precedingWord, precedingPrecedingWord);
+    }
 
-        String[][] bigramChannelModel = chmd.bigramChannelModel(invalidWord, precedingWord);
-        String NCM[][] = new String[bigramChannelModel.length][4]; //Word, Prior prob., Posterioir prob., NCM prob.
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words already
+     * generated for an invalid word, calculated using the Language model and
+     * the Channel model, in alphabetic order. Generate the candidates once with
+     * {@link Candidates#getCandidateSet(String)} to score them with several
+     * models.
+     *
+     * @param candidates
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @return Candidates with their noisy channel probability from the
+     * trigram channel model
+     */
+    public Candidate[] getTrigramCandidates(CandidateSet candidates, String precedingWord, String precedingPrecedingWord) {
+        return getNoisyChannel(chmd.getTrigramCandidates(candidates, precedingWord, precedingPrecedingWord));
+    }
 
-        for (int counter = 0; counter < NCM.length; counter++) {
-            double priori_prob = Double.parseDouble(bigramChannelModel[counter][2]);
-            double posteriori_prob = Double.parseDouble(bigramChannelModel[counter][5]);
+    /**
+     * Calculate the Noisy Channel probabilities of candidate words, calculated
+     * using the Language model and the Channel model, limited to a maximum
+     * number of candidate corrections with the highest probabilities
+     *
+     * @param invalidWord
+     * @param precedingWord
+     * @param precedingPrecedingWord
+     * @param candidateGroupSize
+     * @return Candidates with their noisy channel probability from the
+     * trigram channel model, the most likely first
+     */
+    public Candidate[] getTrigramCandidates(String invalidWord, String precedingWord, String precedingPrecedingWord, int candidateGroupSize) {
+        Candidate[] NCM = getNoisyChannel(chmd.scoreTrigram(cnds.getCandidateSet(invalidWord), precedingWord, precedingPrecedingWord));
 
-            NCM[counter][0] = bigramChannelModel[counter][0]; //candidates
-            NCM[counter][1] = bigramChannelModel[counter][2]; //prior prob.
-            NCM[counter][2] = bigramChannelModel[counter][5]; //posterior prob.
-            NCM[counter][3] = String.valueOf(String.format("%.5f", getNoisyChannelProbability(priori_prob, posteriori_prob))); //NCM prob.
+        //Retrieve the top-N elements with the highest probabilities
+        if ((candidateGroupSize > 0) && (candidateGroupSize < NCM.length)) {
+            return Candidate.getTop(NCM, candidateGroupSize, Candidate.BY_NOISY_CHANNEL);
         }
 
         //Sort NCM array based on probabilities of candidates
-        Arrays.sort(NCM, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] probabilities, final String[] probabilitiez) {
-                String probability1 = probabilities[3];
-                String probability2 = probabilitiez[3];
-                return probability2.compareTo(probability1);
-            }
-        });
-
-        //Retrieve the top-N elements
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
-        if ((candidateGroupSize > 0) && (candidateGroupSize < NCM.length)) {
-
-            String[][] top_NCM = new String[candidateGroupSize][4]; //Candidate word, Priori, Posteriori
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-
-                top_NCM[counter][0] = NCM[counter][0];
-                top_NCM[counter][1] = NCM[counter][1];
-                top_NCM[counter][2] = NCM[counter][2];
-                top_NCM[counter][3] = NCM[counter][3];
-            }
-            return top_NCM;
-        } else {
-            return NCM;
-        }
+        Arrays.sort(NCM, Candidate.BY_NOISY_CHANNEL);
+        return NCM;
     }
 
     /**
@@ -212,25 +279,7 @@ public class NoisyChannelModel {
      * @return Noisy channel probability from the trigram channel model
      */
     public String[][] trigramNoisyChannelModel(String invalidWord, String precedingWord, String precedingPrecedingWord) {
-
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-        precedingPrecedingWord = precedingPrecedingWord.toLowerCase();
-
-        String[][] trigramChannelModel = chmd.trigramChannelModel(invalidWord, precedingWord, precedingPrecedingWord);
-        String NCM[][] = new String[trigramChannelModel.length][4]; //Word, Prior prob., Posterioir prob., NCM prob.
-
-        for (int counter = 0; counter < NCM.length; counter++) {
-
-            double priori_prob = Double.parseDouble(trigramChannelModel[counter][2]);
-            double posteriori_prob = Double.parseDouble(trigramChannelModel[counter][5]);
-
-            NCM[counter][0] = trigramChannelModel[counter][0]; //candidates
-            NCM[counter][1] = trigramChannelModel[counter][2]; //prior prob.
-            NCM[counter][2] = trigramChannelModel[counter][5]; //posterior prob.
-            NCM[counter][3] = String.valueOf(String.format("%.5f", getNoisyChannelProbability(priori_prob, posteriori_prob))); //NCM prob.
-        }
-        return NCM;
+        return toRows(getTrigramCandidates(invalidWord, precedingWord, precedingPrecedingWord));
     }
 
     /**
@@ -247,53 +296,18 @@ public class NoisyChannelModel {
      * @return Noisy channel probability from the trigram channel model
      */
     public String[][] trigramNoisyChannelModel(String invalidWord, String precedingWord, String precedingPrecedingWord, int candidateGroupSize) {
+        return toRows(getTrigramCandidates(invalidWord, precedingWord, precedingPrecedingWord, candidateGroupSize));
+    }
 
-        invalidWord = invalidWord.toLowerCase();
-        precedingWord = precedingWord.toLowerCase();
-        precedingPrecedingWord = precedingPrecedingWord.toLowerCase();
-
-        String[][] trigramChannelModel = chmd.trigramChannelModel(invalidWord, precedingWord, precedingPrecedingWord);
-        String NCM[][] = new String[trigramChannelModel.length][4]; //Word, Prior prob., Posterioir prob.
-
-        for (int counter = 0; counter < NCM.length; counter++) {
-
-            double priori_prob = Double.parseDouble(trigramChannelModel[counter][2]);
-            double posteriori_prob = Double.parseDouble(trigramChannelModel[counter][5]);
-
-            NCM[counter][0] = trigramChannelModel[counter][0]; //candidates
-            NCM[counter][1] = trigramChannelModel[counter][2]; //prior prob.
-            NCM[counter][2] = trigramChannelModel[counter][5]; //posterior prob.
-            NCM[counter][3] = String.valueOf(String.format("%.5f", getNoisyChannelProbability(priori_prob, posteriori_prob))); //NCM prob.
-        }
-
-        //Sort NCM array based on probabilities of candidates
-        Arrays.sort(NCM, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] probabilities, final String[] probabilitiez) {
-                String probability1 = probabilities[3];
-                String probability2 = probabilitiez[3];
-                return probability2.compareTo(probability1);
-            }
-        });
-
-        //Retrieve the top-N elements
-        //Ensure that the number of elements > 0 < candidate group size (0 < n < group size)
-        if ((candidateGroupSize > 0) && (candidateGroupSize < NCM.length)) {
-
-            String[][] top_NCM = new String[candidateGroupSize][4]; //Candidate word, Priori, Posteriori
-
-            //Assign top elements to selection size array
-            for (int counter = 0; counter < candidateGroupSize; counter++) {
-
-                top_NCM[counter][0] = NCM[counter][0];
-                top_NCM[counter][1] = NCM[counter][1];
-                top_NCM[counter][2] = NCM[counter][2];
-                top_NCM[counter][3] = NCM[counter][3];
-            }
-            return top_NCM;
-        } else {
-            return NCM;
+    private static String[][] toRows(Candidate[] candidates) {
+        String NCM[][] = new String[candidates.length][4]; //Word, Prior prob., Posterioir prob., NCM prob.
+        for (int counter = 0; counter < candidates.length; counter++) {
+            NCM[counter][0] = candidates[counter].getWord(); //candidates
+            NCM[counter][1] = Candidate.format(candidates[counter].getPrioriProbability()); //priori prob.
+            NCM[counter][2] = Candidate.format(candidates[counter].getPosterioriProbability()); //posteriori prob.
+            NCM[counter][3] = Candidate.format(candidates[counter].getNoisyChannelProbability()); //NCM prob.
         }
+        return NCM;
     }
 
 }
@@ -0,0 +1,467 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ordered grapheme-to-phoneme rewrite rules, read from a rule file such as
+ * English/PhonemeRules.txt (the file describes the rule syntax). The patterns
+ * of all the rules are compiled once into an Aho-Corasick automaton, so one
+ * scan of a word finds every pattern in it and only the rules whose pattern
+ * occurs are tried. The word is scanned again only after a rule rewrites it,
+ * so a bigger rule set costs little more per word.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public final class PhonemeRules {
+
+    private static final Pattern TERM = Pattern.compile("(@[a-z]*|len|\\d+)([+-]\\d+)?");
+    private static final Pattern CHAR_TEST = Pattern.compile("(" + TERM.pattern() + ")(\\.\\.)?:(!?)([a-zVC])");
+    private static final Pattern COMPARE_TEST = Pattern.compile("(" + TERM.pattern() + ")(>=|<=|!=|=|>|<)(" + TERM.pattern() + ")");
+    private static final Pattern SPAN = Pattern.compile("\\[(\\d+),(\\d+)\\]");
+
+    //Term kinds
+    private static final int TARGET = 0; //where the rule's pattern occurs
+    private static final int FIRST = 1; //where another pattern first occurs
+    private static final int LENGTH = 2;
+    private static final int CONSTANT = 3;
+
+    //Compare operators
+    private static final String[] OPERATORS = {"=", "!=", ">", ">=", "<", "<="};
+
+    //Automaton
+    private final int[] pattern_lengths;
+    private final KeywordAutomaton patterns_automaton; //patterns are a-z
+    //Rules
+    private final Rule[] rules;
+    private final int[][] rules_by_pattern; //rules tried where a pattern occurs
+
+    private final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch(pattern_lengths.length, rules.length);
+        }
+    };
+
+    /**
+     * Lazily compiled rules bundled with the engine
+     */
+    private static final class EnglishHolder {
+
+        static final PhonemeRules INSTANCE = new PhonemeRules(new Reader().getEnglishPhonemeRules());
+    }
+
+    /**
+     * Gets the English rules bundled with the engine, compiled once per JVM
+     *
+     * @return Shared English rules
+     */
+    public static PhonemeRules getEnglishRules() {
+        return EnglishHolder.INSTANCE;
+    }
+
+    /**
+     * Compile rules, one per line, in the order they are to be applied
+     *
+     * @param lines
+     * @throws IllegalArgumentException if a rule is malformed or there are no
+     * rules
+     */
+    public PhonemeRules(List<String> lines) {
+        Map<String, Integer> pattern_ids = new HashMap<>();
+        List<String> patterns = new ArrayList<>();
+        List<Rule> rule_list = new ArrayList<>();
+
+        int line_number = 0;
+        for (String line : lines) {
+            line_number++;
+            if (line.indexOf('#') >= 0) {
+                line = line.substring(0, line.indexOf('#')); //comment
+            }
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                Rule rule = parse(line, pattern_ids, patterns);
+                if (rule.chained && rule_list.isEmpty()) {
+                    throw new IllegalArgumentException("'|' without a rule before it");
+                }
+                rule_list.add(rule);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Bad phoneme rule at line " + line_number + ": " + ex.getMessage(), ex);
+            }
+        }
+
+        if (rule_list.isEmpty()) {
+            throw new IllegalArgumentException("No phoneme rules");
+        }
+        rules = rule_list.toArray(new Rule[rule_list.size()]);
+        for (int counter = rules.length - 1, end = rules.length; counter >= 0; counter--) {
+            rules[counter].chain_end = end;
+            if (!rules[counter].chained) {
+                end = counter;
+            }
+        }
+
+        pattern_lengths = new int[patterns.size()];
+        List<List<Integer>> by_pattern = new ArrayList<>();
+        for (int counter = 0; counter < patterns.size(); counter++) {
+            pattern_lengths[counter] = patterns.get(counter).length();
+            by_pattern.add(new ArrayList<Integer>());
+        }
+        for (int counter = 0; counter < rules.length; counter++) {
+            by_pattern.get(rules[counter].pattern).add(counter);
+        }
+        rules_by_pattern = new int[patterns.size()][];
+        for (int counter = 0; counter < patterns.size(); counter++) {
+            rules_by_pattern[counter] = KeywordAutomaton.toArray(by_pattern.get(counter));
+        }
+
+        patterns_automaton = new KeywordAutomaton(patterns);
+    }
+
+    /**
+     * Apply the rules to a word
+     *
+     * @param grapheme
+     * @return Word as rewritten by the rules, in order
+     */
+    public String rewrite(String grapheme) {
+        StringBuilder sb = new StringBuilder(grapheme);
+        Scratch s = scratch.get();
+        try {
+            scan(sb, s);
+            int counter = s.candidates.nextSetBit(0);
+            while (counter >= 0) {
+                Rule rule = rules[counter];
+                int at = rule.getOccurrence(sb, s);
+                if (at >= 0 && rule.holds(sb, s, at)) {
+                    sb.replace(at + rule.from, Math.min(at + rule.to, sb.length()), rule.text);
+                    scan(sb, s);
+                    counter = s.candidates.nextSetBit(rule.chain_end);
+                } else {
+                    counter = s.candidates.nextSetBit(counter + 1);
+                }
+            }
+        } finally {
+            s.reset(this);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Find where each pattern first and last occurs in a word and mark the
+     * rules that may fire
+     *
+     * @param sb
+     * @param s
+     */
+    private void scan(CharSequence sb, Scratch s) {
+        s.reset(this);
+        int state = KeywordAutomaton.START;
+        for (int counter = 0; counter < sb.length(); counter++) {
+            state = patterns_automaton.next(state, sb.charAt(counter));
+            for (int id : patterns_automaton.getKeywords(state)) {
+                int start = counter - pattern_lengths[id] + 1;
+                if (s.first[id] < 0) {
+                    s.first[id] = start;
+                    s.found[s.found_count++] = id;
+                    for (int rule : rules_by_pattern[id]) {
+                        s.candidates.set(rule);
+                    }
+                }
+                s.last[id] = start;
+            }
+        }
+    }
+
+    /**
+     * Parse one rule
+     *
+     * @param line
+     * @param pattern_ids
+     * @param patterns
+     * @return Parsed rule
+     */
+    private static Rule parse(String line, Map<String, Integer> pattern_ids, List<String> patterns) {
+        Rule rule = new Rule();
+        String[] parts = line.split("->", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("expected one '->'");
+        }
+        String[] tokens = parts[0].trim().split("\\s+");
+        int next = 0;
+        if (tokens[next].equals("|")) {
+            rule.chained = true;
+            next++;
+        } else if (tokens[next].startsWith("|")) {
+            rule.chained = true;
+            tokens[next] = tokens[next].substring(1);
+        }
+        if (next >= tokens.length) {
+            throw new IllegalArgumentException("missing pattern");
+        }
+        String target = tokens[next++];
+        if (target.endsWith("$")) {
+            rule.at_end = true;
+            target = target.substring(0, target.length() - 1);
+        }
+        rule.pattern = getPatternId(target, pattern_ids, patterns);
+        rule.length = target.length();
+
+        List<Test> tests = new ArrayList<>();
+        for (; next < tokens.length; next++) {
+            tests.add(parseTest(tokens[next], pattern_ids, patterns));
+        }
+        rule.tests = tests.toArray(new Test[tests.size()]);
+
+        //Edit
+        String edit = parts[1].trim();
+        rule.from = 0;
+        rule.to = target.length();
+        Matcher span = SPAN.matcher(edit);
+        if (span.lookingAt()) {
+            rule.from = Integer.parseInt(span.group(1));
+            rule.to = Integer.parseInt(span.group(2));
+            if (rule.to < rule.from) {
+                throw new IllegalArgumentException("empty span " + span.group());
+            }
+            edit = edit.substring(span.end()).trim();
+        }
+        if (edit.matches(".*\\s.*")) {
+            throw new IllegalArgumentException("replacement '" + edit + "' has spaces");
+        }
+        rule.text = edit;
+        return rule;
+    }
+
+    private static int getPatternId(String pattern, Map<String, Integer> pattern_ids, List<String> patterns) {
+        if (!pattern.matches("[a-z]+")) {
+            throw new IllegalArgumentException("pattern '" + pattern + "' is not lowercase letters");
+        }
+        Integer id = pattern_ids.get(pattern);
+        if (id == null) {
+            id = patterns.size();
+            pattern_ids.put(pattern, id);
+            patterns.add(pattern);
+        }
+        return id;
+    }
+
+    private static Test parseTest(String token, Map<String, Integer> pattern_ids, List<String> patterns) {
+        Test test = new Test();
+        Matcher m = CHAR_TEST.matcher(token);
+        if (m.matches()) {
+            test.left = parseTerm(m.group(1), pattern_ids, patterns);
+            test.to_end = m.group(4) != null;
+            test.negated = !m.group(5).isEmpty();
+            test.character = m.group(6).charAt(0);
+            return test;
+        }
+        m = COMPARE_TEST.matcher(token);
+        if (m.matches()) {
+            test.left = parseTerm(m.group(1), pattern_ids, patterns);
+            for (int counter = 0; counter < OPERATORS.length; counter++) {
+                if (OPERATORS[counter].equals(m.group(4))) {
+                    test.operator = counter;
+                }
+            }
+            test.right = parseTerm(m.group(5), pattern_ids, patterns);
+            return test;
+        }
+        throw new IllegalArgumentException("unknown test '" + token + "'");
+    }
+
+    private static Term parseTerm(String token, Map<String, Integer> pattern_ids, List<String> patterns) {
+        Matcher m = TERM.matcher(token);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("unknown term '" + token + "'");
+        }
+        Term term = new Term();
+        String base = m.group(1);
+        if (base.equals("@")) {
+            term.kind = TARGET;
+        } else if (base.startsWith("@")) {
+            term.kind = FIRST;
+            term.value = getPatternId(base.substring(1), pattern_ids, patterns);
+        } else if (base.equals("len")) {
+            term.kind = LENGTH;
+        } else {
+            term.kind = CONSTANT;
+            term.value = Integer.parseInt(base);
+        }
+        if (m.group(2) != null) {
+            term.offset = Integer.parseInt(m.group(2).startsWith("+") ? m.group(2).substring(1) : m.group(2));
+        }
+        return term;
+    }
+
+    /**
+     * Check if a character is a vowel (a,e,i,o,u,y)
+     */
+    private static boolean isVowel(char ch) {
+        return "aeiouy".indexOf(ch) >= 0;
+    }
+
+    /**
+     * Check if a character is a consonant
+     * (b,c,d,f,g,h,j,k,l,m,n,p,q,r,s,t,v,w,x,z)
+     */
+    private static boolean isConsonant(char ch) {
+        return "bcdfghjklmnpqrstvwxz".indexOf(ch) >= 0;
+    }
+
+    /**
+     * One rewrite rule: a pattern, the tests where it occurs, and the span of
+     * the occurrence rewritten when they all hold
+     */
+    private static final class Rule {
+
+        int pattern;
+        int length; //of the pattern
+        boolean at_end; //last occurrence, only where it ends the word
+        boolean chained; //tried only when the rule before it did not fire
+        int chain_end; //first rule after the chain of this rule
+        Test[] tests;
+        int from;
+        int to;
+        String text;
+
+        /**
+         * @return Where the rule applies, -1 if nowhere
+         */
+        int getOccurrence(CharSequence sb, Scratch s) {
+            if (!at_end) {
+                return s.first[pattern];
+            }
+            int last = s.last[pattern];
+            return last >= 0 && last == sb.length() - length ? last : -1;
+        }
+
+        boolean holds(CharSequence sb, Scratch s, int at) {
+            for (Test test : tests) {
+                if (!test.holds(sb, s, at)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Comparison of two terms, or a test of the character at a term
+     */
+    private static final class Test {
+
+        Term left;
+        Term right; //null for a character test
+        int operator;
+        char character; //a letter, V for a vowel or C for a consonant
+        boolean negated;
+        boolean to_end; //any character from the term to the end
+
+        boolean holds(CharSequence sb, Scratch s, int at) {
+            int index = left.getValue(sb, s, at);
+            if (right == null) {
+                if (to_end) {
+                    for (int counter = Math.max(index, 0); counter < sb.length(); counter++) {
+                        if (matches(sb.charAt(counter))) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                return index >= 0 && index < sb.length() && matches(sb.charAt(index)) != negated;
+            }
+            int other = right.getValue(sb, s, at);
+            switch (operator) {
+                case 0:
+                    return index == other;
+                case 1:
+                    return index != other;
+                case 2:
+                    return index > other;
+                case 3:
+                    return index >= other;
+                case 4:
+                    return index < other;
+                default:
+                    return index <= other;
+            }
+        }
+
+        private boolean matches(char ch) {
+            if (character == 'V') {
+                return isVowel(ch);
+            } else if (character == 'C') {
+                return isConsonant(ch);
+            }
+            return ch == character;
+        }
+    }
+
+    /**
+     * Position in a word: where the rule's pattern occurs, where another
+     * pattern first occurs, the length of the word or a constant, plus an
+     * offset
+     */
+    private static final class Term {
+
+        int kind;
+        int value; //pattern or constant
+        int offset;
+
+        int getValue(CharSequence sb, Scratch s, int at) {
+            switch (kind) {
+                case TARGET:
+                    return at + offset;
+                case FIRST:
+                    return s.first[value] + offset;
+                case LENGTH:
+                    return sb.length() + offset;
+                default:
+                    return value + offset;
+            }
+        }
+    }
+
+    /**
+     * Per-thread occurrences of the patterns in the word being rewritten
+     */
+    private static final class Scratch {
+
+        final int[] first;
+        final int[] last;
+        final int[] found; //patterns found, to reset
+        int found_count;
+        final BitSet candidates; //rules whose pattern occurs
+
+        Scratch(int patterns, int rules) {
+            first = new int[patterns];
+            last = new int[patterns];
+            found = new int[patterns];
+            Arrays.fill(first, -1);
+            Arrays.fill(last, -1);
+            candidates = new BitSet(rules);
+        }
+
+        void reset(PhonemeRules owner) {
+            for (int counter = 0; counter < found_count; counter++) {
+                int id = found[counter];
+                first[id] = -1;
+                last[id] = -1;
+                for (int rule : owner.rules_by_pattern[id]) {
+                    candidates.clear(rule);
+                }
+            }
+            found_count = 0;
+        }
+    }
+}
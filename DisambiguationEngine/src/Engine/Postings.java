@@ -0,0 +1,93 @@
+package Engine;
+
+import java.nio.IntBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists of entry positions filed under string keys, for the indexes that
+ * answer a query with one lookup per key. Each key maps to the start of its
+ * list, and the lists sit back to back in one int buffer, each as its length
+ * followed by its positions. The buffer either wraps an array on the heap or
+ * maps a section of a model image, with the keys in an n-gram section of
+ * their own.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class Postings {
+
+    private static final int[] NONE = new int[0];
+
+    private final Map<String, Integer> starts; //key -> start of its list
+    private final IntBuffer lists;
+
+    /**
+     * @param keys every key and its positions
+     */
+    Postings(Map<String, List<Integer>> keys) {
+        int length = 0;
+        for (List<Integer> positions : keys.values()) {
+            length += 1 + positions.size();
+        }
+        Map<String, Integer> key_starts = new HashMap<>(keys.size() * 4 / 3 + 1);
+        int[] key_lists = new int[length];
+        int start = 0;
+        for (Map.Entry<String, List<Integer>> key : keys.entrySet()) {
+            key_starts.put(key.getKey(), start);
+            key_lists[start++] = key.getValue().size();
+            for (int position : key.getValue()) {
+                key_lists[start++] = position;
+            }
+        }
+        this.starts = key_starts;
+        this.lists = IntBuffer.wrap(key_lists);
+    }
+
+    /**
+     * Map the postings compiled into a model image, see {@link #getStarts()}
+     * and {@link #getLayout()}
+     *
+     * @param image
+     * @param starts_id section of the keys
+     * @param lists_id section of the lists
+     */
+    Postings(ModelImage image, int starts_id, int lists_id) {
+        this.starts = image.getNGrams(starts_id);
+        this.lists = image.getInts(lists_id);
+    }
+
+    /**
+     * Gets the positions filed under a key
+     *
+     * @param key
+     * @return Positions, in the order they were filed
+     */
+    int[] get(String key) {
+        Integer start = starts.get(key);
+        if (start == null) {
+            return NONE;
+        }
+        int[] positions = new int[lists.get(start)];
+        for (int counter = 0; counter < positions.length; counter++) {
+            positions[counter] = lists.get(start + 1 + counter);
+        }
+        return positions;
+    }
+
+    /**
+     * @return Unmodifiable dictionary with every key and the start of its
+     * list, written as an n-gram section of a model image
+     */
+    Map<String, Integer> getStarts() {
+        return Collections.unmodifiableMap(starts);
+    }
+
+    /**
+     * @return Read-only lists, written as an int section of a model image
+     */
+    IntBuffer getLayout() {
+        return lists.asReadOnlyBuffer();
+    }
+}
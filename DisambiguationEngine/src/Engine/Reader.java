@@ -1,5 +1,8 @@
 package Engine;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
@@ -10,6 +13,66 @@ import java.util.*;
  */
 public final class Reader {
 
+    private final File directory; //Directory holding the resources, null for the bundled resources
+
+    /**
+     * Read the lexicons and n-grams bundled with the engine
+     */
+    public Reader() {
+        this.directory = null;
+    }
+
+    /**
+     * Read the lexicons and n-grams from a directory laid out like the bundled
+     * resources e.g. English/EnglishLexicon.txt, NGram/Unigram.txt
+     *
+     * @param directory
+     */
+    public Reader(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Open a resource from the resource directory or, by default, from the
+     * classpath
+     *
+     * @param resource
+     * @return Stream over the contents of the resource
+     * @throws IOException
+     */
+    private InputStream open(String resource) throws IOException {
+        if (directory == null) {
+            InputStream is = getClass().getResourceAsStream(resource);
+            if (is == null) {
+                throw new IOException("Missing resource " + resource);
+            }
+            return is;
+        }
+        return new FileInputStream(new File(directory, resource.substring(1)));
+    }
+
+    /**
+     * Read a resource the engine cannot work without, one line per element
+     *
+     * @param resource
+     * @return Lines of the resource
+     * @throws IllegalStateException if the resource is missing or empty
+     */
+    private List<String> getRequiredLines(String resource) {
+        List<String> lines = new ArrayList<>();
+        try (Scanner scan = new Scanner(new InputStreamReader(open(resource)))) {
+            while (scan.hasNextLine()) {
+                lines.add(scan.nextLine());
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read resource " + resource.substring(1), ex);
+        }
+        if (lines.isEmpty()) {
+            throw new IllegalStateException("Empty resource " + resource.substring(1));
+        }
+        return lines;
+    }
+
     /**
      * Get List of English words from English lexicon
      *
@@ -17,8 +80,7 @@ public final class Reader {
      */
     public final List<String> getEnglishLexicon() {
         List<String> eng_dict_words = new ArrayList<>();
-        final InputStream is = getClass().getResourceAsStream("/English/EnglishLexicon.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/English/EnglishLexicon.txt")))) {
             while (scan.hasNextLine()) {
                 eng_dict_words.add(scan.nextLine());
             }
@@ -35,8 +97,7 @@ public final class Reader {
      */
     public final List<String> getEnglishMorphemes() {
         List<String> eng_morphemes = new ArrayList<>();
-        final InputStream is = getClass().getResourceAsStream("/English/EnglishMorphemes.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/English/EnglishMorphemes.txt")))) {
             while (scan.hasNextLine()) {
                 eng_morphemes.add(scan.nextLine());
             }
@@ -53,8 +114,7 @@ public final class Reader {
      */
     public final List<String> getCorpusWords() {
         List<String> corp_words = new ArrayList<>();
-        InputStream is = getClass().getResourceAsStream("/Corpus/Corpus.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/Corpus/Corpus.txt")))) {
             while (scan.hasNext()) {
                 corp_words.add(scan.next()); //append each word into the arraylist
             }
@@ -72,8 +132,7 @@ public final class Reader {
      */
     public final List<String> getSwahiliLexicon() {
         List<String> swa_dict_words = new ArrayList<>();
-        InputStream is = getClass().getResourceAsStream("/Swahili/SwahiliLexicon.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/Swahili/SwahiliLexicon.txt")))) {
             while (scan.hasNextLine()) {
                 swa_dict_words.add(scan.nextLine());
             }
@@ -91,8 +150,7 @@ public final class Reader {
      */
     public final List<String> getSwahiliVerbs() {
         List<String> swa_verbs = new ArrayList<>();
-        InputStream is = getClass().getResourceAsStream("/Swahili/SwahiliVerbs.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/Swahili/SwahiliVerbs.txt")))) {
             while (scan.hasNextLine()) {
                 swa_verbs.add(scan.nextLine());
             }
@@ -110,8 +168,7 @@ public final class Reader {
      */
     public final List<String> getSwahiliAdjectives() {
         List<String> swa_verbs = new ArrayList<>();
-        InputStream is = getClass().getResourceAsStream("/Swahili/SwahiliAdjectives.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/Swahili/SwahiliAdjectives.txt")))) {
             while (scan.hasNextLine()) {
                 swa_verbs.add(scan.nextLine());
             }
@@ -121,6 +178,26 @@ public final class Reader {
         return swa_verbs;
     }
 
+    /**
+     * Gets the English grapheme-to-phoneme rewrite rules, one per line
+     *
+     * @return Lines of the English phoneme rules
+     * @throws IllegalStateException if the rules are missing or empty
+     */
+    public final List<String> getEnglishPhonemeRules() {
+        return getRequiredLines("/English/PhonemeRules.txt");
+    }
+
+    /**
+     * Gets the English-Swahili code-mixing table, one row per line
+     *
+     * @return Lines of the code-mixing table
+     * @throws IllegalStateException if the table is missing or empty
+     */
+    public final List<String> getCodeMixingTable() {
+        return getRequiredLines("/Swahili/CodeMixing.txt");
+    }
+
     /**
      * Read unigrams
      *
@@ -128,8 +205,7 @@ public final class Reader {
      */
     public final Map<String, Integer> getUnigram() {
         Map<String, Integer> gram_freq = new TreeMap<>();
-        InputStream is = getClass().getResourceAsStream("/NGram/Unigram.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/NGram/Unigram.txt")))) {
             while (scan.hasNextLine()) {
                 String[] gram_count = scan.nextLine().split("-->");
                 gram_freq.put(gram_count[0], Integer.parseInt(gram_count[1]));
@@ -147,8 +223,7 @@ public final class Reader {
      */
     public final Map<String, Integer> getBigram() {
         Map<String, Integer> gram_freq = new TreeMap<>();
-        InputStream is = getClass().getResourceAsStream("/NGram/Bigram.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/NGram/Bigram.txt")))) {
             while (scan.hasNextLine()) {
                 String[] gram_count = scan.nextLine().split("-->");
                 gram_freq.put(gram_count[0], Integer.parseInt(gram_count[1]));
@@ -166,8 +241,7 @@ public final class Reader {
      */
     public final Map<String, Integer> getTrigram() {
         Map<String, Integer> gram_freq = new TreeMap<>();
-        InputStream is = getClass().getResourceAsStream("/NGram/Trigram.txt");
-        try (Scanner scan = new Scanner(new InputStreamReader(is))) {
+        try (Scanner scan = new Scanner(new InputStreamReader(open("/NGram/Trigram.txt")))) {
             while (scan.hasNextLine()) {
                 String[] gram_count = scan.nextLine().split("-->");
                 gram_freq.put(gram_count[0], Integer.parseInt(gram_count[1]));
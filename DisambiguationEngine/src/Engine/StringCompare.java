@@ -8,6 +8,89 @@ import java.util.Arrays;
  */
 public class StringCompare {
 
+    //Longest pattern handled by the bit-parallel kernels, one bit per character
+    private static final int WORD_BITS = 64;
+
+    //Winkler's common prefix bonus
+    private static final double PREFIX_SCALE = 0.1; //bonus per prefix character
+    private static final int MAX_PREFIX = 4; //longest prefix rewarded
+    private static final double BOOST_THRESHOLD = 0.7; //Jaro distance above which the bonus applies
+
+    /**
+     * Working storage reused by every metric computed on a thread, grown on
+     * demand, so that scoring a pair of strings allocates nothing
+     */
+    private static final class Scratch {
+
+        static final int MAX_TABLE = 1 << 16; //largest DP matrix, row or flag array kept between calls
+
+        final long[] masks = new long[128]; //bit-parallel match masks of ASCII characters, all zero between calls
+        final long[] consonant_masks = new long[128]; //same, for the consonant writing of the pattern
+        int[] previous = new int[WORD_BITS + 1]; //DP rows
+        int[] current = new int[WORD_BITS + 1];
+        int[] table = new int[(WORD_BITS + 1) * (WORD_BITS + 1)]; //full DP matrix, for recovering the LCS itself
+        boolean[] original_matched = new boolean[WORD_BITS]; //Jaro match flags, all false between calls
+        boolean[] another_matched = new boolean[WORD_BITS];
+        final EditColumn column = new EditColumn(); //bit-parallel Levenshtien column
+
+        int[] getPrevious(int length) {
+            if (length > MAX_TABLE) {
+                return new int[length]; //too big to keep around
+            }
+            if (previous.length < length) {
+                previous = new int[length];
+            }
+            return previous;
+        }
+
+        int[] getCurrent(int length) {
+            if (length > MAX_TABLE) {
+                return new int[length];
+            }
+            if (current.length < length) {
+                current = new int[length];
+            }
+            return current;
+        }
+
+        int[] getTable(int size) {
+            if (size > MAX_TABLE) {
+                return new int[size]; //too big to keep around
+            }
+            if (table.length < size) {
+                table = new int[size];
+            }
+            return table;
+        }
+
+        boolean[] getOriginalFlags(int length) {
+            if (length > MAX_TABLE) {
+                return new boolean[length];
+            }
+            if (original_matched.length < length) {
+                original_matched = new boolean[length];
+            }
+            return original_matched;
+        }
+
+        boolean[] getAnotherFlags(int length) {
+            if (length > MAX_TABLE) {
+                return new boolean[length];
+            }
+            if (another_matched.length < length) {
+                another_matched = new boolean[length];
+            }
+            return another_matched;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
     /** Levenshtien edit distance ed(t, p) between two strings p (pattern) and t
      * (text) as the minimum number of insertions, deletions and replacements to
      * make p equal to t.
@@ -16,26 +99,26 @@ public class StringCompare {
      * @param anotherString
      * @return Levenshtien edit distance between two strings
      */
-    public static int getLevenshtienDistance(String originalString, String anotherString) {
+    public static int getLevenshtienDistance(CharSequence originalString, CharSequence anotherString) {
+        if (Math.min(originalString.length(), anotherString.length()) <= WORD_BITS) {
+            return getBitParallelLevenshtienDistance(originalString, anotherString); //short strings fit in one machine word
+        }
+
         /* Levenshtien Edit distance string matching...
          * The edit distance ed(t, p) between two strings p (pattern) and t (text) is the minimum number of insertions, deletions and replacements to make p equal to t.
          * Dynamic programming algorithm must fill the matrix in such a way that the upper, left, and upper-left neighbors of a cell are computed prior to computing that cell.
          */
 
-        int[][] array; // arrays to store the minimum number of operations needed to match one string to another
-
-        // create an array of length+1 of both strings to store elements rep. the cost of operations needed to convert a char to another
-        array = new int[originalString.length() + 1][anotherString.length() + 1];
+        Scratch scratch = SCRATCH.get();
+        int[] previous = scratch.getPrevious(anotherString.length() + 1); // row above the one in focus, storing the minimum number of operations needed to match one string to another
+        int[] current = scratch.getCurrent(anotherString.length() + 1); // row in focus; only two rows of the matrix are kept at any time
 
         // d=0 whenever the chars at position p in both strings match else d=1, i.e. d(a,b)=0 if a=b else d(a,b)=1
         int d;
 
-        //Populate first row & column with numbers (0...n)
-        for (int first_row = 0; first_row <= originalString.length(); first_row++) {
-            array[first_row][0] = first_row; //populate the first row
-        }
+        //Populate first row with numbers (0...n)
         for (int first_column = 0; first_column <= anotherString.length(); first_column++) {
-            array[0][first_column] = first_column; //populate the first column
+            previous[first_column] = first_column; //populate the first row
         }
 
         /*
@@ -47,20 +130,82 @@ public class StringCompare {
          * The corresponding element in focus within the array is calculated as the minimum number generated from the the surrounding elements based on the formula above
          * From these 3 elements we return the minimum element amongst them as the element at position Array[row][column]
          */
-        for (int row = 1; row < array.length; row++) //start from 1 since the first row & column have already been populated with numbers
+        for (int row = 1; row <= originalString.length(); row++) //start from 1 since the first row has already been populated with numbers
         {
-            for (int column = 1; column < array[row].length; column++) //start from 1 since the first row & column have already been populated with numbers
+            current[0] = row; //first column
+            for (int column = 1; column <= anotherString.length(); column++) //start from 1 since the first column has already been populated
             {
                 if (originalString.charAt(row - 1) == anotherString.charAt(column - 1)) { // compare the characters in the strings linearly (compare them at -1 because we are counting from 1 but strings start from 0)
                     d = 0; //d=0 wherever the corresponding characters at position p in both strings are similar
                 } else {
                     d = 1; //d=1 wherever the corresponding characters at position p in both strings are dissimilar
                 }
-                array[row][column] = Math.min((Math.min(array[row - 1][column - 1] + d, array[row - 1][column] + 1)), array[row][column - 1] + 1); // stores min value between the top-left, top & left element relative to the element in focus, repspectively.
+                current[column] = Math.min((Math.min(previous[column - 1] + d, previous[column] + 1)), current[column - 1] + 1); // stores min value between the top-left, top & left element relative to the element in focus, repspectively.
             }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
         }
 
-        return array[array.length - 1][array[array.length - 1].length - 1]; //returns the last element in the last row and last column within that row as the edit distance between the two strings
+        return previous[anotherString.length()]; //returns the last element in the last row as the edit distance between the two strings
+    }
+
+    /**
+     * Levenshtien edit distance between two strings, computed only as far as a
+     * given bound. Only the cells within maxK of the diagonal are filled, two
+     * rows at a time, and the computation stops as soon as a whole row
+     * exceeds the bound.
+     *
+     * @param originalString
+     * @param anotherString
+     * @param maxK Largest distance of interest (0 or more)
+     * @return Levenshtien edit distance between two strings if it is at most
+     * maxK, otherwise maxK + 1
+     */
+    public static int getLevenshtienDistance(CharSequence originalString, CharSequence anotherString, int maxK) {
+        int s1_length = originalString.length();
+        int s2_length = anotherString.length();
+        int over = maxK + 1; //stands for every distance beyond the bound
+
+        if (Math.abs(s1_length - s2_length) > maxK) {
+            return over; //at least one insertion/deletion per extra character
+        }
+
+        Scratch scratch = SCRATCH.get();
+        int[] previous = scratch.getPrevious(s2_length + 1); //row above
+        int[] current = scratch.getCurrent(s2_length + 1); //row being filled
+        for (int column = 0; column <= s2_length; column++) {
+            previous[column] = column <= maxK ? column : over;
+        }
+
+        for (int row = 1; row <= s1_length; row++) {
+            int first = Math.max(1, row - maxK); //band limits in this row
+            int last = Math.min(s2_length, row + maxK);
+
+            current[0] = row <= maxK ? row : over;
+            if (first > 1) {
+                current[first - 1] = over; //left of the band
+            }
+            int row_min = current[0];
+            char ch = originalString.charAt(row - 1);
+            for (int column = first; column <= last; column++) {
+                int d = ch == anotherString.charAt(column - 1) ? 0 : 1;
+                int cell = Math.min(Math.min(previous[column - 1] + d, previous[column] + 1), current[column - 1] + 1);
+                current[column] = cell < over ? cell : over;
+                row_min = Math.min(row_min, current[column]);
+            }
+            if (last < s2_length) {
+                current[last + 1] = over; //right of the band, read by the next row
+            }
+            if (row_min > maxK) {
+                return over; //distances never decrease from one row to the next
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[s2_length];
     }
 
     /**
@@ -71,101 +216,120 @@ public class StringCompare {
      * @param anotherString
      * @return Jaro-Winkler edit distance between two strings
      */
-    public static double getJaroWinklerDistance(String originalString, String anotherString) {
+    public static double getJaroWinklerDistance(CharSequence originalString, CharSequence anotherString) {
+        return getJaroWinklerDistance(originalString, anotherString, 0.0);
+    }
+
+    /**
+     * Check whether the Jaro-Winkler distance between two strings reaches a
+     * threshold, giving up as soon as it no longer can
+     *
+     * @param originalString
+     * @param anotherString
+     * @param threshold
+     * @return True if the Jaro-Winkler distance is at least the threshold
+     */
+    public static boolean isJaroWinklerSimilar(CharSequence originalString, CharSequence anotherString, double threshold) {
+        return getJaroWinklerDistance(originalString, anotherString, threshold) >= threshold;
+    }
+
+    /**
+     * Jaro-Winkler distance, or 0 once it is known to fall below a threshold
+     */
+    private static double getJaroWinklerDistance(CharSequence originalString, CharSequence anotherString, double threshold) {
         /*
          * Jaro-Winkler distance = measure of similarity between two strings
          *
          *   For two strings, originalString & anotherString;
          *      length_originalString = number of characters constituting originalString
          *      length_anotherString = number of characters constituting anotherString
-         *      matching_chars = number of matching characters between them
-         *      transpositions = number of transpositional characters between them
+         *      matching_chars = number of equal characters no further apart than half the longer string, less one
+         *      transpositions = half the number of matching characters that appear in a different order
 
-         * Jaro-Winkler distance = (1/3) ([matching_chars/length_originalString]+[matching_chars/length_anotherString]+[{matching_chars-transpositions}/matching_chars])
+         * Jaro distance = (1/3) ([matching_chars/length_originalString]+[matching_chars/length_anotherString]+[{matching_chars-transpositions}/matching_chars])
+         * Jaro-Winkler distance = Jaro + (common_prefix * 0.1 * (1 - Jaro)) for a common prefix of up to 4 characters, where Jaro > 0.7
          * such that: 0 equates to no similarity and 1 is an exact match
          */
 
         int s1_length = originalString.length(); //Length of string originalString
         int s2_length = anotherString.length(); //Length of string anotherString
+        if (s1_length == 0 || s2_length == 0) {
+            return s1_length == s2_length ? 1.0 : 0.0;
+        }
 
-        int transpositions = getTranspositions(originalString, anotherString); //Number of character transpositions between the two strings
-
-        int matches = getMatches(originalString, anotherString); //Number of matching characters between the two strings
-
-        final double fract1 = (double) 1 / 3;
-        double fract2 = (double) matches / s1_length;
-        double fract3 = (double) matches / s2_length;
-
-        double fract4num = (double) matches - transpositions;
-        double fract4 = (double) fract4num / matches;
-
-        double sum = fract2 + fract3 + fract4;
-        double ans = fract1 * sum;
-        return ans;
-    }
-
-    /**
-     * Half the number of transpositions between two strings
-     *
-     * @param originalString
-     * @param anotherString
-     * @return Half the number of transpositions between two strings
-     */
-    private static int getTranspositions(String originalString, String anotherString) {
-        int transpositions = 0;
-        if (originalString.length() < anotherString.length()) {
-            for (int counter = 0; counter < originalString.length(); counter++) {
-                if (originalString.charAt(counter) != anotherString.charAt(counter)) {
-                    transpositions++;
+        //Upper bound: all of the shorter string matched in order, with the full prefix bonus
+        final double max_bonus = MAX_PREFIX * PREFIX_SCALE;
+        int shorter = Math.min(s1_length, s2_length);
+        double best_jaro = ((double) shorter / s1_length + (double) shorter / s2_length + 1.0) / 3.0;
+        if (best_jaro + max_bonus * (1.0 - best_jaro) < threshold) {
+            return 0.0;
+        }
+        //Fewest matching characters that could still reach the threshold
+        double least_jaro = (threshold - max_bonus) / (1.0 - max_bonus);
+        double least_matches = (3.0 * least_jaro - 1.0) / (1.0 / s1_length + 1.0 / s2_length) - 1e-9;
+
+        int window = Math.max(Math.max(s1_length, s2_length) / 2 - 1, 0); //how far apart matching characters may be
+        Scratch scratch = SCRATCH.get();
+        boolean[] original_matched = scratch.getOriginalFlags(s1_length);
+        boolean[] another_matched = scratch.getAnotherFlags(s2_length);
+        try {
+            //Matching characters, each character of anotherString used once
+            int matches = 0;
+            for (int i = 0; i < s1_length; i++) {
+                if (matches + (s1_length - i) < least_matches) {
+                    return 0.0; //too few characters left to match
                 }
-            }
-        } else {
-            for (int counter = 0; counter < anotherString.length(); counter++) {
-                if (anotherString.charAt(counter) != originalString.charAt(counter)) {
-                    transpositions++;
+                char ch = originalString.charAt(i);
+                int last = Math.min(i + window, s2_length - 1);
+                for (int j = Math.max(0, i - window); j <= last; j++) {
+                    if (!another_matched[j] && anotherString.charAt(j) == ch) {
+                        original_matched[i] = true;
+                        another_matched[j] = true;
+                        matches++;
+                        break;
+                    }
                 }
             }
-        }
-        transpositions /= 2; //calculate half the number of transpositions
-        return transpositions;
-    }
+            if (matches == 0) {
+                return 0.0;
+            }
 
-    /**
-     * Number of matching characters between two strings
-     *
-     * @param originalString
-     * @param anotherString
-     * @return Number of matching characters between two strings
-     */
-    private static int getMatches(String originalString, String anotherString) {
-        //Calculates the number of matching characters betweent the two strings
-        int matches = 0;
-        if (originalString.length() > anotherString.length()) {
-            for (int counter = 0; counter < anotherString.length(); counter++) {
-                if (originalString.indexOf(anotherString.charAt(counter)) >= 0) {
-                    matches++;
+            //Transpositions, walking the matching characters of both strings in order
+            int out_of_order = 0;
+            int j = 0;
+            for (int i = 0; i < s1_length; i++) {
+                if (original_matched[i]) {
+                    while (!another_matched[j]) {
+                        j++;
+                    }
+                    if (originalString.charAt(i) != anotherString.charAt(j)) {
+                        out_of_order++;
+                    }
+                    j++;
                 }
             }
-        } else if (originalString.length() < anotherString.length()) {
-            for (int counter = 0; counter < originalString.length(); counter++) {
-                if (anotherString.indexOf(originalString.charAt(counter)) >= 0) {
-                    matches++;
-                }
+            int transpositions = out_of_order / 2;
+
+            final double fract1 = (double) 1 / 3;
+            double fract2 = (double) matches / s1_length;
+            double fract3 = (double) matches / s2_length;
+            double fract4 = (double) (matches - transpositions) / matches;
+            double jaro = fract1 * (fract2 + fract3 + fract4);
+            if (jaro <= BOOST_THRESHOLD) {
+                return jaro;
             }
-        } else if (originalString.length() == anotherString.length()) {
-            char[] originalArray = originalString.toCharArray();
-            char[] anotherArray = anotherString.toCharArray();
-
-            Arrays.sort(originalArray);
-            Arrays.sort(anotherArray);
 
-            for (int counter = 0; counter < originalArray.length; counter++) {
-                if (originalArray[counter] == anotherArray[counter]) {
-                    matches++;
-                }
+            //Winkler's bonus for a common prefix
+            int prefix = 0;
+            int max_prefix = Math.min(MAX_PREFIX, shorter);
+            while (prefix < max_prefix && originalString.charAt(prefix) == anotherString.charAt(prefix)) {
+                prefix++;
             }
+            return jaro + prefix * PREFIX_SCALE * (1.0 - jaro);
+        } finally {
+            Arrays.fill(original_matched, 0, s1_length, false);
+            Arrays.fill(another_matched, 0, s2_length, false);
         }
-        return matches;
     }
 
     /**
@@ -175,23 +339,27 @@ public class StringCompare {
      * @param anotherString
      * @return Longest Common Subsequence between two strings
      */
-    public static String getLCS(String originalString, String anotherString) {
+    public static String getLCS(CharSequence originalString, CharSequence anotherString) {
 
-        int[][] opt; // opt[i][j] = length of LCS of x[i..x_length] and y[j..x_length]
         int s1_length = originalString.length();
         int s2_length = anotherString.length();
+        int width = s2_length + 1; // opt[i][j] = length of LCS of x[i..x_length] and y[j..x_length], stored at i * width + j
 
         StringBuilder sb = new StringBuilder();
 
-        opt = new int[s1_length + 1][s2_length + 1];
+        int[] opt = SCRATCH.get().getTable((s1_length + 1) * width);
+        for (int j = 0; j <= s2_length; j++) {
+            opt[s1_length * width + j] = 0; //last row
+        }
 
         // compute length of LCS and all subproblems via dynamic programming
         for (int i = s1_length - 1; i >= 0; i--) {
+            opt[i * width + s2_length] = 0; //last column
             for (int j = s2_length - 1; j >= 0; j--) {
                 if (originalString.charAt(i) == anotherString.charAt(j)) {
-                    opt[i][j] = opt[i + 1][j + 1] + 1;
+                    opt[i * width + j] = opt[(i + 1) * width + j + 1] + 1;
                 } else {
-                    opt[i][j] = Math.max(opt[i + 1][j], opt[i][j + 1]);
+                    opt[i * width + j] = Math.max(opt[(i + 1) * width + j], opt[i * width + j + 1]);
                 }
             }
         }
@@ -203,7 +371,7 @@ public class StringCompare {
                 sb.append(originalString.charAt(i));
                 i++;
                 j++;
-            } else if (opt[i + 1][j] >= opt[i][j + 1]) {
+            } else if (opt[(i + 1) * width + j] >= opt[i * width + j + 1]) {
                 i++;
             } else {
                 j++;
@@ -219,25 +387,315 @@ public class StringCompare {
      * @param anotherString
      * @return Length of the Longest Common Subsequence between two strings
      */
-    public static int getLengthLCS(String originalString, String anotherString) {
+    public static int getLengthLCS(CharSequence originalString, CharSequence anotherString) {
+        if (Math.min(originalString.length(), anotherString.length()) <= WORD_BITS) {
+            return getBitParallelLengthLCS(originalString, anotherString); //short strings fit in one machine word
+        }
 
-        int[][] opt; // opt[i][j] = length of LCS of x[i..x_length] and y[j..x_length]
         int s1_length = originalString.length();
         int s2_length = anotherString.length();
 
-        opt = new int[s1_length + 1][s2_length + 1];
+        Scratch scratch = SCRATCH.get();
+        int[] below = scratch.getPrevious(s2_length + 1); // opt[i+1][j] = length of LCS of x[i+1..x_length] and y[j..x_length]
+        int[] opt = scratch.getCurrent(s2_length + 1); // opt[i][j] = length of LCS of x[i..x_length] and y[j..x_length]
+        Arrays.fill(below, 0, s2_length + 1, 0);
 
-        // compute length of LCS and all subproblems via dynamic programming
+        // compute length of LCS and all subproblems via dynamic programming, one row at a time
         for (int i = s1_length - 1; i >= 0; i--) {
+            opt[s2_length] = 0;
             for (int j = s2_length - 1; j >= 0; j--) {
                 if (originalString.charAt(i) == anotherString.charAt(j)) {
-                    opt[i][j] = opt[i + 1][j + 1] + 1;
+                    opt[j] = below[j + 1] + 1;
                 } else {
-                    opt[i][j] = Math.max(opt[i + 1][j], opt[i][j + 1]);
+                    opt[j] = Math.max(below[j], opt[j + 1]);
+                }
+            }
+            int[] swap = below;
+            below = opt;
+            opt = swap;
+        }
+        return below[0]; //return length of the longest subsequence common to all sequences in the strings
+    }
+
+    /**
+     * LCS length and Levenshtien edit distance between two strings, computed
+     * together in a single pass over the pair
+     *
+     * @param originalString
+     * @param anotherString
+     * @return Match profile of the two strings
+     */
+    public static MatchProfile getMatchProfile(CharSequence originalString, CharSequence anotherString) {
+        return getMatchProfile(originalString, anotherString, false);
+    }
+
+    /**
+     * LCS length between two strings and Levenshtien edit distance between
+     * their consonant writings (see {@link Graphemic#getConsonantWriting}),
+     * computed together in a single pass over the pair
+     *
+     * @param originalString
+     * @param anotherString
+     * @return Match profile of the two strings
+     */
+    public static MatchProfile getConsonantMatchProfile(CharSequence originalString, CharSequence anotherString) {
+        return getMatchProfile(originalString, anotherString, true);
+    }
+
+    private static MatchProfile getMatchProfile(CharSequence originalString, CharSequence anotherString, boolean consonants) {
+        int s1_length = originalString.length();
+        int s2_length = anotherString.length();
+        //Vowels are stripped character by character only where that agrees with lower-casing the whole string first
+        boolean fused = Math.min(s1_length, s2_length) <= WORD_BITS
+                && (!consonants || (isPlainLowerCase(originalString) && isPlainLowerCase(anotherString)));
+        if (!fused) {
+            int distance = consonants
+                    ? getLevenshtienDistance(Graphemic.getConsonantWriting(originalString.toString()), Graphemic.getConsonantWriting(anotherString.toString()))
+                    : getLevenshtienDistance(originalString, anotherString);
+            return new MatchProfile(s1_length, s2_length, getLengthLCS(originalString, anotherString), distance);
+        }
+
+        //Both measures are symmetric, so the shorter string can serve as the pattern for both
+        CharSequence pattern = s1_length <= s2_length ? originalString : anotherString;
+        CharSequence text = pattern == originalString ? anotherString : originalString;
+        int m = pattern.length();
+
+        Scratch scratch = SCRATCH.get();
+        long[] masks = getMasks(pattern);
+        long[] edit_masks = masks;
+        int edit_m = m; //length of the pattern the edit distance runs over
+        if (consonants) {
+            edit_masks = scratch.consonant_masks;
+            edit_m = addMasks(pattern, edit_masks, true);
+        }
+
+        try {
+            long v = -1L; //LCS vector
+            EditColumn column = scratch.column.reset(edit_m);
+            for (int j = 0; j < text.length(); j++) {
+                char ch = text.charAt(j);
+                long eq = getMask(pattern, masks, ch);
+                v = advanceLCS(v, eq);
+                if (consonants) {
+                    if (isVowel(ch)) {
+                        continue; //absent from the consonant writing
+                    }
+                    eq = edit_masks[ch];
                 }
+                column.advance(eq);
+            }
+            return new MatchProfile(s1_length, s2_length, getLengthLCS(v, m), column.score);
+        } finally {
+            clearMasks(pattern, masks);
+            if (consonants) {
+                clearMasks(pattern, edit_masks);
+            }
+        }
+    }
+
+    private static boolean isVowel(char ch) {
+        return ch == 'a' || ch == 'e' || ch == 'i' || ch == 'o' || ch == 'u';
+    }
+
+    /**
+     * @param sequence
+     * @return True if the sequence is ASCII with no upper-case letters
+     */
+    private static boolean isPlainLowerCase(CharSequence sequence) {
+        for (int counter = 0; counter < sequence.length(); counter++) {
+            char ch = sequence.charAt(counter);
+            if (ch >= 128 || (ch >= 'A' && ch <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Match masks of a pattern (at most 64 characters long): bit i of the
+     * mask of a character is set wherever the pattern holds that character.
+     * ASCII characters are looked up in the table, others are computed on
+     * demand by {@link #getMask(CharSequence, long[], char)}. The table must be
+     * handed back to {@link #clearMasks(CharSequence, long[])}
+     *
+     * @param pattern
+     * @return Masks of the ASCII characters
+     */
+    private static long[] getMasks(CharSequence pattern) {
+        long[] masks = SCRATCH.get().masks;
+        addMasks(pattern, masks, false);
+        return masks;
+    }
+
+    /**
+     * Set the match masks of a pattern's ASCII characters in a table
+     *
+     * @param pattern
+     * @param masks zeroed table
+     * @param consonants if true, mask the consonant writing of the pattern
+     * (its vowels left out) rather than the pattern itself
+     * @return Length of the masked pattern
+     */
+    private static int addMasks(CharSequence pattern, long[] masks, boolean consonants) {
+        int length = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (consonants && isVowel(ch)) {
+                continue;
+            }
+            if (ch < 128) {
+                masks[ch] |= 1L << length;
+            }
+            length++;
+        }
+        return length;
+    }
+
+    private static void clearMasks(CharSequence pattern, long[] masks) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch < 128) {
+                masks[ch] = 0;
+            }
+        }
+    }
+
+    private static long getMask(CharSequence pattern, long[] masks, char ch) {
+        if (ch < 128) {
+            return masks[ch];
+        }
+        long mask = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            if (pattern.charAt(i) == ch) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Levenshtien edit distance using Myers' bit-vector algorithm, in the form
+     * given by Hyyro for whole-string distance. A column of the DP matrix is
+     * held as its vertical deltas (+1/-1 bit-vectors), so each character of
+     * the text updates the whole column in a handful of word operations.
+     *
+     * @param originalString
+     * @param anotherString
+     * @return Levenshtien edit distance between two strings
+     */
+    private static int getBitParallelLevenshtienDistance(CharSequence originalString, CharSequence anotherString) {
+        CharSequence pattern = originalString.length() <= anotherString.length() ? originalString : anotherString; //the shorter string runs down the column
+        CharSequence text = pattern == originalString ? anotherString : originalString;
+        int m = pattern.length();
+        if (m == 0) {
+            return text.length();
+        }
+
+        long[] masks = getMasks(pattern);
+        EditColumn column = SCRATCH.get().column.reset(m);
+        try {
+            for (int j = 0; j < text.length(); j++) {
+                column.advance(getMask(pattern, masks, text.charAt(j)));
             }
+        } finally {
+            clearMasks(pattern, masks); //leave the table zeroed for the next call
         }
-        return opt[0][0]; //return length of the longest subsequence common to all sequences in the strings
+        return column.score;
     }
 
+    /**
+     * Column of the Levenshtien DP matrix for a pattern of at most 64
+     * characters, held as its vertical deltas (+1/-1 bit-vectors) and its
+     * bottom cell
+     */
+    private static final class EditColumn {
+
+        private long last; //bit of the bottom cell of the column
+        private long pv; //vertical +1 deltas
+        private long mv; //vertical -1 deltas
+        int score; //bottom cell of the current column
+
+        /**
+         * Start at the first column, which reads 0, 1, 2, ...
+         *
+         * @param m pattern length
+         * @return This column
+         */
+        EditColumn reset(int m) {
+            last = m == 0 ? 0L : 1L << (m - 1);
+            pv = -1L;
+            mv = 0L;
+            score = m;
+            return this;
+        }
+
+        /**
+         * Move to the next column
+         *
+         * @param eq match mask of the next text character
+         */
+        void advance(long eq) {
+            if (last == 0) {
+                score++; //empty pattern, every character of the text is an insertion
+                return;
+            }
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv); //horizontal +1 deltas
+            long mh = pv & xh; //horizontal -1 deltas
+
+            if ((ph & last) != 0) {
+                score++;
+            } else if ((mh & last) != 0) {
+                score--;
+            }
+
+            ph = (ph << 1) | 1L; //the top row reads 0, 1, 2, ... so it always steps up
+            mh = mh << 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+    }
+
+    /**
+     * Length of the Longest Common Subsequence using the bit-vector algorithm
+     * of Allison-Dix and Crochemore et al. A zero bit in the vector marks a
+     * pattern position where the LCS grows by one, so the LCS length is the
+     * number of zero bits.
+     *
+     * @param originalString
+     * @param anotherString
+     * @return Length of the Longest Common Subsequence between two strings
+     */
+    private static int getBitParallelLengthLCS(CharSequence originalString, CharSequence anotherString) {
+        CharSequence pattern = originalString.length() <= anotherString.length() ? originalString : anotherString;
+        CharSequence text = pattern == originalString ? anotherString : originalString;
+        int m = pattern.length();
+        if (m == 0) {
+            return 0;
+        }
+
+        long[] masks = getMasks(pattern);
+        long v = -1L;
+        try {
+            for (int j = 0; j < text.length(); j++) {
+                v = advanceLCS(v, getMask(pattern, masks, text.charAt(j)));
+            }
+        } finally {
+            clearMasks(pattern, masks); //leave the table zeroed for the next call
+        }
+        return getLengthLCS(v, m);
+    }
+
+    //Next LCS vector, given the match mask of the next text character
+    private static long advanceLCS(long v, long eq) {
+        long u = v & eq;
+        return (v + u) | (v - u);
+    }
+
+    //LCS length read off the vector of a pattern of length m
+    private static int getLengthLCS(long v, int m) {
+        long used = m == WORD_BITS ? -1L : (1L << m) - 1; //carries above the pattern are ignored
+        return m - Long.bitCount(v & used);
+    }
 }
@@ -0,0 +1,222 @@
+package Engine;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Trie over a list of strings for abbreviation lookups, i.e. finding every
+ * entry that holds a word as a subsequence e.g. thrsdy(thursday),
+ * tmrw(tomorrow). The trie is walked matching the word greedily along each
+ * path, and a branch is dropped as soon as it is too short or lacks a letter
+ * the word still needs, so no LCS table is filled per entry.
+ *
+ * The trie is held as flat int arrays over the nodes, numbered depth first
+ * from the root, so it can be read in place from a model image.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class SubsequenceIndex {
+
+    private final IntBuffer layout; //every array below, back to back
+    private final IntBuffer order; //Positions of the entries, in trie order
+    private final IntBuffer ranges; //Range of the order array below each node, as from & to
+    private final IntBuffer masks; //Letters found below each node, as the high & low ints of a long
+    private final IntBuffer heights; //Length of the longest path below each node
+    private final IntBuffer child_offsets; //Children of node i at [child_offsets[i], child_offsets[i + 1])
+    private final IntBuffer child_labels; //Letter leading to each child
+    private final IntBuffer child_nodes; //Node of each child
+
+    /**
+     * Node under construction
+     */
+    private static final class Node {
+
+        char[] labels; //Letters leading to the children
+        Node[] children;
+        int from, to; //Range of the order array below this node
+        long mask; //Letters found below this node
+        int height; //Length of the longest path below this node
+        int id; //Depth first number
+    }
+
+    SubsequenceIndex(List<String> words) {
+        this(build(words.toArray(new String[words.size()])));
+    }
+
+    /**
+     * Index by a trie built from a list, e.g. mapped from a model image
+     *
+     * @param layout trie arrays, laid out by
+     * {@link ModelImage#putArrays(int[]...)}
+     */
+    SubsequenceIndex(IntBuffer layout) {
+        this.layout = layout;
+        IntBuffer arrays = layout.duplicate();
+        order = ModelImage.nextArray(arrays);
+        ranges = ModelImage.nextArray(arrays);
+        masks = ModelImage.nextArray(arrays);
+        heights = ModelImage.nextArray(arrays);
+        child_offsets = ModelImage.nextArray(arrays);
+        child_labels = ModelImage.nextArray(arrays);
+        child_nodes = ModelImage.nextArray(arrays);
+    }
+
+    /**
+     * Build the trie of the entries and flatten it
+     *
+     * @param entries
+     * @return Trie arrays
+     */
+    private static IntBuffer build(final String[] entries) {
+        Integer[] sorted = new Integer[entries.length];
+        for (int counter = 0; counter < entries.length; counter++) {
+            sorted[counter] = counter;
+        }
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer first, Integer second) {
+                return entries[first].compareTo(entries[second]);
+            }
+        });
+        int[] order = new int[entries.length];
+        for (int counter = 0; counter < entries.length; counter++) {
+            order[counter] = sorted[counter];
+        }
+
+        //Number the nodes depth first
+        List<Node> nodes = new ArrayList<>();
+        number(build(entries, order, 0, entries.length, 0), nodes);
+        int[] ranges = new int[nodes.size() * 2];
+        int[] masks = new int[nodes.size() * 2];
+        int[] heights = new int[nodes.size()];
+        int[] child_offsets = new int[nodes.size() + 1];
+        int[] child_labels = new int[nodes.size() - 1];
+        int[] child_nodes = new int[nodes.size() - 1];
+        int child = 0;
+        for (int node = 0; node < nodes.size(); node++) {
+            Node current = nodes.get(node);
+            ranges[node * 2] = current.from;
+            ranges[node * 2 + 1] = current.to;
+            masks[node * 2] = (int) (current.mask >>> 32);
+            masks[node * 2 + 1] = (int) current.mask;
+            heights[node] = current.height;
+            child_offsets[node] = child;
+            for (int counter = 0; counter < current.children.length; counter++) {
+                child_labels[child] = current.labels[counter];
+                child_nodes[child++] = current.children[counter].id;
+            }
+        }
+        child_offsets[nodes.size()] = child;
+        return ModelImage.putArrays(order, ranges, masks, heights, child_offsets, child_labels, child_nodes);
+    }
+
+    /**
+     * Number a node and the nodes below it, depth first
+     */
+    private static void number(Node node, List<Node> nodes) {
+        node.id = nodes.size();
+        nodes.add(node);
+        for (Node child : node.children) {
+            number(child, nodes);
+        }
+    }
+
+    /**
+     * Build the node for a range of sorted entries sharing a prefix
+     *
+     * @param entries
+     * @param order
+     * @param from
+     * @param to
+     * @param depth Length of the shared prefix
+     * @return Node for the range
+     */
+    private static Node build(String[] entries, int[] order, int from, int to, int depth) {
+        Node node = new Node();
+        node.from = from;
+        node.to = to;
+
+        int start = from;
+        while (start < to && entries[order[start]].length() == depth) {
+            start++; //entries ending here sort first
+        }
+        int groups = 0;
+        for (int counter = start; counter < to; counter++) {
+            if (counter == start || entries[order[counter]].charAt(depth) != entries[order[counter - 1]].charAt(depth)) {
+                groups++;
+            }
+        }
+
+        node.labels = new char[groups];
+        node.children = new Node[groups];
+        int group = 0;
+        while (start < to) {
+            char label = entries[order[start]].charAt(depth);
+            int end = start + 1;
+            while (end < to && entries[order[end]].charAt(depth) == label) {
+                end++;
+            }
+            Node child = build(entries, order, start, end, depth + 1);
+            node.labels[group] = label;
+            node.children[group] = child;
+            node.mask |= bit(label) | child.mask;
+            node.height = Math.max(node.height, child.height + 1);
+            group++;
+            start = end;
+        }
+        return node;
+    }
+
+    /**
+     * Letters are hashed onto 64 bits; a clash only weakens the pruning
+     */
+    private static long bit(char ch) {
+        return 1L << (ch & 63);
+    }
+
+    /**
+     * @return Read-only trie arrays, written as an int section of a model
+     * image
+     */
+    IntBuffer getLayout() {
+        return layout.asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the entries that hold a word as a subsequence, i.e. the entries
+     * whose LCS with the word is as long as the word
+     *
+     * @param word
+     * @return Positions of the matching entries in the indexed list
+     */
+    BitSet getSupersequences(String word) {
+        long[] needed = new long[word.length() + 1]; //letters still to be matched from each position of the word
+        for (int counter = word.length() - 1; counter >= 0; counter--) {
+            needed[counter] = needed[counter + 1] | bit(word.charAt(counter));
+        }
+        BitSet matches = new BitSet(order.limit());
+        walk(0, word, 0, needed, matches);
+        return matches;
+    }
+
+    private void walk(int node, String word, int matched, long[] needed, BitSet matches) {
+        if (matched == word.length()) {
+            for (int counter = ranges.get(node * 2); counter < ranges.get(node * 2 + 1); counter++) {
+                matches.set(order.get(counter));
+            }
+            return;
+        }
+        long mask = ((long) masks.get(node * 2) << 32) | (masks.get(node * 2 + 1) & 0xFFFFFFFFL);
+        if (heights.get(node) < word.length() - matched || (mask & needed[matched]) != needed[matched]) {
+            return;
+        }
+        char next = word.charAt(matched);
+        for (int child = child_offsets.get(node); child < child_offsets.get(node + 1); child++) {
+            walk(child_nodes.get(child), word, child_labels.get(child) == next ? matched + 1 : matched, needed, matches);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package Engine;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Suffix array over a list of strings, for finding every entry that contains
+ * a given substring e.g. net(internet). The suffixes starting with the
+ * substring are adjacent in the array, so a query is a binary search for the
+ * first of them followed by one step per hit.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class SubstringIndex {
+
+    private final List<String> entries; //Indexed strings
+    private final IntBuffer layout; //both arrays below
+    private final IntBuffer suffix_entries; //Entry of each suffix, in suffix order
+    private final IntBuffer suffix_offsets; //Offset of each suffix within its entry, in suffix order
+
+    SubstringIndex(List<String> words) {
+        this(words, sort(words.toArray(new String[words.size()])));
+    }
+
+    /**
+     * Index a list by a suffix array built from it, e.g. mapped from a model
+     * image
+     *
+     * @param words
+     * @param layout suffix entries & offsets, laid out by
+     * {@link ModelImage#putArrays(int[]...)}
+     */
+    SubstringIndex(List<String> words, IntBuffer layout) {
+        this.entries = words;
+        this.layout = layout;
+        IntBuffer arrays = layout.duplicate();
+        suffix_entries = ModelImage.nextArray(arrays);
+        suffix_offsets = ModelImage.nextArray(arrays);
+    }
+
+    /**
+     * Sort the suffixes of the entries
+     *
+     * @param entries
+     * @return Suffix entries & offsets
+     */
+    private static IntBuffer sort(final String[] entries) {
+        int total = 0;
+        for (String entry : entries) {
+            total += entry.length() + 1; //the empty suffix included, since every entry contains ""
+        }
+        final int[] owners = new int[total];
+        final int[] offsets = new int[total];
+        Integer[] sorted = new Integer[total];
+        int suffix = 0;
+        for (int counter = 0; counter < entries.length; counter++) {
+            for (int offset = 0; offset <= entries[counter].length(); offset++) {
+                owners[suffix] = counter;
+                offsets[suffix] = offset;
+                sorted[suffix] = suffix;
+                suffix++;
+            }
+        }
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer first, Integer second) {
+                String word = entries[owners[first]];
+                String another = entries[owners[second]];
+                int offset = offsets[first];
+                int another_offset = offsets[second];
+                while (offset < word.length() && another_offset < another.length()) {
+                    char ch = word.charAt(offset++);
+                    char another_ch = another.charAt(another_offset++);
+                    if (ch != another_ch) {
+                        return ch - another_ch;
+                    }
+                }
+                return (word.length() - offset) - (another.length() - another_offset);
+            }
+        });
+
+        int[] suffix_entries = new int[total];
+        int[] suffix_offsets = new int[total];
+        for (int counter = 0; counter < total; counter++) {
+            suffix_entries[counter] = owners[sorted[counter]];
+            suffix_offsets[counter] = offsets[sorted[counter]];
+        }
+        return ModelImage.putArrays(suffix_entries, suffix_offsets);
+    }
+
+    /**
+     * @return Read-only suffix array, written as an int section of a model
+     * image
+     */
+    IntBuffer getLayout() {
+        return layout.asReadOnlyBuffer();
+    }
+
+    /**
+     * Compare a suffix of an entry with a string
+     *
+     * @param entry
+     * @param offset
+     * @param key
+     * @return Same sign as suffix.compareTo(key)
+     */
+    private int compareSuffix(int entry, int offset, String key) {
+        String word = entries.get(entry);
+        int length = word.length() - offset;
+        int limit = Math.min(length, key.length());
+        for (int counter = 0; counter < limit; counter++) {
+            char ch = word.charAt(offset + counter);
+            if (ch != key.charAt(counter)) {
+                return ch - key.charAt(counter);
+            }
+        }
+        return length - key.length();
+    }
+
+    /**
+     * Gets the entries containing a substring
+     *
+     * @param substring
+     * @return Positions of the matching entries in the indexed list
+     */
+    BitSet getSuperstrings(String substring) {
+        //First suffix not below the substring
+        int low = 0;
+        int high = suffix_entries.limit();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareSuffix(suffix_entries.get(mid), suffix_offsets.get(mid), substring) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        BitSet matches = new BitSet(entries.size());
+        for (int counter = low; counter < suffix_entries.limit(); counter++) {
+            int entry = suffix_entries.get(counter);
+            if (!entries.get(entry).startsWith(substring, suffix_offsets.get(counter))) {
+                break; //past the suffixes starting with the substring
+            }
+            matches.set(entry);
+        }
+        return matches;
+    }
+}
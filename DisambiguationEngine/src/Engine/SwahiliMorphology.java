@@ -0,0 +1,286 @@
+package Engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Swahili word validator. Every inflected and derived form the validation
+ * rules accept is generated once from the verbs (Vitenzi) and adjectives
+ * (Vielezi) and hashed, so checking a word takes a precompiled match to split
+ * off its prefixes and a few hash lookups. {@link #compile()} goes further and
+ * expands every valid word into an automaton for the model image.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class SwahiliMorphology {
+
+    //Prefixes of an affirmative verb, in the order they are tried
+    private static final String[] SUBJECTS = {"ni", "wa", "ki", "vi", "i", "zi", "pa", "mwa", "mwe", "a", "u"};
+    private static final String[] TENSES = {"ki", "li", "l", "me", "na", "ta"};
+    private static final String[] OBJECTS = {"ni", "ji", "tu", "m", "wa", "ki", "vi", "i", "zi", "po", "ku", "pa"}; //optional
+    //Prefixes of a negative verb (vikanushi), in the order they are tried
+    private static final String[] NEGATIONS = {"ha", "si"};
+    private static final String[] NT_SUBJECTS = {"m", "wa", "li", "ya", "ki", "vi", "i", "zi", "u", "pa"}; //optional
+    private static final String[] NT_TENSES = {"ku", "ja", "ta", "i"};
+    private static final String[] NT_OBJECTS = {"m", "wa", "ki", "vi", "i", "zi", "u", "ku", "tu"}; //optional
+
+    //Subject, tense & object prefixes of an affirmative verb, then the stem
+    static final Pattern SWA_MORPH = Pattern.compile(group(SUBJECTS) + group(TENSES) + group(OBJECTS) + "?(\\w+)");
+    //Negative (vikanushi) prefixes, then the stem
+    static final Pattern NT_SWA_MORPH = Pattern.compile(group(NEGATIONS) + group(NT_SUBJECTS) + "?" + group(NT_TENSES) + group(NT_OBJECTS) + "?(\\w+)");
+
+    //Verb extensions replacing the final -a of a verb
+    private static final String[] AFFIRMATIVE_EXTENSIONS = {"ia", "iwa", "isha", "iza"}; //after SWA_MORPH prefixes e.g. fanyia
+    private static final String[] NEGATIVE_EXTENSIONS = {"ia", "iwa"}; //after NT_SWA_MORPH prefixes
+    private static final String[] WORD_EXTENSIONS = {"ia", "e", "iwa", "ana", "anga", "ua", "ika", "esha", "isha", "iza", "zwa", "ea", "eshwa", "ishwa", "eni"}; //whole words e.g. fanye,somesha
+    //Verb extensions replacing the final -i of a verb e.g. rudia,rudiana
+    private static final String[] I_EXTENSIONS = {"ia", "iwa", "iana", "ianga", "ishwa", "ieni", "ika", "isha"};
+    //Noun class (ngeli) prefixes of adjectives
+    private static final String[] ADJECTIVE_PREFIXES = {"m", "wa", "ki", "vi", "mi", "ma", "pa", "ku", "z"}; //M-WA, KI-VI, M-MI, JI-MA, PA-PA, KU-KU, I-ZI
+    private static final String[] E_ADJECTIVE_PREFIXES = {"mw", "w", "ch", "p", "kw", "ny"}; //before adjectives starting with e-
+
+    //What a form is valid as
+    private static final int STEM = 1; //a verb as it is
+    private static final int AFFIRMATIVE_STEM = 2;
+    private static final int NEGATIVE_STEM = 4;
+    private static final int WORD = 8;
+    private static final int I_WORD = 16;
+    private static final int ADJECTIVE = 32;
+
+    private static final int BUCKET = 4; //letters keying the words generated together
+
+    private final Map<String, Integer> forms = new HashMap<>();
+
+    SwahiliMorphology(List<String> verbs, List<String> adjectives) {
+        for (String verb : verbs) {
+            add(verb, STEM);
+            if (verb.endsWith("a")) {
+                addExtensions(verb, AFFIRMATIVE_EXTENSIONS, AFFIRMATIVE_STEM);
+                addExtensions(verb, NEGATIVE_EXTENSIONS, NEGATIVE_STEM);
+                addExtensions(verb, WORD_EXTENSIONS, WORD);
+            }
+            if (verb.endsWith("i")) {
+                addExtensions(verb, I_EXTENSIONS, I_WORD);
+            }
+        }
+        for (String adjective : adjectives) {
+            if (!adjective.equals(adjective.toLowerCase())) {
+                continue; //never found in a lowercase word
+            }
+            for (String prefix : adjective.startsWith("e") ? E_ADJECTIVE_PREFIXES : ADJECTIVE_PREFIXES) {
+                add(prefix + adjective, ADJECTIVE);
+            }
+        }
+    }
+
+    /**
+     * Add a verb with its final vowel replaced by each extension
+     */
+    private void addExtensions(String verb, String[] extensions, int kind) {
+        String root = verb.substring(0, verb.length() - 1);
+        for (String extension : extensions) {
+            add((root + extension).toLowerCase(), kind);
+        }
+    }
+
+    private void add(String form, int kind) {
+        Integer kinds = forms.get(form);
+        forms.put(form, kinds == null ? kind : kinds | kind);
+    }
+
+    private boolean is(String form, int kind) {
+        Integer kinds = forms.get(form);
+        return kinds != null && (kinds & kind) != 0;
+    }
+
+    private static String group(String[] alternatives) {
+        StringBuilder sb = new StringBuilder("(");
+        for (String alternative : alternatives) {
+            sb.append(sb.length() > 1 ? "|" : "").append(alternative);
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * Every way of writing the prefixes, each optional slot also left out
+     */
+    private static List<String> getPrefixes(String[][] slots, boolean[] optional) {
+        List<String> prefixes = new ArrayList<>();
+        prefixes.add("");
+        for (int slot = 0; slot < slots.length; slot++) {
+            List<String> longer = new ArrayList<>();
+            for (String prefix : prefixes) {
+                if (optional[slot]) {
+                    longer.add(prefix);
+                }
+                for (String alternative : slots[slot]) {
+                    longer.add(prefix + alternative);
+                }
+            }
+            prefixes = longer;
+        }
+        return new ArrayList<>(new TreeSet<>(prefixes));
+    }
+
+    /**
+     * Expand the verbs and adjectives through the prefixes and extensions into
+     * the minimal automaton of every valid Swahili word, the offline
+     * counterpart of {@link #isValid(String)}. Words are generated a bucket
+     * (their first few letters) at a time, in sorted order, and each one is
+     * kept only if {@link #isValid(String)} accepts it, so the automaton
+     * follows the same choice of prefixes as the patterns.
+     *
+     * @return Encoded automaton, read with {@link WordAutomaton}
+     * @throws IOException
+     */
+    byte[] compile() throws IOException {
+        //Stems after each set of prefixes
+        List<String> affirmative_stems = new ArrayList<>();
+        List<String> negative_stems = new ArrayList<>();
+        List<String> words = new ArrayList<>();
+        for (Map.Entry<String, Integer> form : forms.entrySet()) {
+            if ((form.getValue() & (STEM | AFFIRMATIVE_STEM)) != 0) {
+                affirmative_stems.add(form.getKey());
+            }
+            if ((form.getValue() & (STEM | NEGATIVE_STEM)) != 0) {
+                negative_stems.add(form.getKey());
+            }
+            if ((form.getValue() & (WORD | I_WORD | ADJECTIVE)) != 0) {
+                words.add(form.getKey());
+            }
+        }
+        Collections.sort(affirmative_stems);
+        Collections.sort(negative_stems);
+        Collections.sort(words);
+
+        List<Expansion> expansions = new ArrayList<>();
+        expansions.add(new Expansion(getPrefixes(new String[][]{SUBJECTS, TENSES, OBJECTS}, new boolean[]{false, false, true}), affirmative_stems));
+        expansions.add(new Expansion(getPrefixes(new String[][]{NEGATIONS, NT_SUBJECTS, NT_TENSES, NT_OBJECTS}, new boolean[]{false, true, false, true}), negative_stems));
+        expansions.add(new Expansion(Collections.singletonList(""), words));
+
+        //Buckets, each holding the words that start with its key
+        TreeSet<String> buckets = new TreeSet<>();
+        for (Expansion expansion : expansions) {
+            expansion.addBuckets(buckets);
+        }
+
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        for (String bucket : buckets) {
+            TreeSet<String> candidates = new TreeSet<>();
+            for (Expansion expansion : expansions) {
+                expansion.addWords(bucket, candidates);
+            }
+            for (String candidate : candidates) {
+                if (isValid(candidate)) {
+                    builder.add(candidate);
+                }
+            }
+        }
+        return builder.encode();
+    }
+
+    /**
+     * Bucket of a word: its first BUCKET letters, or the whole word if shorter
+     */
+    private static String getBucket(String word) {
+        return word.length() <= BUCKET ? word : word.substring(0, BUCKET);
+    }
+
+    /**
+     * Words made of any of a set of prefixes followed by any of a set of stems
+     */
+    private static final class Expansion {
+
+        final List<String> short_prefixes = new ArrayList<>(); //shorter than a bucket key
+        final Map<String, List<String>> long_prefixes = new HashMap<>(); //by bucket
+        final List<String> stems; //sorted
+
+        Expansion(List<String> prefixes, List<String> stems) {
+            this.stems = stems;
+            for (String prefix : prefixes) {
+                if (prefix.length() < BUCKET) {
+                    short_prefixes.add(prefix);
+                } else {
+                    List<String> bucket = long_prefixes.get(getBucket(prefix));
+                    if (bucket == null) {
+                        bucket = new ArrayList<>();
+                        long_prefixes.put(getBucket(prefix), bucket);
+                    }
+                    bucket.add(prefix);
+                }
+            }
+        }
+
+        void addBuckets(Set<String> buckets) {
+            buckets.addAll(long_prefixes.keySet());
+            for (String prefix : short_prefixes) {
+                for (String stem : stems) {
+                    buckets.add(getBucket(prefix + stem));
+                }
+            }
+        }
+
+        /**
+         * Add the words that fall in a bucket
+         */
+        void addWords(String bucket, Set<String> words) {
+            if (bucket.length() == BUCKET && long_prefixes.containsKey(bucket)) {
+                for (String prefix : long_prefixes.get(bucket)) {
+                    for (String stem : stems) {
+                        words.add(prefix + stem);
+                    }
+                }
+            }
+            for (String prefix : short_prefixes) {
+                if (!bucket.startsWith(prefix)) {
+                    continue;
+                }
+                //Stems starting with the rest of the bucket, a range of the sorted stems
+                String rest = bucket.substring(prefix.length());
+                int from = Collections.binarySearch(stems, rest);
+                for (int counter = from < 0 ? -from - 1 : from; counter < stems.size() && stems.get(counter).startsWith(rest); counter++) {
+                    String word = prefix + stems.get(counter);
+                    if (getBucket(word).equals(bucket)) {
+                        words.add(word);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check validity of a lowercase Swahili word as a result of morphological
+     * inflections & derivations
+     *
+     * @param candidate
+     * @return If the word is a valid Swahili word, then return true
+     */
+    boolean isValid(String candidate) {
+        //Swahili Vitenzi (First perform morphological analyses then perform whole word matching)
+        Matcher swa_morph_m = SWA_MORPH.matcher(candidate);
+        if (swa_morph_m.matches()) {
+            if (is(swa_morph_m.group(4), STEM | AFFIRMATIVE_STEM)) {
+                return true;
+            }
+        } else {
+            Matcher nt_swa_morph_m = NT_SWA_MORPH.matcher(candidate);
+            if (nt_swa_morph_m.matches()) { //Vikanushi
+                if (is(nt_swa_morph_m.group(5), STEM | NEGATIVE_STEM)) {
+                    return true;
+                }
+            } else if (is(candidate, WORD)) {
+                return true;
+            }
+        }
+        //Verbs ending with -i, then Swahili Vielezi
+        return is(candidate, I_WORD | ADJECTIVE);
+    }
+}
@@ -0,0 +1,283 @@
+package Engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal acyclic finite-state acceptor (DAFSA) over a set of words, read
+ * straight from its encoded form e.g. a section of a memory-mapped model
+ * image. Checking a word is one walk from the start state, a binary search
+ * over the transitions of each state on the way.
+ *
+ * Layout (big-endian): state count, transition count, state count+1 offsets
+ * of the first transition of each state, the transition labels as chars
+ * (padded to 4 bytes), the transition targets, then one bit per state set for
+ * final states. State 0 is the start state.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class WordAutomaton {
+
+    private final ByteBuffer buffer;
+    private final int state_count;
+    private final int labels; //byte offset of the first label
+    private final int targets; //byte offset of the first target
+    private final int finals; //byte offset of the final state bits
+
+    WordAutomaton(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.state_count = buffer.getInt(0);
+        int transition_count = buffer.getInt(4);
+        this.labels = 8 + (state_count + 1) * 4;
+        this.targets = labels + ((transition_count * 2 + 3) & ~3);
+        this.finals = targets + transition_count * 4;
+    }
+
+    private int getFirstTransition(int state) {
+        return buffer.getInt(8 + state * 4);
+    }
+
+    private boolean isFinal(int state) {
+        return (buffer.get(finals + (state >>> 3)) & (1 << (state & 7))) != 0;
+    }
+
+    /**
+     * Check if a word is accepted
+     *
+     * @param word
+     * @return If the word is one of the words the automaton was built from,
+     * then return true
+     */
+    boolean accepts(CharSequence word) {
+        int state = 0;
+        for (int counter = 0; counter < word.length(); counter++) {
+            char ch = word.charAt(counter);
+            int low = getFirstTransition(state);
+            int high = getFirstTransition(state + 1) - 1;
+            state = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char label = buffer.getChar(labels + mid * 2);
+                if (label < ch) {
+                    low = mid + 1;
+                } else if (label > ch) {
+                    high = mid - 1;
+                } else {
+                    state = buffer.getInt(targets + mid * 4);
+                    break;
+                }
+            }
+            if (state < 0) {
+                return false;
+            }
+        }
+        return isFinal(state);
+    }
+
+    /**
+     * @return Number of states
+     */
+    int getStateCount() {
+        return state_count;
+    }
+
+    /**
+     * Builds the minimal automaton of words added in sorted order, merging
+     * equivalent suffixes as it goes (Daciuk et al. 2000), so only the
+     * distinct states are ever held in memory
+     */
+    static final class Builder {
+
+        private final Node root = new Node();
+        private final Map<Node, Node> register = new HashMap<>();
+        private String previous = null;
+        private int word_count = 0;
+
+        /**
+         * Add a word, after every word smaller than it
+         *
+         * @param word
+         * @throws IllegalArgumentException if the word is out of order
+         */
+        void add(String word) {
+            if (previous != null && word.compareTo(previous) <= 0) {
+                if (word.equals(previous)) {
+                    return;
+                }
+                throw new IllegalArgumentException("Words out of order: " + previous + ", " + word);
+            }
+            //Prefix shared with the previous word, whose path runs through the last children
+            int common = 0;
+            if (previous != null) {
+                int limit = Math.min(word.length(), previous.length());
+                while (common < limit && word.charAt(common) == previous.charAt(common)) {
+                    common++;
+                }
+            }
+            Node state = root;
+            for (int counter = 0; counter < common; counter++) {
+                state = state.getLastChild();
+            }
+            if (state.size > 0) {
+                replaceOrRegister(state);
+            }
+            for (int counter = common; counter < word.length(); counter++) {
+                Node next = new Node();
+                state.add(word.charAt(counter), next);
+                state = next;
+            }
+            state.is_final = true;
+            previous = word;
+            word_count++;
+        }
+
+        /**
+         * Swap the last child of a state for an equivalent registered state,
+         * or register it, depth first
+         */
+        private void replaceOrRegister(Node state) {
+            Node child = state.getLastChild();
+            if (child.size > 0) {
+                replaceOrRegister(child);
+            }
+            Node equivalent = register.get(child);
+            if (equivalent != null) {
+                state.children[state.size - 1] = equivalent;
+            } else {
+                register.put(child, child);
+            }
+        }
+
+        /**
+         * @return Number of words added
+         */
+        int getWordCount() {
+            return word_count;
+        }
+
+        /**
+         * Minimize the last word and encode the automaton
+         *
+         * @return Encoded automaton
+         * @throws IOException
+         */
+        byte[] encode() throws IOException {
+            if (root.size > 0) {
+                replaceOrRegister(root);
+            }
+            //Number the states breadth first from the start state
+            Map<Node, Integer> ids = new IdentityHashMap<>();
+            List<Node> states = new ArrayList<>();
+            ids.put(root, 0);
+            states.add(root);
+            int transition_count = 0;
+            for (int counter = 0; counter < states.size(); counter++) {
+                Node state = states.get(counter);
+                transition_count += state.size;
+                for (int child = 0; child < state.size; child++) {
+                    if (!ids.containsKey(state.children[child])) {
+                        ids.put(state.children[child], states.size());
+                        states.add(state.children[child]);
+                    }
+                }
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(states.size());
+            out.writeInt(transition_count);
+            int offset = 0;
+            for (Node state : states) {
+                out.writeInt(offset);
+                offset += state.size;
+            }
+            out.writeInt(offset);
+            for (Node state : states) {
+                for (int child = 0; child < state.size; child++) {
+                    out.writeChar(state.labels[child]);
+                }
+            }
+            while (out.size() % 4 != 0) {
+                out.writeByte(0);
+            }
+            for (Node state : states) {
+                for (int child = 0; child < state.size; child++) {
+                    out.writeInt(ids.get(state.children[child]));
+                }
+            }
+            byte[] final_bits = new byte[(states.size() + 7) / 8];
+            for (int counter = 0; counter < states.size(); counter++) {
+                if (states.get(counter).is_final) {
+                    final_bits[counter >>> 3] |= 1 << (counter & 7);
+                }
+            }
+            out.write(final_bits);
+            while (out.size() % 4 != 0) {
+                out.writeByte(0);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * State under construction, its transitions in label order. Registered
+     * states are never changed, so they are compared by their finality,
+     * labels and the identity of their (registered) children.
+     */
+    private static final class Node {
+
+        boolean is_final;
+        char[] labels = new char[2];
+        Node[] children = new Node[2];
+        int size;
+
+        void add(char label, Node child) {
+            if (size == labels.length) {
+                labels = Arrays.copyOf(labels, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            labels[size] = label;
+            children[size] = child;
+            size++;
+        }
+
+        Node getLastChild() {
+            return children[size - 1];
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = is_final ? 1 : 0;
+            for (int counter = 0; counter < size; counter++) {
+                hash = hash * 31 + labels[counter];
+                hash = hash * 31 + System.identityHashCode(children[counter]);
+            }
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Node)) {
+                return false;
+            }
+            Node node = (Node) other;
+            if (is_final != node.is_final || size != node.size) {
+                return false;
+            }
+            for (int counter = 0; counter < size; counter++) {
+                if (labels[counter] != node.labels[counter] || children[counter] != node.children[counter]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
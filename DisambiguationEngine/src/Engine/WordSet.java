@@ -0,0 +1,151 @@
+package Engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable set of lexicon words for O(1) membership checks. A Bloom filter
+ * in front of the hash set answers most words that are not in the lexicon,
+ * the common case for SMS tokens, without touching the set.
+ *
+ * A set compiled into a model image keeps its Bloom filter, with the words
+ * in a {@link WordAutomaton}, and is read in place. Layout (big-endian): word
+ * count, filter length in longs, the filter, then the automaton.
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+final class WordSet {
+
+    private static final int BITS_PER_WORD = 10; //about 1% false positives
+    private static final int HASHES = 7;
+
+    private final Set<String> words; //null if mapped
+    private final WordAutomaton automaton; //null unless mapped
+    private final int size;
+    private final LongBuffer bits;
+    private final int bit_mask;
+
+    WordSet(List<List<String>> lexicons) {
+        int total = 0;
+        for (List<String> lexicon : lexicons) {
+            total += lexicon.size();
+        }
+        Set<String> set = new HashSet<>(Math.max(16, total * 4 / 3 + 1));
+        for (List<String> lexicon : lexicons) {
+            set.addAll(lexicon);
+        }
+        words = Collections.unmodifiableSet(set);
+        automaton = null;
+        size = set.size();
+
+        int bit_count = 64;
+        while (bit_count < set.size() * BITS_PER_WORD && bit_count < (1 << 30)) {
+            bit_count <<= 1;
+        }
+        long[] filter = new long[bit_count >>> 6];
+        bit_mask = bit_count - 1;
+        for (String word : set) {
+            int h1 = getHash(word);
+            int h2 = getSecondHash(word);
+            for (int counter = 0; counter < HASHES; counter++) {
+                int bit = (h1 + counter * h2) & bit_mask;
+                filter[bit >>> 6] |= 1L << bit;
+            }
+        }
+        bits = LongBuffer.wrap(filter);
+    }
+
+    /**
+     * Read a set encoded by {@link #compile()}, e.g. a section of a
+     * memory-mapped model image
+     *
+     * @param buffer
+     */
+    WordSet(ByteBuffer buffer) {
+        words = null;
+        size = buffer.getInt(0);
+        int length = buffer.getInt(4);
+        ByteBuffer view = buffer.duplicate();
+        view.position(8);
+        view.limit(8 + length * 8);
+        bits = view.slice().asLongBuffer();
+        bit_mask = length * 64 - 1;
+        view.limit(buffer.limit());
+        view.position(8 + length * 8);
+        automaton = new WordAutomaton(view.slice());
+    }
+
+    /**
+     * Encode a set built from the lexicons for a model image
+     *
+     * @return Encoded set, read with {@link #WordSet(ByteBuffer)}
+     * @throws IOException
+     */
+    byte[] compile() throws IOException {
+        List<String> sorted = new ArrayList<>(words);
+        Collections.sort(sorted);
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        for (String word : sorted) {
+            builder.add(word);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(size);
+        out.writeInt(bits.limit());
+        for (int counter = 0; counter < bits.limit(); counter++) {
+            out.writeLong(bits.get(counter));
+        }
+        out.write(builder.encode());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Check if a word is in the set
+     *
+     * @param word
+     * @return If the word is one of the lexicon words, then return true
+     */
+    boolean contains(String word) {
+        int h1 = getHash(word);
+        int h2 = getSecondHash(word);
+        for (int counter = 0; counter < HASHES; counter++) {
+            int bit = (h1 + counter * h2) & bit_mask;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false; //definitely not a word
+            }
+        }
+        return words != null ? words.contains(word) : automaton.accepts(word);
+    }
+
+    /**
+     * @return Number of distinct words
+     */
+    int size() {
+        return size;
+    }
+
+    private static int getHash(String word) {
+        int hash = word.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * FNV-1a over the characters, odd so every probe lands on a new bit
+     */
+    private static int getSecondHash(String word) {
+        int hash = 0x811C9DC5;
+        for (int counter = 0; counter < word.length(); counter++) {
+            hash ^= word.charAt(counter);
+            hash *= 0x01000193;
+        }
+        return hash | 1;
+    }
+}
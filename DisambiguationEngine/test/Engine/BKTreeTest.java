@@ -0,0 +1,122 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link BKTree} range queries against a scan of the list
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class BKTreeTest {
+
+    private static final List<String> WORDS = Arrays.asList("kitabu", "kitanda", "vitabu", "kitabu", "kita", "mtabu", "kitambaa", "", "b", "kitabu");
+
+    /**
+     * Positions of the words within k of a word, by scanning the list
+     */
+    private static BitSet scan(List<String> words, String word, int k) {
+        BitSet expected = new BitSet();
+        for (int counter = 0; counter < words.size(); counter++) {
+            if (StringCompare.getLevenshtienDistance(word, words.get(counter)) <= k) {
+                expected.set(counter);
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    public void testDistanceZero() {
+        BKTree tree = new BKTree(WORDS);
+        assertEquals(bits(0, 3, 9), tree.getNeighbours("kitabu", 0));
+        assertEquals(bits(7), tree.getNeighbours("", 0));
+        assertTrue(tree.getNeighbours("kitab", 0).isEmpty());
+    }
+
+    @Test
+    public void testDistanceOne() {
+        BKTree tree = new BKTree(WORDS);
+        assertEquals(bits(0, 2, 3, 9), tree.getNeighbours("kitabu", 1));
+        assertEquals(bits(7, 8), tree.getNeighbours("a", 1));
+    }
+
+    @Test
+    public void testDistanceTwo() {
+        BKTree tree = new BKTree(WORDS);
+        assertEquals(bits(0, 2, 3, 4, 5, 9), tree.getNeighbours("kitabu", 2));
+        assertEquals(scan(WORDS, "kitamba", 2), tree.getNeighbours("kitamba", 2));
+    }
+
+    @Test
+    public void testDuplicates() {
+        BKTree tree = new BKTree(Collections.nCopies(5, "neno"));
+        assertEquals(bits(0, 1, 2, 3, 4), tree.getNeighbours("neno", 0));
+        assertEquals(bits(0, 1, 2, 3, 4), tree.getNeighbours("nen", 1));
+        assertTrue(tree.getNeighbours("ne", 1).isEmpty());
+    }
+
+    @Test
+    public void testEmpty() {
+        BKTree tree = new BKTree(new ArrayList<String>());
+        assertTrue(tree.getNeighbours("neno", 2).isEmpty());
+    }
+
+    @Test
+    public void testLexiconOrder() {
+        List<String> words = Arrays.asList("cat", "bat", "cart", "at", "cat", "act", "scat");
+        BKTree tree = new BKTree(words);
+        BitSet neighbours = tree.getNeighbours("cat", 1);
+        List<String> found = new ArrayList<>();
+        for (int position = neighbours.nextSetBit(0); position >= 0; position = neighbours.nextSetBit(position + 1)) {
+            found.add(words.get(position));
+        }
+        assertEquals(Arrays.asList("cat", "bat", "cart", "at", "cat", "scat"), found);
+    }
+
+    @Test
+    public void testLayout() {
+        BKTree tree = new BKTree(WORDS);
+        BKTree copy = new BKTree(WORDS, tree.getLayout());
+        for (String word : new String[]{"kitabu", "kitamba", "", "mtabu"}) {
+            assertEquals(word, tree.getNeighbours(word, 2), copy.getNeighbours(word, 2));
+        }
+    }
+
+    @Test
+    public void testRandomWords() {
+        Random random = new Random(5);
+        List<String> words = new ArrayList<>();
+        for (int counter = 0; counter < 500; counter++) {
+            words.add(word(random));
+        }
+        BKTree tree = new BKTree(words);
+        for (int counter = 0; counter < 200; counter++) {
+            String word = word(random);
+            for (int k = 0; k <= 2; k++) {
+                assertEquals(word + " k=" + k, scan(words, word, k), tree.getNeighbours(word, k));
+            }
+        }
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[random.nextInt(6)];
+        for (int counter = 0; counter < letters.length; counter++) {
+            letters[counter] = "abkt".charAt(random.nextInt(4));
+        }
+        return new String(letters);
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+}
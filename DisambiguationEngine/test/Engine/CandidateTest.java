@@ -0,0 +1,107 @@
+package Engine;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link Candidate#getTop} against a full sort
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class CandidateTest {
+
+    private static Candidate candidate(String word, double priori) {
+        return new Candidate(word, null, null, 1, false, priori);
+    }
+
+    /**
+     * The first N candidates of a full sort
+     */
+    private static Candidate[] sort(Candidate[] candidates, int n, Comparator<Candidate> order) {
+        Candidate[] sorted = candidates.clone();
+        Arrays.sort(sorted, order);
+        return Arrays.copyOf(sorted, Math.min(n, sorted.length));
+    }
+
+    private static Candidate[] candidates() {
+        return new Candidate[]{candidate("mbwa", 0.2), candidate("paka", 0.5), candidate("kuku", 0.1),
+            candidate("ng'ombe", 0.4), candidate("mbuzi", 0.3), candidate("kondoo", 0.05)};
+    }
+
+    @Test
+    public void testBest() {
+        Candidate[] candidates = candidates();
+        Candidate[] top = Candidate.getTop(candidates, 1, Candidate.BY_PRIORI);
+        assertEquals(1, top.length);
+        assertEquals("paka", top[0].getWord());
+    }
+
+    @Test
+    public void testTop() {
+        Candidate[] candidates = candidates();
+        Candidate[] copy = candidates.clone();
+        for (int n = 1; n <= candidates.length; n++) {
+            assertArrayEquals("N=" + n, sort(candidates, n, Candidate.BY_PRIORI), Candidate.getTop(candidates, n, Candidate.BY_PRIORI));
+        }
+        assertArrayEquals(copy, candidates); //left unchanged
+        assertEquals("paka", Candidate.getTop(candidates, 2, Candidate.BY_PRIORI)[0].getWord());
+        assertEquals("mbuzi", Candidate.getTop(candidates, 4, Candidate.BY_PRIORI)[2].getWord());
+    }
+
+    @Test
+    public void testWholeGroup() {
+        Candidate[] candidates = candidates();
+        assertArrayEquals(sort(candidates, candidates.length, Candidate.BY_PRIORI), Candidate.getTop(candidates, candidates.length, Candidate.BY_PRIORI));
+        assertArrayEquals(sort(candidates, candidates.length, Candidate.BY_PRIORI), Candidate.getTop(candidates, 100, Candidate.BY_PRIORI));
+        assertEquals(0, Candidate.getTop(new Candidate[0], 3, Candidate.BY_PRIORI).length);
+        Candidate[] one = {candidate("paka", 0.5)};
+        assertArrayEquals(one, Candidate.getTop(one, 1, Candidate.BY_PRIORI));
+        assertArrayEquals(one, Candidate.getTop(one, 5, Candidate.BY_PRIORI));
+    }
+
+    @Test
+    public void testTies() {
+        Candidate[] candidates = {candidate("zebaki", 0.5), candidate("paka", 0.5), candidate("mbwa", 0.1), candidate("bata", 0.5), candidate("kuku", 0.5)};
+        Candidate[] top = Candidate.getTop(candidates, 1, Candidate.BY_PRIORI);
+        assertEquals("bata", top[0].getWord());
+        top = Candidate.getTop(candidates, 3, Candidate.BY_PRIORI);
+        assertEquals("bata kuku paka", top[0].getWord() + " " + top[1].getWord() + " " + top[2].getWord());
+        top = Candidate.getTop(candidates, 4, Candidate.BY_PRIORI);
+        assertEquals("zebaki", top[3].getWord());
+    }
+
+    @Test
+    public void testOrders() {
+        Candidate[] candidates = new Candidate[5];
+        for (int counter = 0; counter < candidates.length; counter++) {
+            candidates[counter] = candidate("w" + counter, 0.1).withChannel(0.1, 0.1, counter % 2).withNoisyChannel(-counter);
+        }
+        assertEquals("w1", Candidate.getTop(candidates, 1, Candidate.BY_POSTERIORI)[0].getWord());
+        assertEquals("w3", Candidate.getTop(candidates, 2, Candidate.BY_POSTERIORI)[1].getWord());
+        assertEquals("w0", Candidate.getTop(candidates, 1, Candidate.BY_NOISY_CHANNEL)[0].getWord());
+        assertEquals("w2", Candidate.getTop(candidates, 3, Candidate.BY_WORD)[2].getWord());
+    }
+
+    @Test
+    public void testRandomCandidates() {
+        Random random = new Random(23);
+        for (int round = 0; round < 500; round++) {
+            Candidate[] candidates = new Candidate[1 + random.nextInt(40)];
+            for (int counter = 0; counter < candidates.length; counter++) {
+                //few distinct words & probabilities, so ties are common
+                candidates[counter] = candidate("w" + random.nextInt(30), random.nextInt(8) / 8.0);
+            }
+            int n = 1 + random.nextInt(candidates.length + 2);
+            Candidate[] expected = sort(candidates, n, Candidate.BY_PRIORI);
+            Candidate[] top = Candidate.getTop(candidates, n, Candidate.BY_PRIORI);
+            assertEquals(expected.length, top.length);
+            for (int counter = 0; counter < top.length; counter++) {
+                assertEquals(expected[counter].getWord(), top[counter].getWord());
+                assertEquals(expected[counter].getPrioriProbability(), top[counter].getPrioriProbability(), 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link ConsonantIndex} buckets against the consonant writing comparison
+ * they replace
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class ConsonantIndexTest {
+
+    private static final List<String> WORDS = Arrays.asList("kitabu", "ktb", "kitab", "KITABU", "aeiou", "", "katiba", "Kitabu", "ua", "tabu");
+
+    /**
+     * Positions of the words whose consonant writing equals a word's,
+     * ignoring case, by scanning the list
+     */
+    private static int[] scan(List<String> words, String word) {
+        List<Integer> expected = new ArrayList<>();
+        for (int counter = 0; counter < words.size(); counter++) {
+            if (Graphemic.getConsonantWriting(word).equalsIgnoreCase(Graphemic.getConsonantWriting(words.get(counter)))) {
+                expected.add(counter);
+            }
+        }
+        int[] positions = new int[expected.size()];
+        for (int counter = 0; counter < positions.length; counter++) {
+            positions[counter] = expected.get(counter);
+        }
+        return positions;
+    }
+
+    @Test
+    public void testSkeletons() {
+        ConsonantIndex index = new ConsonantIndex(WORDS);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 6, 7}, index.getEntries("kitabu"));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 6, 7}, index.getEntries("ktb"));
+        assertArrayEquals(new int[]{9}, index.getEntries("tb"));
+        assertArrayEquals(new int[0], index.getEntries("kt"));
+    }
+
+    @Test
+    public void testAllVowels() {
+        ConsonantIndex index = new ConsonantIndex(WORDS);
+        assertArrayEquals(new int[]{4, 5, 8}, index.getEntries("aeiou"));
+        assertArrayEquals(new int[]{4, 5, 8}, index.getEntries(""));
+        assertArrayEquals(new int[]{4, 5, 8}, index.getEntries("AU"));
+    }
+
+    @Test
+    public void testUpperCase() {
+        ConsonantIndex index = new ConsonantIndex(WORDS);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 6, 7}, index.getEntries("KTB"));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 6, 7}, index.getEntries("KiTaBu"));
+        assertArrayEquals(new int[]{9}, index.getEntries("TABU"));
+    }
+
+    @Test
+    public void testBuckets() {
+        ConsonantIndex index = new ConsonantIndex(WORDS);
+        ConsonantIndex copy = new ConsonantIndex(index.getBuckets());
+        for (String word : WORDS) {
+            assertArrayEquals(word, index.getEntries(word), copy.getEntries(word));
+        }
+    }
+
+    @Test
+    public void testRandomWords() {
+        Random random = new Random(8);
+        List<String> words = new ArrayList<>();
+        for (int counter = 0; counter < 500; counter++) {
+            words.add(word(random));
+        }
+        ConsonantIndex index = new ConsonantIndex(words);
+        for (int counter = 0; counter < 500; counter++) {
+            String word = word(random);
+            assertArrayEquals(word, scan(words, word), index.getEntries(word));
+        }
+    }
+
+    /**
+     * Random word over a few letters of either case, including the dotless
+     * i & the Kelvin sign, which only match ignoring case
+     */
+    private static String word(Random random) {
+        char[] letters = new char[random.nextInt(6)];
+        for (int counter = 0; counter < letters.length; counter++) {
+            letters[counter] = "aAkKtTiI\u0131\u212A".charAt(random.nextInt(10));
+        }
+        return new String(letters);
+    }
+}
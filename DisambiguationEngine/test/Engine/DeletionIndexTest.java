@@ -0,0 +1,110 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link DeletionIndex} lookups against a scan of the list
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class DeletionIndexTest {
+
+    private static final List<String> WORDS = Arrays.asList("hello", "helo", "hallo", "hell", "ehllo", "shello", "", "a", "aa", "aaa", "hello");
+
+    /**
+     * Positions of the words within a distance of 1 of a word, by scanning
+     * the list
+     */
+    private static BitSet scan(List<String> words, String word) {
+        BitSet expected = new BitSet();
+        for (int counter = 0; counter < words.size(); counter++) {
+            if (StringCompare.getLevenshtienDistance(word, words.get(counter)) <= 1) {
+                expected.set(counter);
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    public void testNeighbours() {
+        DeletionIndex index = new DeletionIndex(WORDS);
+        assertEquals(bits(0, 1, 2, 3, 5, 10), index.getNeighbours("hello"));
+        assertEquals(bits(0, 1, 3, 10), index.getNeighbours("helo"));
+    }
+
+    @Test
+    public void testTransposition() {
+        DeletionIndex index = new DeletionIndex(WORDS);
+        assertFalse(index.getNeighbours("hello").get(4)); //ehllo shares the key hllo, at a distance of 2
+        assertFalse(index.getNeighbours("ab").get(0));
+        assertTrue(new DeletionIndex(Arrays.asList("ba")).getNeighbours("ab").isEmpty());
+    }
+
+    @Test
+    public void testEmptyWord() {
+        DeletionIndex index = new DeletionIndex(WORDS);
+        assertEquals(bits(6, 7), index.getNeighbours(""));
+        assertTrue(new DeletionIndex(new ArrayList<String>()).getNeighbours("").isEmpty());
+    }
+
+    @Test
+    public void testSingleCharacter() {
+        DeletionIndex index = new DeletionIndex(WORDS);
+        assertEquals(bits(6, 7, 8), index.getNeighbours("a"));
+        assertEquals(bits(6, 7), index.getNeighbours("b"));
+    }
+
+    @Test
+    public void testRepeatedLetters() {
+        DeletionIndex index = new DeletionIndex(WORDS);
+        assertEquals(bits(7, 8, 9), index.getNeighbours("aa"));
+        assertEquals(bits(8, 9), index.getNeighbours("aaa"));
+        assertEquals(bits(9), index.getNeighbours("aaaa"));
+        assertEquals(bits(0, 10), index.getNeighbours("helllo"));
+    }
+
+    @Test
+    public void testPostings() {
+        DeletionIndex index = new DeletionIndex(WORDS);
+        DeletionIndex copy = new DeletionIndex(WORDS, index.getPostings());
+        for (String word : WORDS) {
+            assertEquals(word, index.getNeighbours(word), copy.getNeighbours(word));
+        }
+    }
+
+    @Test
+    public void testRandomWords() {
+        Random random = new Random(4);
+        List<String> words = new ArrayList<>();
+        for (int counter = 0; counter < 500; counter++) {
+            words.add(word(random));
+        }
+        DeletionIndex index = new DeletionIndex(words);
+        for (int counter = 0; counter < 500; counter++) {
+            String word = word(random);
+            assertEquals(word, scan(words, word), index.getNeighbours(word));
+        }
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[random.nextInt(6)];
+        for (int counter = 0; counter < letters.length; counter++) {
+            letters[counter] = "abk".charAt(random.nextInt(3));
+        }
+        return new String(letters);
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,102 @@
+package Engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link LongIntMap} against a {@link HashMap}
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class LongIntMapTest {
+
+    @Test
+    public void testPutGet() {
+        LongIntMap map = new LongIntMap(4);
+        map.put(0, 10);
+        map.put(1L << 32, 20);
+        map.put(Long.MAX_VALUE, 30);
+        assertEquals(10, map.get(0, -1));
+        assertEquals(20, map.get(1L << 32, -1));
+        assertEquals(30, map.get(Long.MAX_VALUE, -1));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testMissingKey() {
+        LongIntMap map = new LongIntMap(4);
+        assertEquals(-1, map.get(7, -1));
+        assertEquals(42, map.get(7, 42));
+        map.put(7, 0);
+        assertEquals(0, map.get(7, 42)); //a stored value equal to no default
+        assertEquals(42, map.get(8, 42));
+        assertEquals(42, map.get(-1, 42)); //the free slot marker is never found
+    }
+
+    @Test
+    public void testReplace() {
+        LongIntMap map = new LongIntMap(4);
+        map.put(5, 1);
+        map.put(5, 2);
+        assertEquals(2, map.get(5, -1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testCollisions() {
+        //Keys sharing the first slot of a 16-slot table, found with the map's own hash
+        LongIntMap map = new LongIntMap(0);
+        long[] keys = new long[6];
+        int found = 0;
+        for (long key = 0; found < keys.length; key++) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            if (((int) (hash ^ (hash >>> 32)) & 15) == 0) {
+                keys[found++] = key;
+            }
+        }
+        for (int counter = 0; counter < keys.length; counter++) {
+            map.put(keys[counter], counter);
+        }
+        for (int counter = 0; counter < keys.length; counter++) {
+            assertEquals(counter, map.get(keys[counter], -1));
+        }
+        assertEquals(-1, map.get(keys[keys.length - 1] + 1, -1));
+    }
+
+    @Test
+    public void testResize() {
+        LongIntMap map = new LongIntMap(0);
+        for (int counter = 0; counter < 10000; counter++) {
+            map.put(counter * 31L, counter);
+        }
+        assertEquals(10000, map.size());
+        for (int counter = 0; counter < 10000; counter++) {
+            assertEquals(counter, map.get(counter * 31L, -1));
+            assertEquals(-1, map.get(counter * 31L + 1, -1));
+        }
+    }
+
+    @Test
+    public void testRandomKeys() {
+        Random random = new Random(24);
+        LongIntMap map = new LongIntMap(1);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int counter = 0; counter < 20000; counter++) {
+            long key = random.nextBoolean() ? random.nextInt(5000) : random.nextLong() >>> 1;
+            map.put(key, counter);
+            expected.put(key, counter);
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().intValue(), map.get(entry.getKey(), -1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeKey() {
+        new LongIntMap(4).put(-1, 0);
+    }
+}
@@ -0,0 +1,141 @@
+package Engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Round trip of the bundled resources through {@link ModelCompiler} and
+ * {@link ModelImage}, and the checks on corrupt images
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class ModelImageTest {
+
+    private static File image;
+    private static ModelRegistry text; //registry read from the resources
+    private static ModelRegistry mapped; //registry mapped from the compiled image
+
+    @BeforeClass
+    public static void compile() throws IOException {
+        image = File.createTempFile("engine", ".model");
+        ModelCompiler.compile(new Reader(), image);
+        text = new ModelRegistry(new Reader());
+        mapped = ModelRegistry.load(image);
+    }
+
+    @AfterClass
+    public static void delete() {
+        image.delete();
+    }
+
+    @Test
+    public void testSections() throws IOException {
+        ModelImage model = ModelImage.open(image);
+        for (int id = ModelImage.ENGLISH_LEXICON; id <= ModelImage.SWAHILI_DICTIONARY; id++) {
+            assertTrue("section " + id, model.hasSection(id));
+        }
+    }
+
+    @Test
+    public void testLists() {
+        assertEquals(text.getEnglishLexicon(), mapped.getEnglishLexicon());
+        assertEquals(text.getEnglishMorphemes(), mapped.getEnglishMorphemes());
+        assertEquals(text.getSwahiliLexicon(), mapped.getSwahiliLexicon());
+        assertEquals(text.getSwahiliVerbs(), mapped.getSwahiliVerbs());
+        assertEquals(text.getSwahiliAdjectives(), mapped.getSwahiliAdjectives());
+        assertEquals(text.getSwahiliWords(), mapped.getSwahiliWords());
+    }
+
+    @Test
+    public void testNGrams() {
+        assertEquals(text.getUnigram(), mapped.getUnigram());
+        assertEquals(text.getBigram(), mapped.getBigram());
+        assertEquals(text.getTrigram(), mapped.getTrigram());
+
+        NGramIndex expected = text.getNGramIndex();
+        NGramIndex actual = mapped.getNGramIndex();
+        assertEquals(expected.getUnigramSize(), actual.getUnigramSize());
+        for (String word : text.getUnigram().keySet()) {
+            int id = actual.getId(word);
+            assertEquals(expected.getId(word), id);
+            assertEquals(expected.getUnigramCount(id), actual.getUnigramCount(id));
+            assertArrayEquals(word, expected.getBigramSuccessors(id), actual.getBigramSuccessors(id));
+        }
+    }
+
+    @Test
+    public void testIndexes() {
+        LexiconIndex expected = text.getLexiconIndex();
+        LexiconIndex actual = mapped.getLexiconIndex();
+        assertArrayEquals(expected.eng_phonemes, actual.eng_phonemes);
+        assertArrayEquals(expected.eng_codes, actual.eng_codes);
+        assertArrayEquals(expected.swa_phonemes, actual.swa_phonemes);
+        assertEquals(text.getDictionary().size(), mapped.getDictionary().size());
+        assertEquals(text.getSwahiliDictionary().size(), mapped.getSwahiliDictionary().size());
+
+        Candidates from_text = new Candidates(text);
+        Candidates from_image = new Candidates(mapped);
+        List<String> words = text.getEnglishLexicon();
+        for (int counter = 0; counter < words.size(); counter += 97) {
+            String word = words.get(counter);
+            String misspelt = word.length() > 1 ? word.substring(1) : word + "a";
+            assertEquals(word, text.getDictionary().contains(word), mapped.getDictionary().contains(word));
+            assertEquals(misspelt, text.getSwahiliDictionary().contains(misspelt), mapped.getSwahiliDictionary().contains(misspelt));
+            assertEquals(misspelt, Arrays.asList(from_text.getCandidateSet(misspelt).toArray()),
+                    Arrays.asList(from_image.getCandidateSet(misspelt).toArray()));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncated() throws IOException {
+        byte[] bytes = Files.readAllBytes(image.toPath());
+        open(Arrays.copyOf(bytes, bytes.length / 2));
+    }
+
+    @Test(expected = IOException.class)
+    public void testSectionPastEnd() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(image.toPath()));
+        bytes.putInt(12 + 8, Integer.MAX_VALUE); //length of the first section
+        open(bytes.array());
+    }
+
+    @Test(expected = IOException.class)
+    public void testNegativeOffset() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(image.toPath()));
+        bytes.putInt(12 + 4, -1); //offset of the first section
+        open(bytes.array());
+    }
+
+    @Test(expected = IOException.class)
+    public void testSectionCount() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(image.toPath()));
+        bytes.putInt(8, Integer.MAX_VALUE);
+        open(bytes.array());
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotAnImage() throws IOException {
+        open("EnglishLexicon".getBytes());
+    }
+
+    /**
+     * Write the bytes to a file and open it as a model image
+     */
+    private static ModelImage open(byte[] bytes) throws IOException {
+        File file = File.createTempFile("corrupt", ".model");
+        try {
+            Files.write(file.toPath(), bytes);
+            return ModelImage.open(file);
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package Engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link NGramIndex} lookups and successor lists
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class NGramIndexTest {
+
+    private static Map<String, Integer> table(Object... entries) {
+        Map<String, Integer> table = new HashMap<>();
+        for (int counter = 0; counter < entries.length; counter += 2) {
+            table.put((String) entries[counter], (Integer) entries[counter + 1]);
+        }
+        return table;
+    }
+
+    private static NGramIndex index() {
+        return NGramIndex.build(
+                table("the", 50, "cat", 10, "sat", 5, "on", 20, "mat", 3),
+                table("the cat", 4, "the mat", 2, "cat sat", 3, "sat on", 2, "on the", 6, "the dog", 1, "a b c", 9, "the  cat", 9),
+                table("the cat sat", 2, "cat sat on", 1, "sat on the", 2, "on the mat", 1, "on the cat", 3, "the cat ran", 1, "the cat", 9));
+    }
+
+    @Test
+    public void testIds() {
+        NGramIndex index = index();
+        String[] words = {"cat", "dog", "mat", "on", "ran", "sat", "the"}; //sorted, with the words found only in the bigrams & trigrams
+        assertEquals(words.length, index.getIds().size());
+        for (int id = 0; id < words.length; id++) {
+            assertEquals(words[id], id, index.getId(words[id]));
+        }
+        assertEquals(-1, index.getId("a"));
+        assertEquals(-1, index.getId(""));
+    }
+
+    @Test
+    public void testUnigrams() {
+        NGramIndex index = index();
+        assertEquals(5, index.getUnigramSize());
+        assertEquals(50, index.getUnigramCount(index.getId("the")));
+        assertEquals(0, index.getUnigramCount(index.getId("dog"))); //a word of the bigrams only
+        assertEquals(0, index.getUnigramCount(-1));
+    }
+
+    @Test
+    public void testBigrams() {
+        NGramIndex index = index();
+        int the = index.getId("the");
+        assertEquals(4, index.getBigramCount(the, index.getId("cat")));
+        assertEquals(1, index.getBigramCount(the, index.getId("dog")));
+        assertEquals(0, index.getBigramCount(index.getId("cat"), the));
+        assertEquals(0, index.getBigramCount(the, -1));
+        assertEquals(0, index.getBigramCount(-1, the));
+        assertEquals(3, index.getBigramSuccessorCount(the));
+        assertEquals(0, index.getBigramSuccessorCount(index.getId("mat")));
+        assertEquals(0, index.getBigramSuccessorCount(-1));
+    }
+
+    @Test
+    public void testBigramSuccessors() {
+        NGramIndex index = index();
+        assertArrayEquals(new String[]{"cat", "dog", "mat"}, index.getBigramSuccessors(index.getId("the")));
+        assertArrayEquals(new String[]{"the"}, index.getBigramSuccessors(index.getId("on")));
+        assertArrayEquals(new String[0], index.getBigramSuccessors(index.getId("mat")));
+        assertArrayEquals(new String[0], index.getBigramSuccessors(-1));
+    }
+
+    @Test
+    public void testBigramCounts() {
+        NGramIndex index = index();
+        int[] seconds = {index.getId("mat"), -1, index.getId("cat"), index.getId("sat"), index.getId("cat")};
+        int[] counts = {7, 7, 7, 7, 7};
+        index.getBigramCounts(index.getId("the"), seconds, counts);
+        assertArrayEquals(new int[]{2, 0, 4, 0, 4}, counts);
+        index.getBigramCounts(index.getId("mat"), seconds, counts);
+        assertArrayEquals(new int[5], counts);
+    }
+
+    @Test
+    public void testTrigrams() {
+        NGramIndex index = index();
+        int on_the = index.getContext(index.getId("on"), index.getId("the"));
+        assertTrue(on_the >= 0);
+        assertEquals(3, index.getTrigramCount(on_the, index.getId("cat")));
+        assertEquals(1, index.getTrigramCount(on_the, index.getId("mat")));
+        assertEquals(0, index.getTrigramCount(on_the, index.getId("on")));
+        assertEquals(2, index.getTrigramSuccessorCount(on_the));
+        assertArrayEquals(new String[]{"cat", "mat"}, index.getTrigramSuccessors(on_the));
+
+        int the_cat = index.getContext(index.getId("the"), index.getId("cat"));
+        assertArrayEquals(new String[]{"ran", "sat"}, index.getTrigramSuccessors(the_cat));
+        int[] counts = new int[3];
+        index.getTrigramCounts(the_cat, new int[]{index.getId("sat"), index.getId("ran"), -1}, counts);
+        assertArrayEquals(new int[]{2, 1, 0}, counts);
+    }
+
+    @Test
+    public void testContexts() {
+        NGramIndex index = index();
+        assertEquals(-1, index.getContext(index.getId("the"), index.getId("the")));
+        assertEquals(-1, index.getContext(index.getId("cat"), index.getId("the")));
+        assertEquals(-1, index.getContext(-1, index.getId("the")));
+        assertEquals(-1, index.getContext(index.getId("the"), -1));
+        assertEquals(0, index.getTrigramSuccessorCount(-1));
+        assertArrayEquals(new String[0], index.getTrigramSuccessors(-1));
+        assertEquals(0, index.getTrigramCount(-1, index.getId("sat")));
+
+        //Contexts are numbered in word order
+        String[][] contexts = {{"cat", "sat"}, {"on", "the"}, {"sat", "on"}, {"the", "cat"}};
+        for (int context = 0; context < contexts.length; context++) {
+            assertEquals(context, index.getContext(index.getId(contexts[context][0]), index.getId(contexts[context][1])));
+        }
+    }
+
+    @Test
+    public void testNegativeCounts() {
+        NGramIndex index = NGramIndex.build(table("a", 1, "b", 1), table("a b", -5, "b a", 2), table());
+        assertEquals(-5, index.getBigramCount(index.getId("a"), index.getId("b")));
+        assertArrayEquals(new String[]{"b"}, index.getBigramSuccessors(index.getId("a")));
+        assertEquals(2, index.getBigramCount(index.getId("b"), index.getId("a")));
+    }
+
+    @Test
+    public void testEmpty() {
+        NGramIndex index = NGramIndex.build(table(), table(), table());
+        assertEquals(0, index.getUnigramSize());
+        assertEquals(-1, index.getId("the"));
+        assertEquals(-1, index.getContext(-1, -1));
+    }
+}
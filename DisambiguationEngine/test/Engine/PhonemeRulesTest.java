@@ -0,0 +1,140 @@
+package Engine;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link PhonemeRules} parsing and rewriting
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class PhonemeRulesTest {
+
+    private static PhonemeRules rules(String... lines) {
+        return new PhonemeRules(Arrays.asList(lines));
+    }
+
+    @Test
+    public void testRewrite() {
+        PhonemeRules rules = rules("ph -> f");
+        assertEquals("fone", rules.rewrite("phone"));
+        assertEquals("fph", rules.rewrite("phph")); //a rule fires once, at the first occurrence
+        assertEquals("bat", rules.rewrite("bat"));
+        assertEquals("", rules.rewrite(""));
+    }
+
+    @Test
+    public void testSpan() {
+        assertEquals("axc", rules("abc -> [1,2] x").rewrite("abc"));
+        assertEquals("nee", rules("kn @=0 -> [0,1]").rewrite("knee"));
+        assertEquals("ask", rules("sk -> [2,2] ").rewrite("ask"));
+        assertEquals("asqk", rules("sk -> [1,1] q").rewrite("ask")); //an empty span inserts
+    }
+
+    @Test
+    public void testWordFinal() {
+        PhonemeRules rules = rules("er$ -> a");
+        assertEquals("herda", rules.rewrite("herder"));
+        assertEquals("herd", rules.rewrite("herd"));
+    }
+
+    @Test
+    public void testChainedRewrites() {
+        PhonemeRules rules = rules("ph -> f", "fo -> vo", "ve -> w");
+        assertEquals("vone", rules.rewrite("phone")); //each rule sees the word as rewritten by the rules above it
+        assertEquals("vow", rules.rewrite("phove"));
+        assertEquals("fe", rules("ve -> w", "ph -> f").rewrite("phe")); //but not the other way round
+    }
+
+    @Test
+    public void testElseRules() {
+        PhonemeRules rules = rules("ar$ -> a", "| ar @+2:C -> [1,2]");
+        assertEquals("ca", rules.rewrite("car"));
+        assertEquals("cad", rules.rewrite("card"));
+        assertEquals("cara", rules.rewrite("carar")); //the else rule is skipped once the rule above it fires
+
+        assertEquals("barx", rules("bar$ -> x", "| ar -> y").rewrite("barbar"));
+        assertEquals("byx", rules("bar$ -> x", "ar -> y").rewrite("barbar"));
+        assertEquals("byz", rules("bar$ -> x", "|ar -> y", "ar -> z").rewrite("barar"));
+    }
+
+    @Test
+    public void testCharacterTests() {
+        assertEquals("meite", rules("a @+1:!e @+2:e -> ei").rewrite("mate"));
+        assertEquals("male", rules("a @+1:!l -> ei").rewrite("male"));
+        assertEquals("xat", rules("c @+1:V -> x").rewrite("cat"));
+        assertEquals("crt", rules("c @+1:V -> x").rewrite("crt"));
+        assertEquals("xrt", rules("c @+1:C -> x").rewrite("crt"));
+        assertEquals("xlow", rules("s @..:w -> x").rewrite("slow"));
+        assertEquals("slot", rules("s @..:w -> x").rewrite("slot"));
+        assertEquals("cat", rules("t @+1:V -> x").rewrite("cat")); //past the end of the word
+    }
+
+    @Test
+    public void testCompareTests() {
+        PhonemeRules rules = rules("ough @=0 -> ot", "| ough @=3 @th=0 -> u", "| ou @ough>0 @r=@ough-1 -> a");
+        assertEquals("ott", rules.rewrite("ought"));
+        assertEquals("thru", rules.rewrite("through"));
+        assertEquals("ragh", rules.rewrite("rough"));
+        assertEquals("dough", rules.rewrite("dough"));
+
+        assertEquals("a", rules("ab len=2 -> a").rewrite("ab"));
+        assertEquals("abc", rules("ab len<=2 -> a").rewrite("abc"));
+        assertEquals("xb", rules("a @!=1 @<len-1 @>=0 -> x").rewrite("ab"));
+        assertEquals("ab", rules("a 1>2 -> x").rewrite("ab"));
+    }
+
+    @Test
+    public void testComments() {
+        PhonemeRules rules = rules("# heading", "", "   ", "ph -> f # phone", "#ph -> v");
+        assertEquals("fone", rules.rewrite("phone"));
+    }
+
+    @Test
+    public void testTurAtEnd() {
+        PhonemeRules rules = rules("tur len>4 @>0 @+3:V -> [0,2] cha", "| ure len>3 @>0 -> ua", "ur$ -> a");
+        assertEquals("culchare", rules.rewrite("culture"));
+        assertEquals("amata", rules.rewrite("amatur")); //@+3 lies past the end, so the tur rule fails rather than throw
+        assertEquals("amata", PhonemeRules.getEnglishRules().rewrite("amatur"));
+    }
+
+    @Test
+    public void testEnglishRules() {
+        PhonemeRules rules = PhonemeRules.getEnglishRules();
+        assertSame(rules, PhonemeRules.getEnglishRules());
+        assertEquals("fone", rules.rewrite("phone"));
+        assertEquals("thru", rules.rewrite("through"));
+    }
+
+    @Test
+    public void testMalformedRules() {
+        String[][] malformed = {
+            {"ph f"}, //no ->
+            {"ph -> f -> v"},
+            {"Ph -> f"}, //not lowercase
+            {"p1 -> f"},
+            {"-> f"}, //no pattern
+            {"|ph -> f"}, //else rule first
+            {"ph @^2 -> f"}, //unknown test
+            {"ph @X=1 -> f"}, //term pattern not lowercase
+            {"ph -> [2,1] f"}, //empty span
+            {"ph -> f v"}, //spaces in the replacement
+            {"ph -> f", "bad"}
+        };
+        for (String[] lines : malformed) {
+            try {
+                rules(lines);
+                fail(Arrays.toString(lines));
+            } catch (IllegalArgumentException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().startsWith("Bad phoneme rule at line " + lines.length + ": "));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoRules() {
+        new PhonemeRules(Collections.singletonList("# only a comment"));
+    }
+}
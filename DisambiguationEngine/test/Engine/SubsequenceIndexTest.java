@@ -0,0 +1,100 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link SubsequenceIndex} lookups against the LCS check they replace
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class SubsequenceIndexTest {
+
+    private static final List<String> WORDS = Arrays.asList("thursday", "tomorrow", "thirsty", "today", "", "tomorrow", "saturday", "trs");
+
+    /**
+     * Positions of the words whose LCS with a word is as long as the word
+     */
+    private static BitSet scan(List<String> words, String word) {
+        BitSet expected = new BitSet();
+        for (int counter = 0; counter < words.size(); counter++) {
+            if (StringCompare.getLengthLCS(word, words.get(counter)) == word.length()) {
+                expected.set(counter);
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    public void testAbbreviations() {
+        SubsequenceIndex index = new SubsequenceIndex(WORDS);
+        assertEquals(bits(0), index.getSupersequences("thrsdy"));
+        assertEquals(bits(1, 5), index.getSupersequences("tmrw"));
+        assertEquals(bits(0, 2, 7), index.getSupersequences("trs"));
+        assertTrue(index.getSupersequences("xyz").isEmpty());
+        assertTrue(index.getSupersequences("thursdays").isEmpty());
+    }
+
+    @Test
+    public void testEmptyWord() {
+        SubsequenceIndex index = new SubsequenceIndex(WORDS);
+        assertEquals(bits(0, 1, 2, 3, 4, 5, 6, 7), index.getSupersequences(""));
+        assertTrue(new SubsequenceIndex(new ArrayList<String>()).getSupersequences("").isEmpty());
+    }
+
+    @Test
+    public void testRepeatedLetters() {
+        SubsequenceIndex index = new SubsequenceIndex(WORDS);
+        assertEquals(bits(1, 5), index.getSupersequences("ooo"));
+        assertTrue(index.getSupersequences("oooo").isEmpty());
+        assertEquals(bits(1, 5), index.getSupersequences("rr"));
+    }
+
+    @Test
+    public void testLayout() {
+        SubsequenceIndex index = new SubsequenceIndex(WORDS);
+        SubsequenceIndex copy = new SubsequenceIndex(index.getLayout());
+        for (String word : new String[]{"thrsdy", "tmrw", "", "ty"}) {
+            assertEquals(word, index.getSupersequences(word), copy.getSupersequences(word));
+        }
+    }
+
+    @Test
+    public void testRandomWords() {
+        Random random = new Random(6);
+        List<String> words = new ArrayList<>();
+        for (int counter = 0; counter < 500; counter++) {
+            words.add(word(random, 9));
+        }
+        SubsequenceIndex index = new SubsequenceIndex(words);
+        for (int counter = 0; counter < 500; counter++) {
+            String word = word(random, 5);
+            assertEquals(word, scan(words, word), index.getSupersequences(word));
+        }
+    }
+
+    /**
+     * Random word over a few letters, including letters that share a bit
+     * of the trie's letter masks e.g. a & !
+     */
+    private static String word(Random random, int length) {
+        char[] letters = new char[random.nextInt(length)];
+        for (int counter = 0; counter < letters.length; counter++) {
+            letters[counter] = "abkt!".charAt(random.nextInt(5));
+        }
+        return new String(letters);
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+}
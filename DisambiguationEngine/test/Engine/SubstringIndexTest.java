@@ -0,0 +1,111 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link SubstringIndex} lookups against {@link String#contains}
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class SubstringIndexTest {
+
+    private static final List<String> WORDS = Arrays.asList("internet", "network", "net", "", "banana", "nanana", "internet", "ana");
+
+    /**
+     * Positions of the words that contain a substring, by scanning the list
+     */
+    private static BitSet scan(List<String> words, String substring) {
+        BitSet expected = new BitSet();
+        for (int counter = 0; counter < words.size(); counter++) {
+            if (words.get(counter).contains(substring)) {
+                expected.set(counter);
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    public void testSuperstrings() {
+        SubstringIndex index = new SubstringIndex(WORDS);
+        assertEquals(bits(0, 1, 2, 6), index.getSuperstrings("net"));
+        assertEquals(bits(0, 6), index.getSuperstrings("inter"));
+        assertEquals(bits(1), index.getSuperstrings("work"));
+        assertTrue(index.getSuperstrings("nets").isEmpty());
+        assertTrue(index.getSuperstrings("zz").isEmpty());
+    }
+
+    @Test
+    public void testOverlappingMatches() {
+        SubstringIndex index = new SubstringIndex(WORDS);
+        assertEquals(bits(4, 5, 7), index.getSuperstrings("ana")); //banana holds ana twice, overlapping
+        assertEquals(bits(4, 5), index.getSuperstrings("anana"));
+        assertEquals(bits(5), index.getSuperstrings("nanana"));
+    }
+
+    @Test
+    public void testRepeatedMatches() {
+        SubstringIndex index = new SubstringIndex(WORDS);
+        assertEquals(bits(0, 1, 2, 4, 5, 6, 7), index.getSuperstrings("n")); //internet holds n three times
+        assertEquals(bits(4, 5, 7), index.getSuperstrings("na"));
+    }
+
+    @Test
+    public void testEmptySubstring() {
+        SubstringIndex index = new SubstringIndex(WORDS);
+        assertEquals(bits(0, 1, 2, 3, 4, 5, 6, 7), index.getSuperstrings(""));
+        assertTrue(new SubstringIndex(new ArrayList<String>()).getSuperstrings("").isEmpty());
+    }
+
+    @Test
+    public void testWholeWords() {
+        SubstringIndex index = new SubstringIndex(WORDS);
+        for (String word : WORDS) {
+            assertEquals(word, scan(WORDS, word), index.getSuperstrings(word));
+        }
+    }
+
+    @Test
+    public void testLayout() {
+        SubstringIndex index = new SubstringIndex(WORDS);
+        SubstringIndex copy = new SubstringIndex(WORDS, index.getLayout());
+        for (String substring : new String[]{"net", "ana", "", "x"}) {
+            assertEquals(substring, index.getSuperstrings(substring), copy.getSuperstrings(substring));
+        }
+    }
+
+    @Test
+    public void testRandomWords() {
+        Random random = new Random(7);
+        List<String> words = new ArrayList<>();
+        for (int counter = 0; counter < 500; counter++) {
+            words.add(word(random, 9));
+        }
+        SubstringIndex index = new SubstringIndex(words);
+        for (int counter = 0; counter < 500; counter++) {
+            String substring = word(random, 4);
+            assertEquals(substring, scan(words, substring), index.getSuperstrings(substring));
+        }
+    }
+
+    private static String word(Random random, int length) {
+        char[] letters = new char[random.nextInt(length)];
+        for (int counter = 0; counter < letters.length; counter++) {
+            letters[counter] = "abn".charAt(random.nextInt(3));
+        }
+        return new String(letters);
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,171 @@
+package Engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * {@link WordAutomaton} built from word lists and from
+ * {@link SwahiliMorphology}
+ *
+ * @author Stephen Mwega (smwega@gmail.com)
+ */
+public class WordAutomatonTest {
+
+    //Prefixes & extensions of Swahili verbs and adjectives, including the ones the morphology does not take
+    private static final String[] PIECES = {"ni", "wa", "ki", "vi", "i", "zi", "pa", "mwa", "mwe", "a", "u", "li", "l", "me", "na", "ta",
+        "ji", "tu", "m", "po", "ku", "ha", "si", "ya", "ja", "mi", "ma", "z", "mw", "w", "ch", "ny", "o"};
+    private static final String[] EXTENSIONS = {"a", "i", "ia", "iwa", "isha", "iza", "e", "ana", "anga", "ua", "ika", "esha", "zwa", "ea",
+        "eshwa", "ishwa", "eni", "iana", "ianga", "ieni", "ewa"};
+    private static final List<String> VERBS = Arrays.asList("soma", "fanya", "pika", "rudi", "\u00f6ga", "la", "enda");
+    private static final List<String> ADJECTIVES = Arrays.asList("zuri", "ema", "Kubwa", "refu");
+
+    private static WordAutomaton build(String... words) throws IOException {
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        for (String word : words) {
+            builder.add(word);
+        }
+        return new WordAutomaton(ByteBuffer.wrap(builder.encode()));
+    }
+
+    @Test
+    public void testWords() throws IOException {
+        WordAutomaton automaton = build("kitabu", "kitanda", "vitabu", "vitanda");
+        for (String word : new String[]{"kitabu", "kitanda", "vitabu", "vitanda"}) {
+            assertTrue(word, automaton.accepts(word));
+        }
+        for (String word : new String[]{"kitab", "kita", "k", "kitabuu", "mitabu", "vitabux", "Kitabu"}) {
+            assertFalse(word, automaton.accepts(word));
+        }
+    }
+
+    @Test
+    public void testPrefixes() throws IOException {
+        WordAutomaton automaton = build("ki", "kita", "kitabu");
+        assertTrue(automaton.accepts("ki"));
+        assertFalse(automaton.accepts("kit"));
+        assertTrue(automaton.accepts("kita"));
+        assertFalse(automaton.accepts("kitab"));
+        assertTrue(automaton.accepts("kitabu"));
+    }
+
+    @Test
+    public void testEmptyString() throws IOException {
+        assertFalse(build("a").accepts(""));
+        assertTrue(build("", "a").accepts(""));
+        WordAutomaton empty = build();
+        assertFalse(empty.accepts(""));
+        assertFalse(empty.accepts("a"));
+    }
+
+    @Test
+    public void testNonAscii() throws IOException {
+        WordAutomaton automaton = build("caf\u00e9", "na\u00efve", "\u0161ule", "\uffff");
+        assertTrue(automaton.accepts("caf\u00e9"));
+        assertFalse(automaton.accepts("cafe"));
+        assertTrue(automaton.accepts("na\u00efve"));
+        assertTrue(automaton.accepts("\u0161ule"));
+        assertTrue(automaton.accepts("\uffff"));
+        assertFalse(automaton.accepts("\ufffe"));
+    }
+
+    @Test
+    public void testMinimal() throws IOException {
+        WordAutomaton automaton = build("kitabu", "vitabu");
+        assertEquals(7, automaton.getStateCount()); //k & v lead to one state, then itabu
+    }
+
+    @Test
+    public void testDuplicates() throws IOException {
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        builder.add("kitabu");
+        builder.add("kitabu");
+        assertEquals(1, builder.getWordCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutOfOrder() {
+        WordAutomaton.Builder builder = new WordAutomaton.Builder();
+        builder.add("vitabu");
+        builder.add("kitabu");
+    }
+
+    @Test
+    public void testRandomWords() throws IOException {
+        Random random = new Random(19);
+        TreeSet<String> words = new TreeSet<>();
+        for (int counter = 0; counter < 2000; counter++) {
+            words.add(word(random));
+        }
+        WordAutomaton automaton = build(words.toArray(new String[words.size()]));
+        for (String word : words) {
+            assertTrue(word, automaton.accepts(word));
+        }
+        for (int counter = 0; counter < 5000; counter++) {
+            String word = word(random);
+            assertEquals(word, words.contains(word), automaton.accepts(word));
+        }
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[random.nextInt(8)];
+        for (int counter = 0; counter < letters.length; counter++) {
+            letters[counter] = "abk\u00e9".charAt(random.nextInt(4));
+        }
+        return new String(letters);
+    }
+
+    @Test
+    public void testSwahiliMorphology() throws IOException {
+        SwahiliMorphology morphology = new SwahiliMorphology(VERBS, ADJECTIVES);
+        WordAutomaton automaton = new WordAutomaton(ByteBuffer.wrap(morphology.compile()));
+        assertFalse(automaton.accepts(""));
+        assertEquals(morphology.isValid(""), automaton.accepts(""));
+
+        Random random = new Random(20);
+        int valid = 0;
+        for (int counter = 0; counter < 100000; counter++) {
+            StringBuilder sb = new StringBuilder();
+            for (int piece = random.nextInt(5); piece > 0; piece--) {
+                sb.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            String stem = random.nextBoolean() ? VERBS.get(random.nextInt(VERBS.size())) : ADJECTIVES.get(random.nextInt(ADJECTIVES.size()));
+            if (random.nextBoolean()) {
+                stem = stem.substring(0, stem.length() - 1) + EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+            }
+            String candidate = sb.append(stem).toString();
+            if (morphology.isValid(candidate)) {
+                valid++;
+                for (int end = 0; end <= candidate.length(); end++) {
+                    String prefix = candidate.substring(0, end);
+                    assertEquals(prefix, morphology.isValid(prefix), automaton.accepts(prefix));
+                }
+            } else {
+                assertFalse(candidate, automaton.accepts(candidate));
+            }
+        }
+        assertTrue(valid > 1000);
+    }
+
+    @Test
+    public void testSwahiliWords() throws IOException {
+        SwahiliMorphology morphology = new SwahiliMorphology(VERBS, ADJECTIVES);
+        WordAutomaton automaton = new WordAutomaton(ByteBuffer.wrap(morphology.compile()));
+        List<String> accepted = new ArrayList<>();
+        for (String word : new String[]{"nilisoma", "wamesoma", "ninasomea", "hatusomi", "hawakusoma", "sisomi", "fanye", "somesha",
+            "rudia", "rudiana", "mzuri", "wazuri", "mwema", "kubwa", "mkubwa", "\u00f6gia", "nili\u00f6ga", "soma", "ni", ""}) {
+            assertEquals(word, morphology.isValid(word), automaton.accepts(word));
+            if (automaton.accepts(word)) {
+                accepted.add(word);
+            }
+        }
+        assertTrue(accepted.containsAll(Arrays.asList("nilisoma", "wamesoma", "fanye", "somesha", "rudia", "mzuri", "mwema", "\u00f6gia")));
+        assertFalse(accepted.contains("mkubwa")); //only lowercase adjectives take prefixes
+    }
+}
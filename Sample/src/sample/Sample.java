@@ -1,5 +1,6 @@
 package sample;
 
+import Engine.Candidate;
 import Engine.Graphemic;
 import Engine.NoisyChannelModel;
 import Engine.Phonetic;
@@ -56,10 +57,11 @@ public class Sample {
                         correct[counter] = preprocessTypos;
                     } else {
                         //Using the NCM, determine the best possible candidate correction
-                        if (ncmd.unigramNoisyChannelModel(tokens[counter], 1).length == 0) {
+                        Candidate[] best = ncmd.getUnigramCandidates(tokens[counter], 1);
+                        if (best.length == 0) {
                             correct[counter] = tokens[counter]; //no match
                         } else {
-                            correct[counter] = ncmd.unigramNoisyChannelModel(tokens[counter], 1)[0][0]; //best match
+                            correct[counter] = best[0].getWord(); //best match
                         }
                     }
                 }